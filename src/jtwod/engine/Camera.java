@@ -0,0 +1,300 @@
+package jtwod.engine;
+
+import jtwod.engine.metrics.Vector;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+
+/**
+ * Controls which part of the world is shown in a
+ * <code>{@link jtwod.engine.Scene Scene}</code>.
+ *
+ * <p>
+ * <code>{@link jtwod.engine.Drawable Drawable}</code>s and
+ * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s are positioned in
+ * world coordinates. The <code>{@link jtwod.engine.Camera Camera}</code>
+ * position is the world coordinate shown at the top left corner of the
+ * <code>{@link jtwod.engine.Scene Scene}</code>, and the zoom is how many
+ * pixels each world unit covers. Anything outside of the view is skipped
+ * when rendering.
+ * </p>
+ *
+ * <p>
+ * Drawables in the overlay
+ * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> of the
+ * <code>{@link jtwod.engine.Scene Scene}</code> are positioned in screen
+ * coordinates and are not affected by the
+ * <code>{@link jtwod.engine.Camera Camera}</code>.
+ * </p>
+ *
+ * @see jtwod.engine.Scene#getCamera()
+ * @see jtwod.engine.Scene#getOverlayDrawableGroup()
+ */
+public final class Camera
+{
+    /**
+     * The <code>{@link jtwod.engine.Scene Scene}</code> this
+     * <code>{@link jtwod.engine.Camera Camera}</code> belongs to.
+     */
+    private final Scene<?> scene;
+
+    /**
+     * The world coordinate shown at the top left of the
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     */
+    private Vector position;
+
+    /**
+     * The number of pixels each world unit covers.
+     */
+    private double zoom;
+
+    /**
+     * Create the <code>{@link jtwod.engine.Camera Camera}</code> showing the
+     * world from the origin at a zoom of one.
+     *
+     * @param scene The <code>{@link jtwod.engine.Scene Scene}</code> this
+     *              <code>{@link jtwod.engine.Camera Camera}</code> belongs to.
+     */
+    public Camera(Scene<?> scene)
+    {
+        this.scene = scene;
+        this.position = Vector.Zero();
+        this.zoom = 1;
+    }
+
+    /**
+     * Retrieve the world coordinate shown at the top left of the
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     *
+     * @return The position.
+     */
+    public final Vector getPosition()
+    {
+        return this.position;
+    }
+
+    /**
+     * Update the world coordinate shown at the top left of the
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     *
+     * @param position The new position.
+     */
+    public final void setPosition(Vector position)
+    {
+        this.position = position;
+        this.scene.invalidateAll();
+    }
+
+    /**
+     * Move the <code>{@link jtwod.engine.Camera Camera}</code> starting from
+     * it's current position.
+     *
+     * @param distance The distance to move in world units.
+     */
+    public final void move(Vector distance)
+    {
+        this.setPosition(this.position.plus(distance));
+    }
+
+    /**
+     * Move the <code>{@link jtwod.engine.Camera Camera}</code> so that a
+     * world coordinate is in the center of the
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     *
+     * @param target The world coordinate to center on.
+     */
+    public final void centerOn(Vector target)
+    {
+        this.setPosition(
+            new Vector(
+                target.getX() - (int) (this.getViewWidth() / this.zoom / 2),
+                target.getY() - (int) (this.getViewHeight() / this.zoom / 2)
+            )
+        );
+    }
+
+    /**
+     * Retrieve the number of pixels each world unit covers.
+     *
+     * @return The zoom.
+     */
+    public final double getZoom()
+    {
+        return this.zoom;
+    }
+
+    /**
+     * Update the number of pixels each world unit covers.
+     *
+     * @param zoom The new zoom.
+     * @throws IllegalArgumentException If the zoom is not positive.
+     */
+    public final void setZoom(double zoom)
+    {
+        if (zoom <= 0) {
+            throw new IllegalArgumentException("Zoom must be greater than zero.");
+        }
+
+        this.zoom = zoom;
+        this.scene.invalidateAll();
+    }
+
+    /**
+     * Check if the <code>{@link jtwod.engine.Camera Camera}</code> shows the
+     * world without moving or scaling it.
+     *
+     * @return True if world and screen coordinates are the same.
+     */
+    public final boolean isIdentity()
+    {
+        return (
+            this.zoom == 1 &&
+            this.position.getX() == 0 &&
+            this.position.getY() == 0
+        );
+    }
+
+    /**
+     * Retrieve the area of the world that is visible.
+     *
+     * @return The visible area in world coordinates.
+     */
+    public final Rectangle getViewBounds()
+    {
+        return new Rectangle(
+            this.position.getX(),
+            this.position.getY(),
+            (int) Math.ceil(this.getViewWidth() / this.zoom),
+            (int) Math.ceil(this.getViewHeight() / this.zoom)
+        );
+    }
+
+    /**
+     * Retrieve the transform from world coordinates to screen coordinates.
+     *
+     * @return The transform.
+     */
+    public final AffineTransform getTransform()
+    {
+        AffineTransform transform = AffineTransform.getScaleInstance(
+            this.zoom, this.zoom
+        );
+        transform.translate(-this.position.getX(), -this.position.getY());
+
+        return transform;
+    }
+
+    /**
+     * Apply the transform from world coordinates to screen coordinates to a
+     * <code>{@link java.awt.Graphics2D Graphics2D}</code> object.
+     *
+     * @param graphics The <code>{@link java.awt.Graphics2D Graphics2D}</code>.
+     */
+    public final void applyTo(Graphics2D graphics)
+    {
+        graphics.scale(this.zoom, this.zoom);
+        graphics.translate(-this.position.getX(), -this.position.getY());
+    }
+
+    /**
+     * Convert a screen coordinate into a world coordinate.
+     *
+     * @param screen The screen coordinate.
+     * @return The world coordinate.
+     */
+    public final Vector screenToWorld(Vector screen)
+    {
+        if (this.isIdentity()) {
+            return screen;
+        }
+
+        return new Vector(
+            (int) Math.floor(screen.getX() / this.zoom) + this.position.getX(),
+            (int) Math.floor(screen.getY() / this.zoom) + this.position.getY()
+        );
+    }
+
+    /**
+     * Convert a world coordinate into a screen coordinate.
+     *
+     * @param world The world coordinate.
+     * @return The screen coordinate.
+     */
+    public final Vector worldToScreen(Vector world)
+    {
+        if (this.isIdentity()) {
+            return world;
+        }
+
+        return new Vector(
+            (int) Math.floor((world.getX() - this.position.getX()) * this.zoom),
+            (int) Math.floor((world.getY() - this.position.getY()) * this.zoom)
+        );
+    }
+
+    /**
+     * Convert an area in world coordinates into the screen area that covers
+     * it.
+     *
+     * @param world The area in world coordinates.
+     * @return The area in screen coordinates.
+     */
+    public final Rectangle worldToScreen(Rectangle world)
+    {
+        if (this.isIdentity()) {
+            return world;
+        }
+
+        Rectangle screen = new Rectangle();
+        this.worldToScreen(world, screen);
+
+        return screen;
+    }
+
+    /**
+     * Convert an area in world coordinates into the screen area that covers
+     * it, without allocating.
+     *
+     * @param world The area in world coordinates.
+     * @param screen The Rectangle to store the area in screen coordinates
+     *               in, which may be the same as <code>world</code>.
+     */
+    public final void worldToScreen(Rectangle world, Rectangle screen)
+    {
+        if (this.isIdentity()) {
+            screen.setBounds(world);
+            return;
+        }
+
+        int left = (int) Math.floor((world.x - this.position.getX()) * this.zoom);
+        int top = (int) Math.floor((world.y - this.position.getY()) * this.zoom);
+        int right = (int) Math.ceil((world.x + world.width - this.position.getX()) * this.zoom);
+        int bottom = (int) Math.ceil((world.y + world.height - this.position.getY()) * this.zoom);
+
+        screen.setBounds(left, top, right - left, bottom - top);
+    }
+
+    /**
+     * Retrieve the width of the <code>{@link jtwod.engine.Scene Scene}</code>
+     * in pixels.
+     *
+     * @return The width.
+     */
+    private int getViewWidth()
+    {
+        return this.scene.getRenderWidth();
+    }
+
+    /**
+     * Retrieve the height of the <code>{@link jtwod.engine.Scene Scene}</code>
+     * in pixels.
+     *
+     * @return The height.
+     */
+    private int getViewHeight()
+    {
+        return this.scene.getRenderHeight();
+    }
+}
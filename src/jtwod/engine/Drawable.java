@@ -1,8 +1,10 @@
 package jtwod.engine;
 
+import jtwod.engine.graphics.RenderQuality;
 import jtwod.engine.timing.RecurringTimer;
 
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.util.LinkedList;
@@ -66,10 +68,18 @@ public abstract class Drawable<ParentEngine extends Engine> extends KeyAdapter
      * associated with this <code>{@link jtwod.engine.Drawable Drawable}</code>.
      */
     private DrawableGroup<ParentEngine> parentDrawableGroup;
+
+    /**
+     * The position of this <code>{@link jtwod.engine.Drawable Drawable}</code>
+     * within it's layer of the parent
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>, or -1.
+     */
+    int groupIndex = -1;
     
     /**
      * The <code>{@link jtwod.engine.Drawable Drawable}</code>s to render out
      * through this <code>{@link jtwod.engine.Drawable Drawable}</code>.
+     * Created the first time it is retrieved.
      */
     private DrawableGroup<ParentEngine> subDrawableGroup;
 
@@ -81,8 +91,27 @@ public abstract class Drawable<ParentEngine extends Engine> extends KeyAdapter
     /**
      * <code>{@link jtwod.engine.timing.RecurringTimer RecurringTimer}</code>s
      * that can be attached to this <code>{@link jtwod.engine.Drawable Drawable}</code>.
+     * Created when the first
+     * <code>{@link jtwod.engine.timing.RecurringTimer RecurringTimer}</code>
+     * is added.
      */
     private LinkedList<RecurringTimer<ParentEngine>> recurringTimers;
+
+    /**
+     * The <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>
+     * to render this <code>{@link jtwod.engine.Drawable Drawable}</code>
+     * with, or null to use that of the
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     */
+    private RenderQuality renderQuality;
+
+    /**
+     * Scratch <code>{@link java.awt.Rectangle Rectangle}</code> that the
+     * damaged area is computed in when this
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> is invalidated.
+     * Created the first time it is needed.
+     */
+    private Rectangle invalidateBounds;
     
     /**
      * Create the <code>{@link jtwod.engine.Drawable Drawable}</code> with a
@@ -100,8 +129,6 @@ public abstract class Drawable<ParentEngine extends Engine> extends KeyAdapter
         this.layer = layer;
         this.parentEngine = engine;
         this.parentScene = scene;
-        this.recurringTimers = new LinkedList<>();
-        this.subDrawableGroup = new DrawableGroup<>(engine, scene);
     }
     
     /**
@@ -124,19 +151,19 @@ public abstract class Drawable<ParentEngine extends Engine> extends KeyAdapter
         this.layer = layer;
         this.parentEngine = engine;
         this.parentScene = scene;
-        this.recurringTimers = new LinkedList<>();
-        
-        if (allowChildren) {
-            this.subDrawableGroup = new DrawableGroup<>(engine, scene);
-        } else {
-            this.allowChildren = false;
-        }
+        this.allowChildren = allowChildren;
     }
 
     /**
      * Render <code>{@link java.awt.Graphics Graphics}</code> out to a
      * <code>{@link jtwod.engine.Scene Scene}</code>.
      *
+     * Sprites, text, lines and fills can be drawn through
+     * <code>{@link jtwod.engine.Scene#getRenderer(Graphics) scene.getRenderer(graphics)}</code>
+     * so that they follow whichever
+     * <code>{@link jtwod.engine.graphics.Renderer Renderer}</code> the
+     * <code>{@link jtwod.engine.Scene Scene}</code> uses.
+     *
      * @param graphics The <code>{@link java.awt.Graphics Graphics}</code>
      *                 object to use for rendering.
      * @param scene The <code>{@link jtwod.engine.Scene Scene}</code> on which
@@ -144,21 +171,77 @@ public abstract class Drawable<ParentEngine extends Engine> extends KeyAdapter
      */
     protected void render(Graphics graphics, Scene<ParentEngine> scene)
     {
-        if (this.allowChildren) {
+        if (this.subDrawableGroup != null) {
             this.subDrawableGroup.render(graphics, scene);
         }
     }
 
+    /**
+     * Describe the graphics state this
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> needs, so that it
+     * can be rendered by a
+     * <code>{@link jtwod.engine.RenderQueue RenderQueue}</code> along with
+     * others that share it.
+     *
+     * @param state The <code>{@link jtwod.engine.RenderState RenderState}</code>
+     *              to fill in.
+     * @return False if this <code>{@link jtwod.engine.Drawable Drawable}</code>
+     *         manages it's own state and must be rendered with
+     *         <code>render</code>.
+     */
+    protected boolean describeRenderState(RenderState state)
+    {
+        // Not implemented by default.
+        return false;
+    }
+
+    /**
+     * Render this <code>{@link jtwod.engine.Drawable Drawable}</code> with
+     * the state from <code>describeRenderState</code> already applied to the
+     * <code>{@link java.awt.Graphics Graphics}</code>. The state should be
+     * left as it was found.
+     *
+     * @param graphics The <code>{@link java.awt.Graphics Graphics}</code>
+     *                 object to use for rendering.
+     * @param scene The <code>{@link jtwod.engine.Scene Scene}</code> on which
+     *              this <code>render</code> invocation will occur.
+     */
+    protected void renderBatched(Graphics graphics, Scene<ParentEngine> scene)
+    {
+        this.render(graphics, scene);
+    }
+
+    /**
+     * Check if this <code>{@link jtwod.engine.Drawable Drawable}</code> only
+     * draws through the
+     * <code>{@link jtwod.engine.graphics.Renderer Renderer}</code> of it's
+     * <code>{@link jtwod.engine.Scene Scene}</code>, and never writes pixels
+     * with the <code>{@link java.awt.Graphics Graphics}</code> directly.
+     * Tiled software rendering can keep deferring draws across such
+     * Drawables instead of finishing them first.
+     *
+     * @return True if all drawing goes through the Renderer.
+     *
+     * @see jtwod.engine.Scene#setSoftwareRenderingThreads(int)
+     */
+    protected boolean drawsThroughRenderer()
+    {
+        return false;
+    }
+
     /**
      * Notifies the <code>{@link jtwod.engine.Drawable Drawable}</code>
      * to perform an Update call.
      */
     protected void notifyUpdate()
     {
-        this.recurringTimers.forEach(RecurringTimer::notifyUpdate);
+        if (this.recurringTimers != null) {
+            this.recurringTimers.forEach(RecurringTimer::notifyUpdate);
+        }
+
         this.update();
 
-        if (this.allowChildren) {
+        if (this.subDrawableGroup != null) {
             this.subDrawableGroup.notifyUpdate();
         }
     }
@@ -201,7 +284,10 @@ public abstract class Drawable<ParentEngine extends Engine> extends KeyAdapter
      */
     public final void setVisible(boolean visible)
     {
-        this.isVisible = visible;
+        if (this.isVisible != visible) {
+            this.isVisible = visible;
+            this.invalidate();
+        }
     }
 
     /**
@@ -217,6 +303,46 @@ public abstract class Drawable<ParentEngine extends Engine> extends KeyAdapter
         return this.isVisible;
     }
 
+    /**
+     * Update the
+     * <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>
+     * that this <code>{@link jtwod.engine.Drawable Drawable}</code> is
+     * rendered with, overriding that of the
+     * <code>{@link jtwod.engine.Scene Scene}</code>. The hints are only
+     * changed when the quality differs from that of the
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> rendered before it.
+     *
+     * @param renderQuality The
+     *        <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>,
+     *        or null to use that of the
+     *        <code>{@link jtwod.engine.Scene Scene}</code>.
+     *
+     * @see Scene#setRenderQuality(RenderQuality)
+     */
+    public final void setRenderQuality(RenderQuality renderQuality)
+    {
+        if (this.renderQuality != renderQuality) {
+            this.renderQuality = renderQuality;
+            this.invalidate();
+        }
+    }
+
+    /**
+     * Retrieve the
+     * <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>
+     * that this <code>{@link jtwod.engine.Drawable Drawable}</code> overrides
+     * the <code>{@link jtwod.engine.Scene Scene}</code> with.
+     *
+     * @return The
+     *         <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>,
+     *         or null if that of the
+     *         <code>{@link jtwod.engine.Scene Scene}</code> is used.
+     */
+    public final RenderQuality getRenderQuality()
+    {
+        return this.renderQuality;
+    }
+
     /**
      * Retrieves the layer on which to render this
      * <code>{@link jtwod.engine.Drawable Drawable}</code>.
@@ -272,6 +398,11 @@ public abstract class Drawable<ParentEngine extends Engine> extends KeyAdapter
                 "Warning: Trying to access sub DrawableGroup on a Drawable with"
               + "it's allowChildren property disabled."
             );
+        } else if (this.subDrawableGroup == null) {
+            this.subDrawableGroup = new DrawableGroup<>(
+                this.parentEngine, this.parentScene
+            );
+            this.subDrawableGroup.setOwner(this);
         }
         return this.subDrawableGroup;
     }
@@ -302,6 +433,136 @@ public abstract class Drawable<ParentEngine extends Engine> extends KeyAdapter
         return this.parentScene;
     }
 
+    /**
+     * Retrieve the area of the <code>{@link jtwod.engine.Scene Scene}</code>
+     * that this <code>{@link jtwod.engine.Drawable Drawable}</code> renders
+     * into. Used to find what needs repainting when dirty rendering is
+     * enabled, and to skip this
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> when it is outside
+     * of the area being repainted.
+     *
+     * <p>
+     * By default the bounds are unknown, so any change to this
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> repaints the whole
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     * </p>
+     *
+     * @param bounds The <code>{@link java.awt.Rectangle Rectangle}</code>
+     *               to store the bounds in.
+     * @return True if the bounds are known.
+     *
+     * @see jtwod.engine.Scene#setDirtyRenderingEnabled(boolean)
+     */
+    public boolean getRenderBounds(Rectangle bounds)
+    {
+        return false;
+    }
+
+    /**
+     * Mark the area that this
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> currently renders
+     * into as needing to be repainted when dirty rendering is enabled on the
+     * parent <code>{@link jtwod.engine.Scene Scene}</code>, and any static
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> holding
+     * it as needing to be rebuilt.
+     *
+     * <p>
+     * The built in setters call this for you. Call it yourself before and
+     * after changing something that affects how this
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> renders, such as
+     * modifying it's position <code>{@link jtwod.engine.metrics.Vector Vector}</code>
+     * in place.
+     * </p>
+     *
+     * @see jtwod.engine.Scene#setDirtyRenderingEnabled(boolean)
+     * @see jtwod.engine.DrawableGroup#setStatic(boolean)
+     */
+    public final void invalidate()
+    {
+        if (this.parentDrawableGroup != null) {
+            this.parentDrawableGroup.invalidateCache(this);
+        }
+
+        if (
+            this.parentScene == null ||
+            ! this.parentScene.isDirtyRenderingEnabled()
+        ) {
+            return;
+        }
+
+        if (this.invalidateBounds == null) {
+            this.invalidateBounds = new Rectangle();
+        }
+
+        Rectangle bounds = this.invalidateBounds;
+        if (this.getRenderBounds(bounds)) {
+            if (! this.isScreenSpace()) {
+                this.parentScene.getCamera().worldToScreen(bounds, bounds);
+            }
+
+            this.parentScene.invalidate(bounds);
+        } else {
+            this.parentScene.invalidateAll();
+        }
+
+        if (this.subDrawableGroup != null) {
+            this.subDrawableGroup.invalidateDrawables();
+        }
+    }
+
+    /**
+     * Check if this <code>{@link jtwod.engine.Drawable Drawable}</code> is
+     * positioned in screen coordinates rather than world coordinates. This
+     * is true for anything in the overlay
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> of a
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     *
+     * @return True if the <code>{@link jtwod.engine.Camera Camera}</code>
+     *         does not apply to this
+     *         <code>{@link jtwod.engine.Drawable Drawable}</code>.
+     *
+     * @see jtwod.engine.Scene#getOverlayDrawableGroup()
+     */
+    public boolean isScreenSpace()
+    {
+        return (
+            this.parentDrawableGroup != null &&
+            this.parentDrawableGroup.isScreenSpace()
+        );
+    }
+
+    /**
+     * Check if this <code>{@link jtwod.engine.Drawable Drawable}</code> can
+     * be skipped when rendering into an area. Drawables with unknown bounds
+     * or with children are never skipped.
+     *
+     * @param area The area being rendered, or null for the whole
+     *             <code>{@link jtwod.engine.Scene Scene}</code>.
+     * @param bounds Scratch <code>{@link java.awt.Rectangle Rectangle}</code>
+     *               used to hold the render bounds.
+     * @return True if this <code>{@link jtwod.engine.Drawable Drawable}</code>
+     *         does not render into the area.
+     */
+    protected final boolean isCulledBy(Rectangle area, Rectangle bounds)
+    {
+        if (area == null || this.hasSubDrawables()) {
+            return false;
+        }
+
+        return this.getRenderBounds(bounds) && ! bounds.intersects(area);
+    }
+
+    /**
+     * Check if this <code>{@link jtwod.engine.Drawable Drawable}</code> has
+     * any children.
+     *
+     * @return True if there are children to render.
+     */
+    final boolean hasSubDrawables()
+    {
+        return this.subDrawableGroup != null && this.subDrawableGroup.hasDrawables();
+    }
+
     /**
      * Adds a
      * <code>{@link jtwod.engine.timing.RecurringTimer RecurringTimer}</code>
@@ -313,6 +574,10 @@ public abstract class Drawable<ParentEngine extends Engine> extends KeyAdapter
      */
     public final void addRecurringTimer(RecurringTimer<ParentEngine> timer)
     {
+        if (this.recurringTimers == null) {
+            this.recurringTimers = new LinkedList<>();
+        }
+
         this.recurringTimers.add(timer);
     }
 }
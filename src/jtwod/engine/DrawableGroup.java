@@ -1,16 +1,22 @@
 package jtwod.engine;
 
-import javafx.scene.Parent;
 import jtwod.engine.drawable.Shape;
+import jtwod.engine.graphics.RenderCache;
 
 import java.awt.Graphics;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.LinkedList;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.TreeMap;
 
 /**
  * Class used to store a group of <code>Drawable</code>s.
  *
+ * <p>
+ * Drawables are kept in a bucket for each layer, so adding and removing
+ * them takes constant time, and they are rendered layer by layer in the
+ * order they were added.
+ * </p>
+ *
  * @param <ParentEngine> 
  * The type for the parent <code>{@link jtwod.engine.Engine Engine}</code> 
  * associated with this 
@@ -18,6 +24,9 @@ import java.util.LinkedList;
  * 
  * @see DrawableGroup#addDrawable(jtwod.engine.Drawable) 
  * @see DrawableGroup#removeDrawable(jtwod.engine.Drawable) 
+ * @see DrawableGroup#setStatic(boolean)
+ * @see DrawableGroup#setLayerStatic(int, boolean)
+ * @see DrawableGroup#setBatchingEnabled(boolean)
  * @see Drawable#getParentDrawableGroup() 
  * @see Drawable#getSubDrawableGroup() 
  */
@@ -26,10 +35,178 @@ public final class DrawableGroup<
 > extends Drawable<ParentEngine>
 {
     /**
-     * The list of <code>{@link jtwod.engine.Drawable Drawable}</code>s
-     * associated with their own layers.
+     * The <code>{@link jtwod.engine.Drawable Drawable}</code>s on a single
+     * layer, in the order they were added. Removed Drawables leave a hole
+     * that is closed up later, so that removal never shifts the others
+     * while they are being iterated.
+     *
+     * @param <ParentEngine> The type for the parent Engine.
+     */
+    private static final class Layer<ParentEngine extends Engine>
+    {
+        /**
+         * The <code>{@link jtwod.engine.Drawable Drawable}</code>s, with null
+         * for each hole.
+         */
+        private Drawable<ParentEngine>[] drawables;
+
+        /**
+         * The number of slots in use, including holes.
+         */
+        private int size = 0;
+
+        /**
+         * The number of <code>{@link jtwod.engine.Drawable Drawable}</code>s.
+         */
+        private int count = 0;
+
+        /**
+         * If set to true, Drawables were removed while the layer was being
+         * iterated, and the holes they left still have to be closed up.
+         */
+        private boolean needsCompaction = false;
+
+        /**
+         * Cache of the layer, or null if it is not static.
+         */
+        private RenderCache cache;
+
+        /**
+         * Create an empty layer.
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Layer()
+        {
+            this.drawables = new Drawable[8];
+        }
+
+        /**
+         * Add a <code>{@link jtwod.engine.Drawable Drawable}</code> to the
+         * end of the layer.
+         *
+         * @param drawable The <code>{@link jtwod.engine.Drawable Drawable}</code>.
+         * @param canCompact If set to true, holes may be closed up first.
+         */
+        private void add(Drawable<ParentEngine> drawable, boolean canCompact)
+        {
+            if (this.size == this.drawables.length) {
+                if (canCompact && this.count < this.size) {
+                    this.compact();
+                } else {
+                    this.drawables = Arrays.copyOf(this.drawables, this.size * 2);
+                }
+            }
+
+            drawable.groupIndex = this.size;
+            this.drawables[this.size++] = drawable;
+            this.count++;
+        }
+
+        /**
+         * Remove a <code>{@link jtwod.engine.Drawable Drawable}</code> from
+         * the layer.
+         *
+         * @param drawable The <code>{@link jtwod.engine.Drawable Drawable}</code>.
+         * @param canCompact If set to true, holes may be closed up after.
+         *                   Otherwise the layer is marked to be compacted
+         *                   once it is no longer being iterated.
+         */
+        private void remove(Drawable<ParentEngine> drawable, boolean canCompact)
+        {
+            this.drawables[drawable.groupIndex] = null;
+            drawable.groupIndex = -1;
+            this.count--;
+
+            if (! canCompact) {
+                this.needsCompaction = true;
+            } else if (this.size - this.count > this.count) {
+                this.compact();
+            }
+        }
+
+        /**
+         * Close up the holes left by removed
+         * <code>{@link jtwod.engine.Drawable Drawable}</code>s, keeping the
+         * others in order.
+         */
+        private void compact()
+        {
+            int next = 0;
+            for (int i = 0; i < this.size; i++) {
+                Drawable<ParentEngine> drawable = this.drawables[i];
+                if (drawable != null) {
+                    drawable.groupIndex = next;
+                    this.drawables[next++] = drawable;
+                }
+            }
+
+            Arrays.fill(this.drawables, next, this.size, null);
+            this.size = next;
+            this.needsCompaction = false;
+        }
+    }
+
+    /**
+     * The layers of this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>, by
+     * layer number.
+     */
+    private final TreeMap<Integer, Layer<ParentEngine>> layers;
+
+    /**
+     * The layers in the order they are rendered. Layers are never removed,
+     * so this only changes when a new layer is used.
+     */
+    private Layer<ParentEngine>[] orderedLayers;
+
+    /**
+     * The number of <code>{@link jtwod.engine.Drawable Drawable}</code>s.
+     */
+    private int drawableCount = 0;
+
+    /**
+     * The number of iterations over the layers currently in progress. Holes
+     * are not closed up while this is above zero.
+     */
+    private int iterating = 0;
+
+    /**
+     * If set to true, at least one layer has holes left by Drawables
+     * removed while it was being iterated.
      */
-    private final LinkedList<Drawable<ParentEngine>> drawables;
+    private boolean needsCompaction = false;
+
+    /**
+     * Scratch bounds used while culling during a render.
+     */
+    private final Rectangle renderBounds = new Rectangle();
+
+    /**
+     * Cache of everything in this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>, or null
+     * if it is not static.
+     */
+    private RenderCache cache;
+
+    /**
+     * The <code>{@link jtwod.engine.Drawable Drawable}</code> whose children
+     * this <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>
+     * holds, if any.
+     */
+    private Drawable<ParentEngine> owner;
+
+    /**
+     * If set to true, the <code>{@link jtwod.engine.Drawable Drawable}</code>s
+     * in this <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>
+     * are positioned in screen coordinates.
+     */
+    private boolean screenSpace = false;
+
+    /**
+     * Queue used to batch draws within a layer, or null if batching is
+     * disabled.
+     */
+    private RenderQueue<ParentEngine> renderQueue;
     
     /**
      * Construct the
@@ -39,10 +216,12 @@ public final class DrawableGroup<
      * @param engine The parent <code>{@link jtwod.engine.Engine Engine}</code>
      *               with which this DrawableGroup will be associated.
      */
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public DrawableGroup(ParentEngine engine, Scene<ParentEngine> scene)
     {
         super(-1, engine, scene, false);
-        this.drawables  = new LinkedList<>();
+        this.layers = new TreeMap<>();
+        this.orderedLayers = new Layer[0];
     }
     
     /**
@@ -60,13 +239,14 @@ public final class DrawableGroup<
         }
         
         drawable.setParentDrawableGroup(this);
-        this.drawables.add(drawable);
-        
-        drawables.sort(Comparator.comparingInt(Drawable::getLayer));
+        this.getLayer(drawable.getLayer()).add(drawable, this.iterating == 0);
+        this.drawableCount++;
 
         if (drawable instanceof Shape) {
-            this.getParentScene().addMouseListener(((Shape)drawable).getMouseAdapter());
+            ((Shape)drawable).notifyAttached();
         }
+
+        drawable.invalidate();
     }
 
     /**
@@ -78,15 +258,252 @@ public final class DrawableGroup<
      */
     public final void removeDrawable(Drawable<ParentEngine> drawable)
     {
-        if (this.drawables.contains(drawable)) {
+        if (drawable.getParentDrawableGroup() == this) {
             if (drawable instanceof Shape) {
-                this.getParentScene().removeMouseListener(((Shape)drawable).getMouseAdapter());
+                ((Shape)drawable).notifyDetached();
             }
-            this.drawables.remove(drawable);
+            drawable.invalidate();
+            this.layers.get(drawable.getLayer()).remove(drawable, this.iterating == 0);
+            this.needsCompaction |= this.iterating > 0;
+            this.drawableCount--;
             drawable.setParentDrawableGroup(null);
         }
     }
     
+    /**
+     * Mark this <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>
+     * as static, rendering everything in it once into an accelerated image
+     * that is then drawn each frame in a single call.
+     *
+     * <p>
+     * The image is rebuilt only when a
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> in the group is
+     * invalidated, which the built in setters do for you. Drawables that
+     * change how they look any other way must call
+     * <code>{@link jtwod.engine.Drawable#invalidate()}</code> themselves.
+     * </p>
+     *
+     * @param isStatic True to cache this
+     *                 <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>.
+     */
+    public final void setStatic(boolean isStatic)
+    {
+        if (isStatic && this.cache == null) {
+            this.cache = new RenderCache(
+                (graphics) -> this.renderDrawables(graphics, this.getParentScene(), false)
+            );
+        } else if (! isStatic && this.cache != null) {
+            this.cache.flush();
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Check if this <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>
+     * is static.
+     *
+     * @return True if it is static.
+     *
+     * @see DrawableGroup#setStatic(boolean)
+     */
+    public final boolean isStatic()
+    {
+        return this.cache != null;
+    }
+
+    /**
+     * Mark a layer of this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> as static.
+     * The <code>{@link jtwod.engine.Drawable Drawable}</code>s on the layer
+     * are cached the same way as a static
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>, and drawn
+     * in place of the layer each frame.
+     *
+     * @param layer The layer.
+     * @param isStatic True to cache the layer.
+     *
+     * @see DrawableGroup#setStatic(boolean)
+     */
+    public final void setLayerStatic(int layer, boolean isStatic)
+    {
+        Layer<ParentEngine> bucket = this.getLayer(layer);
+
+        if (isStatic && bucket.cache == null) {
+            bucket.cache = new RenderCache(
+                (graphics) -> this.renderLayer(graphics, this.getParentScene(), bucket)
+            );
+        } else if (! isStatic && bucket.cache != null) {
+            bucket.cache.flush();
+            bucket.cache = null;
+        }
+    }
+
+    /**
+     * Check if a layer of this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> is static.
+     *
+     * @param layer The layer.
+     * @return True if the layer is static.
+     *
+     * @see DrawableGroup#setLayerStatic(int, boolean)
+     */
+    public final boolean isLayerStatic(int layer)
+    {
+        Layer<ParentEngine> bucket = this.layers.get(layer);
+        return bucket != null && bucket.cache != null;
+    }
+
+    /**
+     * Enable or disable batching of the draws in this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>.
+     *
+     * <p>
+     * When enabled, the <code>{@link jtwod.engine.Drawable Drawable}</code>s
+     * of each layer are collected in a
+     * <code>{@link jtwod.engine.RenderQueue RenderQueue}</code> and rendered
+     * sorted by texture, font, color and stroke, so that each change of state
+     * happens once per group of draws. Layers are still rendered in order,
+     * but the order of Drawables within a layer is no longer kept.
+     * </p>
+     *
+     * @param enabled True to batch draws.
+     */
+    public final void setBatchingEnabled(boolean enabled)
+    {
+        if (enabled && this.renderQueue == null) {
+            this.renderQueue = new RenderQueue<>();
+        } else if (! enabled) {
+            this.renderQueue = null;
+        }
+
+        this.invalidate();
+    }
+
+    /**
+     * Check if draws in this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> are
+     * batched.
+     *
+     * @return True if draws are batched.
+     *
+     * @see DrawableGroup#setBatchingEnabled(boolean)
+     */
+    public final boolean isBatchingEnabled()
+    {
+        return this.renderQueue != null;
+    }
+
+    /**
+     * Mark the caches holding a
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> in this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> as
+     * needing to be rebuilt, including those of any groups above it.
+     *
+     * @param drawable The <code>{@link jtwod.engine.Drawable Drawable}</code>
+     *                 that changed.
+     */
+    final void invalidateCache(Drawable<ParentEngine> drawable)
+    {
+        if (this.cache != null) {
+            this.cache.invalidate();
+        }
+
+        Layer<ParentEngine> bucket = this.layers.get(drawable.getLayer());
+        if (bucket != null && bucket.cache != null) {
+            bucket.cache.invalidate();
+        }
+
+        if (this.getParentDrawableGroup() != null) {
+            this.getParentDrawableGroup().invalidateCache(this);
+        } else if (
+            this.owner != null &&
+            this.owner.getParentDrawableGroup() != null
+        ) {
+            this.owner.getParentDrawableGroup().invalidateCache(this.owner);
+        }
+    }
+
+    /**
+     * Update the <code>{@link jtwod.engine.Drawable Drawable}</code> whose
+     * children this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> holds.
+     *
+     * @param owner The owning <code>{@link jtwod.engine.Drawable Drawable}</code>.
+     */
+    final void setOwner(Drawable<ParentEngine> owner)
+    {
+        this.owner = owner;
+    }
+
+    /**
+     * Update whether the <code>{@link jtwod.engine.Drawable Drawable}</code>s
+     * in this <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>
+     * are positioned in screen coordinates.
+     *
+     * @param screenSpace True for screen coordinates.
+     */
+    final void setScreenSpace(boolean screenSpace)
+    {
+        this.screenSpace = screenSpace;
+    }
+
+    /**
+     * Check if this <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>
+     * is positioned in screen coordinates, either directly or through the
+     * group above it.
+     *
+     * @return True if the <code>{@link jtwod.engine.Camera Camera}</code>
+     *         does not apply to this group.
+     */
+    @Override
+    public final boolean isScreenSpace()
+    {
+        if (this.screenSpace) {
+            return true;
+        } else if (this.getParentDrawableGroup() != null) {
+            return this.getParentDrawableGroup().isScreenSpace();
+        }
+
+        return this.owner != null && this.owner.isScreenSpace();
+    }
+
+    /**
+     * Check if this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> contains
+     * any <code>{@link jtwod.engine.Drawable Drawable}</code>s.
+     *
+     * @return True if there is at least one
+     *         <code>{@link jtwod.engine.Drawable Drawable}</code>.
+     */
+    final boolean hasDrawables()
+    {
+        return this.drawableCount > 0;
+    }
+
+    /**
+     * Mark the area of each <code>{@link jtwod.engine.Drawable Drawable}</code>
+     * in this <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>
+     * as needing to be repainted.
+     *
+     * @see jtwod.engine.Drawable#invalidate()
+     */
+    final void invalidateDrawables()
+    {
+        this.iterating++;
+        try {
+            for (Layer<ParentEngine> bucket : this.orderedLayers) {
+                for (int i = 0; i < bucket.size; i++) {
+                    Drawable<ParentEngine> drawable = bucket.drawables[i];
+                    if (drawable != null) {
+                        drawable.invalidate();
+                    }
+                }
+            }
+        } finally {
+            this.finishIterating();
+        }
+    }
+
     /**
      * Invoke <code>{@link jtwod.engine.Drawable#update() Drawable.update}</code>
      * on each <code>{@link jtwod.engine.Drawable Drawable}</code> in this
@@ -97,13 +514,28 @@ public final class DrawableGroup<
     @Override
     protected final void update()
     {
-        this.drawables.forEach(Drawable::notifyUpdate);
+        this.iterating++;
+        try {
+            for (Layer<ParentEngine> bucket : this.orderedLayers) {
+                for (int i = 0; i < bucket.size; i++) {
+                    Drawable<ParentEngine> drawable = bucket.drawables[i];
+                    if (drawable != null) {
+                        drawable.notifyUpdate();
+                    }
+                }
+            }
+        } finally {
+            this.finishIterating();
+        }
     }
     
      /**
      * Invoke <code>{@link jtwod.engine.Drawable#render Drawable.render}</code>
      * on each <code>{@link jtwod.engine.Drawable Drawable}</code> in this
      * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>.
+     * If the <code>{@link java.awt.Graphics Graphics}</code> are clipped,
+     * Drawables outside of the clip are skipped. Static groups and layers
+     * are drawn from their cache.
      * 
      * @param graphics The AWT <code>Graphics</code> object to use.
      * @param scene The <code>{@link jtwod.engine.Scene Scene}</code> to which
@@ -115,10 +547,188 @@ public final class DrawableGroup<
     @Override
     protected final void render(Graphics graphics, Scene<ParentEngine> scene)
     {
-        if (this.isVisible()) {
-            drawables.stream().filter(
-                    (drawable) -> (drawable.isVisible())
-            ).forEachOrdered((drawable) -> drawable.render(graphics, scene));
+        if (! this.isVisible()) {
+            return;
         }
+
+        if (this.cache != null) {
+            // Draws the FrameBuffer has deferred belong underneath the cache.
+            scene.prepareToRender(this, graphics);
+            this.renderCache(this.cache, graphics, scene);
+        } else {
+            this.renderDrawables(graphics, scene, true);
+        }
+    }
+
+    /**
+     * Render each visible <code>{@link jtwod.engine.Drawable Drawable}</code>
+     * in this <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>.
+     *
+     * @param graphics The AWT <code>Graphics</code> object to use.
+     * @param scene The <code>{@link jtwod.engine.Scene Scene}</code> being
+     *              rendered to.
+     * @param useLayerCaches If set to true, static layers are drawn from
+     *                       their cache.
+     */
+    private void renderDrawables(
+        Graphics graphics,
+        Scene<ParentEngine> scene,
+        boolean useLayerCaches
+    ) {
+        Rectangle clip = graphics.getClipBounds();
+        RenderQueue<ParentEngine> queue = this.renderQueue;
+
+        this.iterating++;
+        try {
+            for (Layer<ParentEngine> bucket : this.orderedLayers) {
+                if (bucket.count == 0) {
+                    continue;
+                }
+
+                if (useLayerCaches && bucket.cache != null) {
+                    scene.prepareToRender(this, graphics);
+                    this.renderCache(bucket.cache, graphics, scene);
+                    continue;
+                }
+
+                for (int i = 0; i < bucket.size; i++) {
+                    Drawable<ParentEngine> drawable = bucket.drawables[i];
+                    if (
+                        drawable != null &&
+                        drawable.isVisible() &&
+                        ! drawable.isCulledBy(clip, this.renderBounds)
+                    ) {
+                        if (queue != null) {
+                            queue.submit(drawable);
+                        } else {
+                            scene.prepareToRender(drawable, graphics);
+                            drawable.render(graphics, scene);
+                        }
+                    }
+                }
+
+                if (queue != null) {
+                    queue.flush(graphics, scene);
+                }
+            }
+        } finally {
+            this.finishIterating();
+        }
+    }
+
+    /**
+     * Draw a cache of this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>. Unless
+     * world and screen coordinates are the same, the cache holds an area of
+     * the world around the view and is drawn through the
+     * <code>{@link jtwod.engine.Camera Camera}</code>.
+     *
+     * @param cache The cache to draw.
+     * @param graphics The AWT <code>Graphics</code> object to use.
+     * @param scene The <code>{@link jtwod.engine.Scene Scene}</code> being
+     *              rendered to.
+     */
+    private void renderCache(
+        RenderCache cache,
+        Graphics graphics,
+        Scene<ParentEngine> scene
+    ) {
+        Camera camera = scene.getCamera();
+
+        if (this.isScreenSpace() || camera.isIdentity()) {
+            cache.render(
+                graphics,
+                scene.getRenderCacheConfiguration(),
+                scene.getRenderWidth(),
+                scene.getRenderHeight()
+            );
+        } else {
+            cache.render(
+                graphics,
+                scene.getRenderCacheConfiguration(),
+                camera.getViewBounds(),
+                camera.getZoom()
+            );
+        }
+    }
+
+    /**
+     * Render each visible <code>{@link jtwod.engine.Drawable Drawable}</code>
+     * on a layer of this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>.
+     *
+     * @param graphics The AWT <code>Graphics</code> object to use.
+     * @param scene The <code>{@link jtwod.engine.Scene Scene}</code> being
+     *              rendered to.
+     * @param bucket The layer to render.
+     */
+    private void renderLayer(
+        Graphics graphics,
+        Scene<ParentEngine> scene,
+        Layer<ParentEngine> bucket
+    ) {
+        RenderQueue<ParentEngine> queue = this.renderQueue;
+
+        this.iterating++;
+        try {
+            for (int i = 0; i < bucket.size; i++) {
+                Drawable<ParentEngine> drawable = bucket.drawables[i];
+                if (drawable != null && drawable.isVisible()) {
+                    if (queue != null) {
+                        queue.submit(drawable);
+                    } else {
+                        scene.prepareToRender(drawable, graphics);
+                        drawable.render(graphics, scene);
+                    }
+                }
+            }
+
+            if (queue != null) {
+                queue.flush(graphics, scene);
+            }
+        } finally {
+            this.finishIterating();
+        }
+    }
+
+    /**
+     * End an iteration over the layers. Once no iteration is left in
+     * progress, the holes left by Drawables removed during it are closed up,
+     * so that Drawables added and removed while updating don't grow the
+     * layers without bound.
+     */
+    private void finishIterating()
+    {
+        if (--this.iterating > 0 || ! this.needsCompaction) {
+            return;
+        }
+
+        this.needsCompaction = false;
+        for (Layer<ParentEngine> bucket : this.orderedLayers) {
+            if (bucket.needsCompaction) {
+                bucket.compact();
+            }
+        }
+    }
+
+    /**
+     * Retrieve a layer of this
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>,
+     * creating it if it is not used yet.
+     *
+     * @param layer The layer number.
+     * @return The layer.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Layer<ParentEngine> getLayer(int layer)
+    {
+        Layer<ParentEngine> bucket = this.layers.get(layer);
+        if (bucket == null) {
+            bucket = new Layer<>();
+            this.layers.put(layer, bucket);
+            this.orderedLayers = this.layers.values().toArray(new Layer[0]);
+        }
+
+        return bucket;
     }
 }
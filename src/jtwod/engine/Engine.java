@@ -51,6 +51,24 @@ public abstract class Engine
      */
     private Dimensions windowSize;
 
+    /**
+     * The size of the primary Application Window when it is not fullscreen.
+     */
+    private Dimensions windowedSize;
+
+    /**
+     * If set to true, the primary Application Window is shown in fullscreen
+     * exclusive mode where the screen supports it.
+     */
+    private boolean fullScreen = false;
+
+    /**
+     * The <code>{@link java.awt.DisplayMode DisplayMode}</code> to switch to
+     * in fullscreen exclusive mode, or null to pick one the size of the
+     * window.
+     */
+    private DisplayMode displayMode;
+
     /**
      * The URL for the primary Application Windows Icon.
      */
@@ -140,14 +158,8 @@ public abstract class Engine
         this.setWindowTitle(this.windowTitle);
 
         windowFrame.setBackground(Color.BLACK);
-        windowFrame.setSize(
-            this.getWindowSize().getWidth(), 
-            this.getWindowSize().getHeight()
-        );
-        
         windowFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         windowFrame.setResizable(false);
-        windowFrame.setLocationRelativeTo(null);
 
         if (iconUrl != null) {
             windowFrame.setIconImage(
@@ -155,7 +167,8 @@ public abstract class Engine
             );
         }
 
-        windowFrame.setVisible(true);
+        this.windowedSize = this.getWindowSize();
+        this.applyWindowMode();
 
         /** Tiny Sound - https://github.com/finnkuusisto/TinySound */
         TinySound.init();
@@ -166,6 +179,214 @@ public abstract class Engine
         this.loadTextures();
     }
 
+    /**
+     * Show the primary Application window in fullscreen exclusive mode or
+     * in a window, depending on what was asked for and what the screen
+     * supports.
+     */
+    private void applyWindowMode()
+    {
+        GraphicsDevice device = this.getScreenDevice();
+
+        if (this.fullScreen && device.isFullScreenSupported()) {
+            if (device.getFullScreenWindow() != windowFrame) {
+                // Decorations can only be removed while
+                // the window is not displayable.
+                windowFrame.dispose();
+                windowFrame.setUndecorated(true);
+                device.setFullScreenWindow(windowFrame);
+            }
+
+            DisplayMode mode = this.chooseDisplayMode(device);
+            if (
+                mode != null &&
+                device.isDisplayChangeSupported() &&
+                ! mode.equals(device.getDisplayMode())
+            ) {
+                try {
+                    device.setDisplayMode(mode);
+                } catch (IllegalArgumentException | UnsupportedOperationException e) {
+                    // Stay in the current DisplayMode.
+                }
+            }
+
+            DisplayMode current = device.getDisplayMode();
+            this.windowSize = new Dimensions(current.getWidth(), current.getHeight());
+        } else {
+            if (device.getFullScreenWindow() == windowFrame) {
+                // This also restores the original DisplayMode.
+                device.setFullScreenWindow(null);
+            }
+
+            if (windowFrame.isUndecorated()) {
+                windowFrame.dispose();
+                windowFrame.setUndecorated(false);
+            }
+
+            this.windowSize = this.windowedSize;
+            windowFrame.setSize(
+                this.getWindowSize().getWidth(),
+                this.getWindowSize().getHeight()
+            );
+            windowFrame.setLocationRelativeTo(null);
+            windowFrame.setVisible(true);
+        }
+
+        if (currentScene != null) {
+            currentScene.setPreferredSize(this.getWindowSize().asAwtDimension());
+            currentScene.setMaximumSize(this.getWindowSize().asAwtDimension());
+            currentScene.setMinimumSize(this.getWindowSize().asAwtDimension());
+            windowFrame.pack();
+            currentScene.invalidateAll();
+        }
+    }
+
+    /**
+     * Pick the <code>{@link java.awt.DisplayMode DisplayMode}</code> to use
+     * in fullscreen exclusive mode. Unless one was set, this is a mode the
+     * size of the window, preferring the current bit depth and then the
+     * highest refresh rate.
+     *
+     * @param device The screen.
+     * @return The <code>{@link java.awt.DisplayMode DisplayMode}</code>, or
+     *         null to keep the current one.
+     */
+    private DisplayMode chooseDisplayMode(GraphicsDevice device)
+    {
+        if (this.displayMode != null) {
+            return this.displayMode;
+        }
+
+        DisplayMode current = device.getDisplayMode();
+        DisplayMode best = null;
+        for (DisplayMode mode : device.getDisplayModes()) {
+            if (
+                mode.getWidth() != this.windowedSize.getWidth() ||
+                mode.getHeight() != this.windowedSize.getHeight()
+            ) {
+                continue;
+            }
+
+            if (best == null) {
+                best = mode;
+                continue;
+            }
+
+            boolean depthMatches = (
+                mode.getBitDepth() == current.getBitDepth() ||
+                mode.getBitDepth() == DisplayMode.BIT_DEPTH_MULTI
+            );
+            boolean bestDepthMatches = (
+                best.getBitDepth() == current.getBitDepth() ||
+                best.getBitDepth() == DisplayMode.BIT_DEPTH_MULTI
+            );
+
+            if (
+                (depthMatches && ! bestDepthMatches) ||
+                (
+                    depthMatches == bestDepthMatches &&
+                    mode.getRefreshRate() > best.getRefreshRate()
+                )
+            ) {
+                best = mode;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Retrieve the screen that the primary Application window is on.
+     *
+     * @return The <code>{@link java.awt.GraphicsDevice GraphicsDevice}</code>.
+     */
+    private GraphicsDevice getScreenDevice()
+    {
+        if (windowFrame != null && windowFrame.getGraphicsConfiguration() != null) {
+            return windowFrame.getGraphicsConfiguration().getDevice();
+        }
+
+        return GraphicsEnvironment.getLocalGraphicsEnvironment()
+                                  .getDefaultScreenDevice();
+    }
+
+    /**
+     * Show the primary Application window in fullscreen exclusive mode, or
+     * return it to a window. This can be called before or after the
+     * <code>{@link jtwod.engine.Engine Engine}</code> is started. In
+     * fullscreen the window size becomes the size of the screen.
+     *
+     * <p>
+     * If the screen does not support fullscreen exclusive mode, the window
+     * stays as it is; use
+     * <code>{@link jtwod.engine.Engine#isFullScreen() isFullScreen}</code>
+     * to find out if it took effect.
+     * </p>
+     *
+     * @param fullScreen True for fullscreen exclusive mode.
+     *
+     * @see jtwod.engine.Engine#setDisplayMode(java.awt.DisplayMode)
+     * @see jtwod.engine.Scene#getPresentationPath()
+     */
+    public final void setFullScreen(boolean fullScreen)
+    {
+        this.fullScreen = fullScreen;
+        if (windowFrame != null) {
+            this.applyWindowMode();
+        }
+    }
+
+    /**
+     * Check if the primary Application window is in fullscreen exclusive
+     * mode.
+     *
+     * @return True if it is.
+     */
+    public final boolean isFullScreen()
+    {
+        return windowFrame != null &&
+               this.getScreenDevice().getFullScreenWindow() == windowFrame;
+    }
+
+    /**
+     * Update the <code>{@link java.awt.DisplayMode DisplayMode}</code> to
+     * switch to in fullscreen exclusive mode.
+     *
+     * @param displayMode The <code>{@link java.awt.DisplayMode DisplayMode}</code>,
+     *                    one of those returned by
+     *                    <code>{@link jtwod.engine.Engine#getDisplayModes() getDisplayModes}</code>,
+     *                    or null to pick one the size of the window.
+     */
+    public final void setDisplayMode(DisplayMode displayMode)
+    {
+        this.displayMode = displayMode;
+        if (this.isFullScreen()) {
+            this.applyWindowMode();
+        }
+    }
+
+    /**
+     * Retrieve the <code>{@link java.awt.DisplayMode DisplayMode}</code> of
+     * the screen that the primary Application window is on.
+     *
+     * @return The current <code>{@link java.awt.DisplayMode DisplayMode}</code>.
+     */
+    public final DisplayMode getDisplayMode()
+    {
+        return this.getScreenDevice().getDisplayMode();
+    }
+
+    /**
+     * Retrieve the <code>{@link java.awt.DisplayMode DisplayMode}</code>s
+     * that the screen can switch to in fullscreen exclusive mode.
+     *
+     * @return The <code>{@link java.awt.DisplayMode DisplayMode}</code>s.
+     */
+    public final DisplayMode[] getDisplayModes()
+    {
+        return this.getScreenDevice().getDisplayModes();
+    }
+
     /**
      * Update the cursor for the <code>{@link jtwod.engine.Engine Engine}</code>.
      *
@@ -301,6 +522,47 @@ public abstract class Engine
         return new Dimensions(this.windowSize.getWidth(), this.windowSize.getHeight());
     }
 
+    /**
+     * Retrieve the width of the primary Application Window without copying
+     * it's <code>{@link jtwod.engine.metrics.Dimensions Dimensions}</code>.
+     *
+     * @return The width.
+     */
+    public final int getWindowWidth()
+    {
+        return this.windowSize.getWidth();
+    }
+
+    /**
+     * Retrieve the height of the primary Application Window without copying
+     * it's <code>{@link jtwod.engine.metrics.Dimensions Dimensions}</code>.
+     *
+     * @return The height.
+     */
+    public final int getWindowHeight()
+    {
+        return this.windowSize.getHeight();
+    }
+
+    /**
+     * Retrieve the size that the current
+     * <code>{@link jtwod.engine.Scene Scene}</code> is rendered at, which
+     * differs from the window size when it has a render resolution.
+     *
+     * @return
+     * The <code>{@link jtwod.engine.metrics.Dimensions Dimensions}</code> of
+     * the current <code>{@link jtwod.engine.Scene Scene}</code>, or of the
+     * primary Application Window if there is no
+     * <code>{@link jtwod.engine.Scene Scene}</code> yet.
+     *
+     * @see jtwod.engine.Scene#getRenderSize()
+     */
+    public final Dimensions getSceneSize()
+    {
+        Scene<? extends Engine> scene = this.currentScene;
+        return (scene != null) ? scene.getRenderSize() : this.getWindowSize();
+    }
+
     /**
      * Retrieve the
      * <code>{@link jtwod.engine.graphics.TextureGroup TextureGroup}</code>
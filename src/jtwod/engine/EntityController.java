@@ -1,11 +1,25 @@
 package jtwod.engine;
 
 import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.awt.event.KeyEvent;
 
 import jtwod.engine.drawable.Entity;
 import jtwod.engine.drawable.Shape;
+import jtwod.engine.timing.TimingWheel;
 
 /**
  * For controlling all <code>{@link jtwod.engine.drawable.Entity Entitiy}</code>
@@ -24,6 +38,14 @@ import jtwod.engine.drawable.Shape;
  * </li>
  * <li>
  * <code>
+ * {@link jtwod.engine.drawable.Entity#updateConcurrently()}
+ * </code>
+ * for each thread safe
+ * <code>{@link jtwod.engine.drawable.Entity Entity}</code>, followed by
+ * committing their staged writes.
+ * </li>
+ * <li>
+ * <code>
  * {@link jtwod.engine.EntityController#iterateEntityPerControlUpdate(Entity)}
  * </code>
  * </li>
@@ -35,7 +57,19 @@ import jtwod.engine.drawable.Shape;
  * <li>
  * <code>{@link jtwod.engine.drawable.Entity#update()}</code>
  * </li>
+ * <li>
+ * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s whose life time
+ * runs out on this tick are killed.
+ * </li>
  * </ol>
+ *
+ * <p>
+ * Only <b>awake</b> <code>{@link jtwod.engine.drawable.Entity Entity}</code>s
+ * take part in steps 2 through 5. A sleeping
+ * <code>{@link jtwod.engine.drawable.Entity Entity}</code> is still rendered
+ * and can still be collided with, but it does not check for collisions
+ * itself and does not receive updates until it is woken.
+ * </p>
  * 
  * @param <ParentEngine> 
  * The type for the parent <code>{@link jtwod.engine.Engine Engine}</code> 
@@ -48,6 +82,11 @@ import jtwod.engine.drawable.Shape;
  * @see EntityController#spawnEntity(jtwod.engine.drawable.Entity) 
  * @see EntityController#removeEntity(jtwod.engine.drawable.Entity) 
  * @see EntityController#removeAllEntities()
+ * @see EntityController#sleepEntity(jtwod.engine.drawable.Entity)
+ * @see EntityController#wakeEntity(jtwod.engine.drawable.Entity)
+ * @see EntityController#setParallelUpdatesEnabled(boolean)
+ * @see EntityController#getEntitiesOfType(Class)
+ * @see EntityController#getEntitiesWithTag(String)
  * @see Drawable#update() 
  */
 public abstract class EntityController<
@@ -61,6 +100,130 @@ public abstract class EntityController<
      */
     private final LinkedList<Entity<ParentEngine>> entities;
 
+    /**
+     * The <code>{@link jtwod.engine.drawable.Entity Entity}</code>s that
+     * should be updated and checked for collision on each tick.
+     */
+    private final LinkedHashSet<Entity<ParentEngine>> awakeEntities;
+
+    /**
+     * The <code>{@link jtwod.engine.drawable.Entity Entity}</code>s that are
+     * currently sleeping and will be skipped on each tick.
+     */
+    private final HashSet<Entity<ParentEngine>> sleepingEntities;
+
+    /**
+     * Sleeping <code>{@link jtwod.engine.drawable.Entity Entity}</code>s
+     * scheduled to be woken, processed at the start of each tick.
+     */
+    private final TimingWheel<Entity<ParentEngine>> wakeWheel;
+
+    /**
+     * The pending wake for each scheduled
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>.
+     */
+    private final HashMap<Entity<ParentEngine>, TimingWheel.Timer<Entity<ParentEngine>>> wakeTimers;
+
+    /**
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s scheduled to
+     * die when their life time runs out, processed at the end of each tick.
+     */
+    private final TimingWheel<Entity<ParentEngine>> deathWheel;
+
+    /**
+     * The pending death for each
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code> with a life time.
+     */
+    private final HashMap<Entity<ParentEngine>, TimingWheel.Timer<Entity<ParentEngine>>> deathTimers;
+
+    /**
+     * The number of ticks that have been performed on this
+     * <code>{@link jtwod.engine.EntityController EntityController}</code>.
+     */
+    private long currentTick = 0;
+
+    /**
+     * Set to true while the
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s are being
+     * updated for the current tick.
+     */
+    private boolean isUpdatingEntities = false;
+
+    /**
+     * Re-usable snapshot of the awake
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s taken at the
+     * start of each tick.
+     */
+    private Entity<ParentEngine>[] awakeBuffer;
+
+    /**
+     * Re-usable snapshot of all
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s used as
+     * collision candidates during each tick.
+     */
+    private Entity<ParentEngine>[] collisionBuffer;
+
+    /**
+     * Scratch bounds used while culling during a render.
+     */
+    private final Rectangle renderBounds = new Rectangle();
+
+    /**
+     * Queue used to batch the draws of the
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s, or null if
+     * batching is disabled.
+     */
+    private RenderQueue<ParentEngine> renderQueue;
+
+    /**
+     * The <code>{@link jtwod.engine.drawable.Entity Entity}</code>s being
+     * managed, bucketed by each class and interface they are an instance of.
+     */
+    private final HashMap<Class<?>, LinkedHashSet<Entity<ParentEngine>>> typeBuckets;
+
+    /**
+     * Read only views of each bucket in <code>typeBuckets</code>.
+     */
+    private final HashMap<Class<?>, Set<Entity<ParentEngine>>> typeBucketViews;
+
+    /**
+     * The classes and interfaces that each concrete
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code> class is
+     * bucketed under.
+     */
+    private final HashMap<Class<?>, Class<?>[]> typeHierarchies;
+
+    /**
+     * The <code>{@link jtwod.engine.drawable.Entity Entity}</code>s being
+     * managed, bucketed by tag.
+     */
+    private final HashMap<String, LinkedHashSet<Entity<ParentEngine>>> tagBuckets;
+
+    /**
+     * Read only views of each bucket in <code>tagBuckets</code>.
+     */
+    private final HashMap<String, Set<Entity<ParentEngine>>> tagBucketViews;
+
+    /**
+     * The worker threads used to run
+     * <code>{@link jtwod.engine.drawable.Entity#updateConcurrently()}</code>
+     * in parallel, or null if the parallel update phase runs on the tick
+     * <code>{@link java.lang.Thread Thread}</code>. Only used on the tick
+     * <code>{@link java.lang.Thread Thread}</code>.
+     */
+    private ExecutorService parallelUpdateExecutor;
+
+    /**
+     * The number of worker threads in <code>parallelUpdateExecutor</code>.
+     */
+    private int parallelUpdateExecutorThreads = 0;
+
+    /**
+     * The number of worker threads the parallel update phase should use,
+     * applied at the start of the next tick.
+     */
+    private volatile int parallelUpdateThreads = 0;
+
     /**
      * Create a new
      * <code>{@link jtwod.engine.EntityController EntityController}</code>
@@ -69,10 +232,24 @@ public abstract class EntityController<
      *
      * @param scene The Screen associated with this EntityController.
      */
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public EntityController(Scene<ParentEngine> scene)
     {
         super(-1, scene.getParentEngine(), scene);
         this.entities = new LinkedList<>();
+        this.awakeEntities = new LinkedHashSet<>();
+        this.sleepingEntities = new HashSet<>();
+        this.wakeWheel = new TimingWheel<>();
+        this.wakeTimers = new HashMap<>();
+        this.deathWheel = new TimingWheel<>();
+        this.deathTimers = new HashMap<>();
+        this.awakeBuffer = new Entity[0];
+        this.collisionBuffer = new Entity[0];
+        this.typeBuckets = new HashMap<>();
+        this.typeBucketViews = new HashMap<>();
+        this.typeHierarchies = new HashMap<>();
+        this.tagBuckets = new HashMap<>();
+        this.tagBucketViews = new HashMap<>();
     }
 
     /**
@@ -154,6 +331,8 @@ public abstract class EntityController<
      * Render out all <code>{@link jtwod.engine.drawable.Entity Entity}</code>s
      * under the scope of this
      * <code>{@link jtwod.engine.EntityController EntityController}</code>.
+     * If the <code>{@link java.awt.Graphics Graphics}</code> are clipped,
+     * Entities outside of the clip are skipped.
      *
      * @param graphics 
      * The <code>{@link java.awt.Graphics Graphics}</code> object to use for 
@@ -169,9 +348,58 @@ public abstract class EntityController<
     @Override
     protected final void render(Graphics graphics, Scene<ParentEngine> screen)
     {
-        getAllEntities().stream().filter(
-                (entity) -> (entity.isVisible())
-        ).forEach(entity -> entity.render(graphics, screen));
+        Rectangle clip = graphics.getClipBounds();
+        RenderQueue<ParentEngine> queue = this.renderQueue;
+
+        for (Entity<ParentEngine> entity : this.getAllEntities()) {
+            if (entity.isVisible() && ! entity.isCulledBy(clip, this.renderBounds)) {
+                if (queue != null) {
+                    queue.submit(entity);
+                } else {
+                    screen.prepareToRender(entity, graphics);
+                    entity.render(graphics, screen);
+                }
+            }
+        }
+
+        if (queue != null) {
+            queue.flush(graphics, screen);
+        }
+    }
+
+    /**
+     * Enable or disable batching of the draws of the
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s managed by
+     * this <code>{@link jtwod.engine.EntityController EntityController}</code>.
+     * When enabled, Entities are rendered grouped by the texture they draw
+     * from rather than in the order they were spawned.
+     *
+     * @param enabled True to batch draws.
+     *
+     * @see jtwod.engine.DrawableGroup#setBatchingEnabled(boolean)
+     */
+    public final void setBatchingEnabled(boolean enabled)
+    {
+        if (enabled && this.renderQueue == null) {
+            this.renderQueue = new RenderQueue<>();
+        } else if (! enabled) {
+            this.renderQueue = null;
+        }
+
+        this.invalidate();
+    }
+
+    /**
+     * Check if the draws of the
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s managed by
+     * this <code>{@link jtwod.engine.EntityController EntityController}</code>
+     * are batched.
+     *
+     * @return True if draws are batched.
+     */
+    public final boolean isBatchingEnabled()
+    {
+        return this.renderQueue != null;
     }
 
     /**
@@ -183,29 +411,595 @@ public abstract class EntityController<
     @Override
     protected final void update()
     {
+        this.applyParallelUpdateThreads();
         this.runControlUpdate();
+        this.runScheduledWakes();
+
+        int awakeCount = this.awakeEntities.size();
+        this.awakeBuffer = this.awakeEntities.toArray(this.awakeBuffer);
+
+        int entityCount = this.entities.size();
+        this.collisionBuffer = this.entities.toArray(this.collisionBuffer);
+
+        this.runConcurrentUpdates(awakeCount);
+
+        this.isUpdatingEntities = true;
+        for (int i = 0; i < awakeCount; i++) {
+            Entity<ParentEngine> entity = this.awakeBuffer[i];
+
+            // An earlier Entity may have removed this Entity
+            // or put it to sleep during this tick.
+            if (! this.awakeEntities.contains(entity)) {
+                continue;
+            }
 
-        this.getAllEntities().stream().forEach((entity) -> {
             // Perform control tick per entity.
             iterateEntityPerControlUpdate(entity);
 
             // Check Entity Collision
             if (! entity.isDead()) {
-                this.getAllEntities().stream().filter(
-                        collidingEntity -> ! collidingEntity.isDead()
-                     && collidingEntity != entity
-                ).forEach((collidingEntity) -> {
+                for (int j = 0; j < entityCount; j++) {
+                    Entity<ParentEngine> collidingEntity = this.collisionBuffer[j];
+                    if (
+                        collidingEntity == entity ||
+                        collidingEntity.isDead() ||
+                        ! this.isManaging(collidingEntity)
+                    ) {
+                        continue;
+                    }
+
                     if (entity.isCollidingWith(collidingEntity)) {
                         entity.onCollide(collidingEntity);
+
+                        // Being hit by an awake Entity wakes a sleeping
+                        // Entity. It would have seen this collision
+                        // itself had it been awake, so deliver it now.
+                        if (this.sleepingEntities.contains(collidingEntity)) {
+                            this.wakeEntity(collidingEntity);
+                            collidingEntity.onCollide(entity);
+                        }
                     }
-                });
+                }
             }
 
             // Perform Heart Beat
             entity.notifyUpdate();
+        }
+        this.isUpdatingEntities = false;
+
+        // Release the references held by the snapshots.
+        Arrays.fill(this.awakeBuffer, 0, awakeCount, null);
+        Arrays.fill(this.collisionBuffer, 0, entityCount, null);
+
+        this.runScheduledDeaths();
+
+        this.currentTick++;
+    }
+
+    /**
+     * Wake any sleeping
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s whose
+     * scheduled wake tick has been reached.
+     */
+    private void runScheduledWakes()
+    {
+        this.wakeWheel.advance((entity) -> {
+            if (this.wakeTimers.remove(entity) != null) {
+                this.wakeEntity(entity);
+            }
+        });
+    }
+
+    /**
+     * Kill any <code>{@link jtwod.engine.drawable.Entity Entity}</code>s whose
+     * life time runs out on this tick. Only the Entities that expire are
+     * touched.
+     */
+    private void runScheduledDeaths()
+    {
+        this.deathWheel.advance((entity) -> {
+            if (this.deathTimers.remove(entity) != null) {
+                entity.notifyLifeExpired();
+            }
         });
     }
 
+    /**
+     * Schedule the death of an
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code> based on it's
+     * spawn tick and
+     * <code>{@link jtwod.engine.drawable.Entity#getKillAfter()}</code>,
+     * replacing any death already scheduled for it.
+     *
+     * @param entity
+     * The <code>{@link jtwod.engine.drawable.Entity Entity}</code>.
+     *
+     * @see jtwod.engine.drawable.Entity#killAfter(int)
+     */
+    public final void scheduleDeath(Entity<ParentEngine> entity)
+    {
+        this.deathWheel.cancel(this.deathTimers.remove(entity));
+
+        if (this.isManaging(entity) && entity.getKillAfter() > 0) {
+            this.deathTimers.put(
+                entity,
+                this.deathWheel.schedule(
+                    entity, entity.getSpawnTick() + entity.getKillAfter()
+                )
+            );
+        }
+    }
+
+    /**
+     * Retrieve the number of ticks that have been performed on this
+     * <code>{@link jtwod.engine.EntityController EntityController}</code>.
+     *
+     * @return The current tick.
+     */
+    public final long getCurrentTick()
+    {
+        return this.currentTick;
+    }
+
+    /**
+     * Run <code>{@link jtwod.engine.drawable.Entity#updateConcurrently()}</code>
+     * for each awake, thread safe
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code> and then
+     * commit their staged writes in order.
+     *
+     * <p>
+     * Every <code>{@link jtwod.engine.drawable.Entity Entity}</code> sees the
+     * state as it was at the start of the tick and only stages it's writes,
+     * so committing them in order once all jobs are complete gives the same
+     * result no matter how many worker threads are used.
+     * </p>
+     *
+     * @param awakeCount The number of Entities in the awake snapshot.
+     */
+    private void runConcurrentUpdates(int awakeCount)
+    {
+        if (this.parallelUpdateExecutor == null || awakeCount < 2) {
+            this.runConcurrentUpdates(0, awakeCount);
+        } else {
+            int jobCount = Math.min(this.parallelUpdateExecutorThreads, awakeCount);
+            int jobSize = (awakeCount + jobCount - 1) / jobCount;
+
+            ArrayList<Callable<Void>> jobs = new ArrayList<>(jobCount);
+            for (int start = 0; start < awakeCount; start += jobSize) {
+                final int from = start;
+                final int to = Math.min(start + jobSize, awakeCount);
+                jobs.add(() -> {
+                    this.runConcurrentUpdates(from, to);
+                    return null;
+                });
+            }
+
+            ArrayList<Future<Void>> futures = new ArrayList<>(jobs.size());
+            for (Callable<Void> job : jobs) {
+                futures.add(this.parallelUpdateExecutor.submit(job));
+            }
+
+            // Every job must have finished before the staged writes are
+            // committed, so an interrupt only ends the wait once they have.
+            boolean interrupted = false;
+            Throwable failure = null;
+            for (Future<Void> job : futures) {
+                while (true) {
+                    try {
+                        job.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        if (failure == null) {
+                            failure = e.getCause();
+                        }
+                        break;
+                    }
+                }
+            }
+
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (failure != null) {
+                throw new RuntimeException(
+                    "Parallel Entity update failed.", failure
+                );
+            }
+        }
+
+        for (int i = 0; i < awakeCount; i++) {
+            this.awakeBuffer[i].commitStagedWrites();
+        }
+    }
+
+    /**
+     * Run <code>{@link jtwod.engine.drawable.Entity#updateConcurrently()}</code>
+     * for a range of the awake snapshot.
+     *
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     */
+    private void runConcurrentUpdates(int from, int to)
+    {
+        for (int i = from; i < to; i++) {
+            Entity<ParentEngine> entity = this.awakeBuffer[i];
+            if (entity.isThreadSafe() && ! entity.isDead()) {
+                entity.notifyConcurrentUpdate();
+            }
+        }
+    }
+
+    /**
+     * Enable or disable running the parallel update phase across one worker
+     * thread per available processor.
+     *
+     * @param enabled True to use worker threads.
+     *
+     * @see EntityController#setParallelUpdateThreads(int)
+     */
+    public final void setParallelUpdatesEnabled(boolean enabled)
+    {
+        this.setParallelUpdateThreads(
+            enabled ? Runtime.getRuntime().availableProcessors() : 0
+        );
+    }
+
+    /**
+     * Update the number of worker threads used to run
+     * <code>{@link jtwod.engine.drawable.Entity#updateConcurrently()}</code>
+     * for thread safe <code>{@link jtwod.engine.drawable.Entity Entity}</code>s.
+     * A value less than 2 runs the phase on the tick
+     * <code>{@link java.lang.Thread Thread}</code>. The change is applied
+     * at the start of the next tick.
+     *
+     * @param threads The number of worker threads.
+     */
+    public final void setParallelUpdateThreads(int threads)
+    {
+        this.parallelUpdateThreads = threads < 2 ? 0 : threads;
+    }
+
+    /**
+     * Check if the parallel update phase is using worker threads.
+     *
+     * @return True if worker threads are in use.
+     */
+    public final boolean isParallelUpdatesEnabled()
+    {
+        return this.parallelUpdateThreads > 0;
+    }
+
+    /**
+     * Replace the worker threads of the parallel update phase if their
+     * number has changed. Runs on the tick
+     * <code>{@link java.lang.Thread Thread}</code> before any jobs are
+     * submitted, so the executor being replaced is idle when it is shut
+     * down.
+     */
+    private void applyParallelUpdateThreads()
+    {
+        int threads = this.parallelUpdateThreads;
+        if (threads == this.parallelUpdateExecutorThreads) {
+            return;
+        }
+
+        if (this.parallelUpdateExecutor != null) {
+            this.parallelUpdateExecutor.shutdown();
+            this.parallelUpdateExecutor = null;
+        }
+
+        this.parallelUpdateExecutorThreads = threads;
+
+        if (threads > 0) {
+            this.parallelUpdateExecutor = Executors.newFixedThreadPool(
+                threads,
+                (runnable) -> {
+                    Thread thread = new Thread(runnable, "jtwod-entity-update");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        }
+    }
+
+    /**
+     * Remove any scheduled wake for an
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>.
+     *
+     * @param entity
+     * The <code>{@link jtwod.engine.drawable.Entity Entity}</code>.
+     */
+    private void cancelScheduledWake(Entity<ParentEngine> entity)
+    {
+        this.wakeWheel.cancel(this.wakeTimers.remove(entity));
+    }
+
+    /**
+     * Check if an <code>{@link jtwod.engine.drawable.Entity Entity}</code>
+     * is currently being managed by this
+     * <code>{@link jtwod.engine.EntityController EntityController}</code>.
+     *
+     * @param entity
+     * The <code>{@link jtwod.engine.drawable.Entity Entity}</code>.
+     * @return True if the Entity has been spawned and not yet removed.
+     */
+    private boolean isManaging(Entity<ParentEngine> entity)
+    {
+        return this.awakeEntities.contains(entity)
+            || this.sleepingEntities.contains(entity);
+    }
+
+    /**
+     * Put an <code>{@link jtwod.engine.drawable.Entity Entity}</code> to
+     * sleep until it is woken.
+     *
+     * <p>
+     * A sleeping <code>{@link jtwod.engine.drawable.Entity Entity}</code>
+     * is skipped by
+     * <code>{@link jtwod.engine.EntityController#iterateEntityPerControlUpdate(Entity)}</code>,
+     * does not check for collisions and does not receive updates, including
+     * it's <code>{@link jtwod.engine.timing.RecurringTimer RecurringTimer}</code>s.
+     * It's life time still runs out while it sleeps. It is woken by
+     * <code>{@link jtwod.engine.EntityController#wakeEntity(Entity)}</code>,
+     * by being given a non-zero velocity, by being killed or by an awake
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code> colliding
+     * with it.
+     * </p>
+     *
+     * @param entity
+     * The <code>{@link jtwod.engine.drawable.Entity Entity}</code> to put to
+     * sleep.
+     */
+    public final void sleepEntity(Entity<ParentEngine> entity)
+    {
+        if (this.awakeEntities.remove(entity)) {
+            this.sleepingEntities.add(entity);
+        }
+    }
+
+    /**
+     * Put an <code>{@link jtwod.engine.drawable.Entity Entity}</code> to
+     * sleep and wake it automatically after the specified number of ticks.
+     *
+     * @param entity
+     * The <code>{@link jtwod.engine.drawable.Entity Entity}</code> to put to
+     * sleep.
+     * @param ticks The number of ticks to sleep for.
+     *
+     * @see EntityController#sleepEntity(jtwod.engine.drawable.Entity)
+     */
+    public final void sleepEntity(Entity<ParentEngine> entity, int ticks)
+    {
+        this.sleepEntity(entity);
+
+        if (this.sleepingEntities.contains(entity)) {
+            this.cancelScheduledWake(entity);
+            this.wakeTimers.put(
+                entity,
+                this.wakeWheel.schedule(
+                    entity, this.currentTick + Math.max(ticks, 1)
+                )
+            );
+        }
+    }
+
+    /**
+     * Wake a sleeping
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code> so that it is
+     * updated and checked for collision again starting with the next tick.
+     *
+     * @param entity
+     * The <code>{@link jtwod.engine.drawable.Entity Entity}</code> to wake.
+     */
+    public final void wakeEntity(Entity<ParentEngine> entity)
+    {
+        if (this.sleepingEntities.remove(entity)) {
+            this.cancelScheduledWake(entity);
+            this.awakeEntities.add(entity);
+        }
+    }
+
+    /**
+     * Check if an <code>{@link jtwod.engine.drawable.Entity Entity}</code>
+     * is currently sleeping in this
+     * <code>{@link jtwod.engine.EntityController EntityController}</code>.
+     *
+     * @param entity
+     * The <code>{@link jtwod.engine.drawable.Entity Entity}</code>.
+     * @return True if the Entity is sleeping.
+     */
+    public final boolean isEntitySleeping(Entity<ParentEngine> entity)
+    {
+        return this.sleepingEntities.contains(entity);
+    }
+
+    /**
+     * Retrieve a live, read only view of the
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s being managed
+     * by this
+     * <code>{@link jtwod.engine.EntityController EntityController}</code>
+     * that are an instance of the specified class or interface.
+     *
+     * <p>
+     * The view is kept up to date as
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s are spawned
+     * and removed, so it can be held on to instead of being retrieved again.
+     * It should not be iterated while spawning or removing
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s.
+     * </p>
+     *
+     * @param type The class or interface.
+     * @param <T> The type of the <code>{@link jtwod.engine.drawable.Entity Entity}</code>s.
+     * @return The <code>{@link jtwod.engine.drawable.Entity Entity}</code>s.
+     */
+    @SuppressWarnings("unchecked")
+    public final <T> Set<T> getEntitiesOfType(Class<T> type)
+    {
+        if (! this.typeBucketViews.containsKey(type)) {
+            this.getTypeBucket(type);
+        }
+
+        return (Set<T>) this.typeBucketViews.get(type);
+    }
+
+    /**
+     * Retrieve a live, read only view of the
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s being managed
+     * by this
+     * <code>{@link jtwod.engine.EntityController EntityController}</code>
+     * that have the specified tag.
+     *
+     * @param tag The tag.
+     * @return The <code>{@link jtwod.engine.drawable.Entity Entity}</code>s.
+     *
+     * @see EntityController#getEntitiesOfType(Class)
+     * @see jtwod.engine.drawable.Entity#addTag(String)
+     */
+    public final Set<Entity<ParentEngine>> getEntitiesWithTag(String tag)
+    {
+        if (! this.tagBucketViews.containsKey(tag)) {
+            this.getTagBucket(tag);
+        }
+
+        return this.tagBucketViews.get(tag);
+    }
+
+    /**
+     * Notify this
+     * <code>{@link jtwod.engine.EntityController EntityController}</code>
+     * that an <code>{@link jtwod.engine.drawable.Entity Entity}</code> has
+     * been given a tag.
+     *
+     * @param entity The <code>{@link jtwod.engine.drawable.Entity Entity}</code>.
+     * @param tag The tag.
+     */
+    public final void notifyTagAdded(Entity<ParentEngine> entity, String tag)
+    {
+        if (this.isManaging(entity)) {
+            this.getTagBucket(tag).add(entity);
+        }
+    }
+
+    /**
+     * Notify this
+     * <code>{@link jtwod.engine.EntityController EntityController}</code>
+     * that a tag has been removed from an
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>.
+     *
+     * @param entity The <code>{@link jtwod.engine.drawable.Entity Entity}</code>.
+     * @param tag The tag.
+     */
+    public final void notifyTagRemoved(Entity<ParentEngine> entity, String tag)
+    {
+        LinkedHashSet<Entity<ParentEngine>> bucket = this.tagBuckets.get(tag);
+        if (bucket != null) {
+            bucket.remove(entity);
+        }
+    }
+
+    /**
+     * Retrieve the bucket for a class or interface, creating it if needed.
+     *
+     * @param type The class or interface.
+     * @return The bucket.
+     */
+    private LinkedHashSet<Entity<ParentEngine>> getTypeBucket(Class<?> type)
+    {
+        LinkedHashSet<Entity<ParentEngine>> bucket = this.typeBuckets.get(type);
+        if (bucket == null) {
+            bucket = new LinkedHashSet<>();
+            this.typeBuckets.put(type, bucket);
+            this.typeBucketViews.put(type, Collections.unmodifiableSet(bucket));
+        }
+
+        return bucket;
+    }
+
+    /**
+     * Retrieve the bucket for a tag, creating it if needed.
+     *
+     * @param tag The tag.
+     * @return The bucket.
+     */
+    private LinkedHashSet<Entity<ParentEngine>> getTagBucket(String tag)
+    {
+        LinkedHashSet<Entity<ParentEngine>> bucket = this.tagBuckets.get(tag);
+        if (bucket == null) {
+            bucket = new LinkedHashSet<>();
+            this.tagBuckets.put(tag, bucket);
+            this.tagBucketViews.put(tag, Collections.unmodifiableSet(bucket));
+        }
+
+        return bucket;
+    }
+
+    /**
+     * Retrieve every class and interface that instances of an
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code> class should
+     * be bucketed under.
+     *
+     * @param type The concrete class.
+     * @return The classes and interfaces.
+     */
+    private Class<?>[] getTypeHierarchy(Class<?> type)
+    {
+        Class<?>[] hierarchy = this.typeHierarchies.get(type);
+        if (hierarchy == null) {
+            LinkedHashSet<Class<?>> types = new LinkedHashSet<>();
+            LinkedList<Class<?>> pending = new LinkedList<>();
+            pending.add(type);
+            while (! pending.isEmpty()) {
+                Class<?> next = pending.pollFirst();
+                if (next != null && next != Object.class && types.add(next)) {
+                    pending.add(next.getSuperclass());
+                    pending.addAll(Arrays.asList(next.getInterfaces()));
+                }
+            }
+
+            hierarchy = types.toArray(new Class<?>[0]);
+            this.typeHierarchies.put(type, hierarchy);
+        }
+
+        return hierarchy;
+    }
+
+    /**
+     * Add an <code>{@link jtwod.engine.drawable.Entity Entity}</code> to
+     * each of it's type and tag buckets.
+     *
+     * @param entity The <code>{@link jtwod.engine.drawable.Entity Entity}</code>.
+     */
+    private void addToBuckets(Entity<ParentEngine> entity)
+    {
+        for (Class<?> type : this.getTypeHierarchy(entity.getClass())) {
+            this.getTypeBucket(type).add(entity);
+        }
+
+        for (String tag : entity.getTags()) {
+            this.getTagBucket(tag).add(entity);
+        }
+    }
+
+    /**
+     * Remove an <code>{@link jtwod.engine.drawable.Entity Entity}</code> from
+     * each of it's type and tag buckets.
+     *
+     * @param entity The <code>{@link jtwod.engine.drawable.Entity Entity}</code>.
+     */
+    private void removeFromBuckets(Entity<ParentEngine> entity)
+    {
+        for (Class<?> type : this.getTypeHierarchy(entity.getClass())) {
+            this.typeBuckets.get(type).remove(entity);
+        }
+
+        for (String tag : entity.getTags()) {
+            this.notifyTagRemoved(entity, tag);
+        }
+    }
+
     /**
      * Retrieve a list of all
      * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s 
@@ -230,8 +1024,18 @@ public abstract class EntityController<
     public final void spawnEntity(Entity<ParentEngine> entity)
     {
         this.getParentScene().addKeyListener(entity);
-        this.getParentScene().addMouseListener(entity.getMouseAdapter());
+        entity.notifyAttached();
         this.entities.add(entity);
+        this.awakeEntities.add(entity);
+        this.addToBuckets(entity);
+
+        // An Entity spawned part way through a tick
+        // is first updated on the following tick.
+        entity.notifySpawned(
+            this.isUpdatingEntities ? this.currentTick + 1 : this.currentTick
+        );
+        this.scheduleDeath(entity);
+        entity.invalidate();
     }
 
     /**
@@ -243,9 +1047,18 @@ public abstract class EntityController<
      */
     public final void removeEntity(Entity<ParentEngine> entity)
     {
+        if (this.isManaging(entity)) {
+            this.removeFromBuckets(entity);
+            entity.invalidate();
+            entity.notifyDetached();
+        }
+
         this.getParentScene().removeKeyListener(entity);
-        this.getParentScene().removeMouseListener(entity.getMouseAdapter());
         this.entities.remove(entity);
+        this.awakeEntities.remove(entity);
+        this.sleepingEntities.remove(entity);
+        this.cancelScheduledWake(entity);
+        this.deathWheel.cancel(this.deathTimers.remove(entity));
     }
 
     /**
@@ -257,9 +1070,21 @@ public abstract class EntityController<
     {
         while(entities.size() > 0) {
             Entity<ParentEngine> entity = entities.pollFirst();
+            entity.invalidate();
             this.getParentScene().removeKeyListener(entity);
-            this.getParentScene().removeMouseListener(entity.getMouseAdapter());
+            entity.notifyDetached();
         }
+
+        this.awakeEntities.clear();
+        this.sleepingEntities.clear();
+        this.wakeTimers.values().forEach(this.wakeWheel::cancel);
+        this.wakeTimers.clear();
+        this.deathTimers.values().forEach(this.deathWheel::cancel);
+        this.deathTimers.clear();
+
+        // Keep the buckets so that views already handed out stay live.
+        this.typeBuckets.values().forEach(LinkedHashSet::clear);
+        this.tagBuckets.values().forEach(LinkedHashSet::clear);
     }
 
     /**
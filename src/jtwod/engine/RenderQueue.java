@@ -0,0 +1,261 @@
+package jtwod.engine;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Collects the <code>{@link jtwod.engine.Drawable Drawable}</code>s of a
+ * layer and renders them sorted by the state they need, so that each change
+ * of texture, font, color or stroke happens once per group of draws instead
+ * of once per draw.
+ *
+ * <p>
+ * Drawables that can't describe their state, or that have children, are
+ * rendered first in the order they were submitted. The order of the others
+ * within the layer is not kept.
+ * </p>
+ *
+ * @param <ParentEngine>
+ * The type for the parent <code>{@link jtwod.engine.Engine Engine}</code>
+ * associated with this
+ * <code>{@link jtwod.engine.RenderQueue RenderQueue}</code>.
+ *
+ * @see jtwod.engine.Drawable#describeRenderState(RenderState)
+ * @see jtwod.engine.DrawableGroup#setBatchingEnabled(boolean)
+ */
+public final class RenderQueue<ParentEngine extends Engine>
+{
+    /**
+     * A <code>{@link jtwod.engine.Drawable Drawable}</code> waiting to be
+     * rendered along with the state it needs.
+     *
+     * @param <ParentEngine> The type for the parent Engine.
+     */
+    private static final class Entry<ParentEngine extends Engine>
+    {
+        /**
+         * The <code>{@link jtwod.engine.Drawable Drawable}</code>.
+         */
+        private Drawable<ParentEngine> drawable;
+
+        /**
+         * The state the <code>{@link jtwod.engine.Drawable Drawable}</code>
+         * needs.
+         */
+        private final RenderState state = new RenderState();
+
+        /**
+         * If set to false, the <code>{@link jtwod.engine.Drawable Drawable}</code>
+         * manages it's own state.
+         */
+        private boolean isBatched;
+
+        /**
+         * The order the <code>{@link jtwod.engine.Drawable Drawable}</code>
+         * was submitted in.
+         */
+        private int order;
+
+        /**
+         * Hashes of the texture, font, color and stroke, taken when the
+         * entry was submitted.
+         */
+        private int textureKey, fontKey, colorKey, strokeKey;
+    }
+
+    /**
+     * Orders entries so that those sharing state are next to each other.
+     * Hash collisions only cost an extra state change.
+     */
+    private static final Comparator<Entry<?>> STATE_ORDER = (a, b) -> {
+        if (a.isBatched != b.isBatched) {
+            return a.isBatched ? 1 : -1;
+        }
+
+        int result = Integer.compare(a.textureKey, b.textureKey);
+        if (result == 0) {
+            result = Integer.compare(a.fontKey, b.fontKey);
+        }
+        if (result == 0) {
+            result = Integer.compare(a.colorKey, b.colorKey);
+        }
+        if (result == 0) {
+            result = Integer.compare(a.strokeKey, b.strokeKey);
+        }
+
+        return (result != 0) ? result : Integer.compare(a.order, b.order);
+    };
+
+    /**
+     * The submitted entries, followed by entries kept for re-use.
+     */
+    private Entry<ParentEngine>[] entries;
+
+    /**
+     * The number of submitted entries.
+     */
+    private int size = 0;
+
+    /**
+     * The number of state changes made during the last flush.
+     */
+    private int lastStateChanges = 0;
+
+    /**
+     * Create an empty <code>{@link jtwod.engine.RenderQueue RenderQueue}</code>.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RenderQueue()
+    {
+        this.entries = new Entry[16];
+    }
+
+    /**
+     * Add a <code>{@link jtwod.engine.Drawable Drawable}</code> to the queue.
+     *
+     * @param drawable The <code>{@link jtwod.engine.Drawable Drawable}</code>.
+     */
+    public final void submit(Drawable<ParentEngine> drawable)
+    {
+        if (this.size == this.entries.length) {
+            this.entries = Arrays.copyOf(this.entries, this.size * 2);
+        }
+
+        Entry<ParentEngine> entry = this.entries[this.size];
+        if (entry == null) {
+            entry = new Entry<>();
+            this.entries[this.size] = entry;
+        }
+
+        entry.drawable = drawable;
+        entry.order = this.size;
+        entry.state.reset();
+        entry.isBatched = (
+            ! drawable.hasSubDrawables() &&
+            drawable.describeRenderState(entry.state)
+        );
+
+        if (entry.isBatched) {
+            entry.textureKey = System.identityHashCode(entry.state.getTexture());
+            entry.fontKey = RenderQueue.hash(entry.state.getFont());
+            entry.colorKey = RenderQueue.hash(entry.state.getColor());
+            entry.strokeKey = RenderQueue.hash(entry.state.getStroke());
+        } else {
+            entry.textureKey = 0;
+            entry.fontKey = 0;
+            entry.colorKey = 0;
+            entry.strokeKey = 0;
+        }
+
+        this.size++;
+    }
+
+    /**
+     * Render everything in the queue and empty it.
+     *
+     * @param graphics The <code>{@link java.awt.Graphics Graphics}</code> to
+     *                 render with.
+     * @param scene The <code>{@link jtwod.engine.Scene Scene}</code> being
+     *              rendered to.
+     */
+    public final void flush(Graphics graphics, Scene<ParentEngine> scene)
+    {
+        this.lastStateChanges = 0;
+        if (this.size == 0) {
+            return;
+        }
+
+        Arrays.sort(this.entries, 0, this.size, STATE_ORDER);
+
+        Graphics2D g2d = (Graphics2D) graphics;
+        Font resetFont = g2d.getFont();
+        Color resetColor = g2d.getColor();
+        Stroke resetStroke = g2d.getStroke();
+
+        Font font = resetFont;
+        Color color = resetColor;
+        Stroke stroke = resetStroke;
+
+        for (int i = 0; i < this.size; i++) {
+            Entry<ParentEngine> entry = this.entries[i];
+
+            scene.prepareToRender(entry.drawable, graphics);
+
+            if (! entry.isBatched) {
+                entry.drawable.render(graphics, scene);
+
+                // The Drawable may have left any state behind.
+                font = g2d.getFont();
+                color = g2d.getColor();
+                stroke = g2d.getStroke();
+            } else {
+                RenderState state = entry.state;
+                if (state.getFont() != null && ! state.getFont().equals(font)) {
+                    font = state.getFont();
+                    g2d.setFont(font);
+                    this.lastStateChanges++;
+                }
+
+                if (state.getColor() != null && ! state.getColor().equals(color)) {
+                    color = state.getColor();
+                    g2d.setColor(color);
+                    this.lastStateChanges++;
+                }
+
+                if (state.getStroke() != null && ! state.getStroke().equals(stroke)) {
+                    stroke = state.getStroke();
+                    g2d.setStroke(stroke);
+                    this.lastStateChanges++;
+                }
+
+                entry.drawable.renderBatched(graphics, scene);
+            }
+
+            entry.drawable = null;
+        }
+
+        g2d.setFont(resetFont);
+        g2d.setColor(resetColor);
+        g2d.setStroke(resetStroke);
+
+        this.size = 0;
+    }
+
+    /**
+     * Retrieve the number of <code>{@link jtwod.engine.Drawable Drawable}</code>s
+     * waiting in the queue.
+     *
+     * @return The number of Drawables.
+     */
+    public final int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Retrieve the number of font, color and stroke changes made during the
+     * last flush.
+     *
+     * @return The number of state changes.
+     */
+    public final int getLastStateChanges()
+    {
+        return this.lastStateChanges;
+    }
+
+    /**
+     * Hash a piece of state, treating null as zero.
+     *
+     * @param state The state.
+     * @return The hash.
+     */
+    private static int hash(Object state)
+    {
+        return (state == null) ? 0 : state.hashCode();
+    }
+}
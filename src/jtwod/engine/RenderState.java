@@ -0,0 +1,141 @@
+package jtwod.engine;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Stroke;
+
+/**
+ * The graphics state that a <code>{@link jtwod.engine.Drawable Drawable}</code>
+ * needs in order to render, used by a
+ * <code>{@link jtwod.engine.RenderQueue RenderQueue}</code> to group draws
+ * that share the same state.
+ *
+ * <p>
+ * Anything left unset is not needed by the
+ * <code>{@link jtwod.engine.Drawable Drawable}</code>.
+ * </p>
+ *
+ * @see jtwod.engine.Drawable#describeRenderState(RenderState)
+ */
+public final class RenderState
+{
+    /**
+     * The image that the <code>{@link jtwod.engine.Drawable Drawable}</code>
+     * draws from.
+     */
+    private Object texture;
+
+    /**
+     * The <code>{@link java.awt.Font Font}</code> to draw with.
+     */
+    private Font font;
+
+    /**
+     * The <code>{@link java.awt.Color Color}</code> to draw with.
+     */
+    private Color color;
+
+    /**
+     * The <code>{@link java.awt.Stroke Stroke}</code> to draw with.
+     */
+    private Stroke stroke;
+
+    /**
+     * Retrieve the image that the
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> draws from.
+     *
+     * @return The image, or null if none is needed.
+     */
+    public final Object getTexture()
+    {
+        return this.texture;
+    }
+
+    /**
+     * Update the image that the
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> draws from. Draws
+     * from the same image, such as the same
+     * <code>{@link jtwod.engine.graphics.TextureAtlas TextureAtlas}</code>
+     * page, are grouped together.
+     *
+     * @param texture The image.
+     */
+    public final void setTexture(Object texture)
+    {
+        this.texture = texture;
+    }
+
+    /**
+     * Retrieve the <code>{@link java.awt.Font Font}</code> to draw with.
+     *
+     * @return The <code>{@link java.awt.Font Font}</code>, or null if none is
+     *         needed.
+     */
+    public final Font getFont()
+    {
+        return this.font;
+    }
+
+    /**
+     * Update the <code>{@link java.awt.Font Font}</code> to draw with.
+     *
+     * @param font The <code>{@link java.awt.Font Font}</code>.
+     */
+    public final void setFont(Font font)
+    {
+        this.font = font;
+    }
+
+    /**
+     * Retrieve the <code>{@link java.awt.Color Color}</code> to draw with.
+     *
+     * @return The <code>{@link java.awt.Color Color}</code>, or null if none
+     *         is needed.
+     */
+    public final Color getColor()
+    {
+        return this.color;
+    }
+
+    /**
+     * Update the <code>{@link java.awt.Color Color}</code> to draw with.
+     *
+     * @param color The <code>{@link java.awt.Color Color}</code>.
+     */
+    public final void setColor(Color color)
+    {
+        this.color = color;
+    }
+
+    /**
+     * Retrieve the <code>{@link java.awt.Stroke Stroke}</code> to draw with.
+     *
+     * @return The <code>{@link java.awt.Stroke Stroke}</code>, or null if
+     *         none is needed.
+     */
+    public final Stroke getStroke()
+    {
+        return this.stroke;
+    }
+
+    /**
+     * Update the <code>{@link java.awt.Stroke Stroke}</code> to draw with.
+     *
+     * @param stroke The <code>{@link java.awt.Stroke Stroke}</code>.
+     */
+    public final void setStroke(Stroke stroke)
+    {
+        this.stroke = stroke;
+    }
+
+    /**
+     * Clear the state.
+     */
+    final void reset()
+    {
+        this.texture = null;
+        this.font = null;
+        this.color = null;
+        this.stroke = null;
+    }
+}
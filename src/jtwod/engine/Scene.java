@@ -3,6 +3,12 @@ package jtwod.engine;
 import jtwod.engine.drawable.Graph;
 import jtwod.engine.drawable.Image;
 import jtwod.engine.drawable.Text;
+import jtwod.engine.graphics.BufferStrategyRenderer;
+import jtwod.engine.graphics.FrameBuffer;
+import jtwod.engine.graphics.FrameCapture;
+import jtwod.engine.graphics.RenderQuality;
+import jtwod.engine.graphics.Renderer;
+import jtwod.engine.graphics.ScalingFilter;
 import jtwod.engine.graphics.Texture;
 import jtwod.engine.metrics.Dimensions;
 import jtwod.engine.metrics.Vector;
@@ -10,8 +16,11 @@ import jtwod.engine.timing.RecurringTimer;
 
 import java.awt.*;
 import java.awt.event.*;
-import java.awt.image.BufferStrategy;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
 
 
 /**
@@ -28,6 +37,10 @@ import java.util.LinkedList;
  * @see jtwod.engine.Scene#update() 
  * @see jtwod.engine.Scene#keyPressed(java.awt.event.KeyEvent) 
  * @see jtwod.engine.Scene#keyReleased(java.awt.event.KeyEvent) 
+ * @see jtwod.engine.Scene#setDirtyRenderingEnabled(boolean)
+ * @see jtwod.engine.Scene#getCamera()
+ * @see jtwod.engine.Scene#setRenderer(Renderer)
+ * @see jtwod.engine.Scene#setRenderResolution(Dimensions)
  */
 public abstract class Scene<
     ParentEngine extends Engine
@@ -37,6 +50,18 @@ public abstract class Scene<
      * The Serial Version UID for this Serializable Object.
      */
     private static final long serialVersionUID = 5380604501382560639L;
+
+    /**
+     * The number of buffers used by the
+     * <code>{@link java.awt.image.BufferStrategy BufferStrategy}</code>.
+     */
+    private static final int BUFFER_COUNT = 3;
+
+    /**
+     * The most damaged regions to repaint separately in a single frame
+     * before they are combined into one.
+     */
+    private static final int MAX_DAMAGED_REGIONS = 16;
     
     /**
      * The <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> to
@@ -44,6 +69,19 @@ public abstract class Scene<
      */
     private final DrawableGroup<ParentEngine> drawableGroup;
 
+    /**
+     * The <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> to
+     * render out on top of everything else in screen coordinates.
+     */
+    private final DrawableGroup<ParentEngine> overlayGroup;
+
+    /**
+     * The <code>{@link jtwod.engine.Camera Camera}</code> controlling which
+     * part of the world is shown in this
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     */
+    private final Camera camera = new Camera(this);
+
     /**
      * The name of this <code>{@link jtwod.engine.Scene Scene}</code>.
      */
@@ -126,11 +164,6 @@ public abstract class Scene<
      */
     private Text<ParentEngine> tpsRenderer;
 
-    /**
-     * The black background drawn behind everything.
-     */
-    private Image<ParentEngine> background;
-
     /**
      * A graph for representing FPS and TPS.
      */
@@ -151,6 +184,112 @@ public abstract class Scene<
      */
     private Graphics currentAwtGraphics;
 
+    /**
+     * If set to true, only the regions of this
+     * <code>{@link jtwod.engine.Scene Scene}</code> that have changed are
+     * repainted each frame.
+     */
+    private boolean dirtyRenderingEnabled = false;
+
+    /**
+     * The regions of this <code>{@link jtwod.engine.Scene Scene}</code>
+     * damaged since the last frame.
+     */
+    private LinkedList<Rectangle> damagedRegions = new LinkedList<>();
+
+    /**
+     * Scratch <code>{@link java.awt.Rectangle Rectangle}</code> that a
+     * damaged region is clipped into before it is added.
+     */
+    private final Rectangle damageBounds = new Rectangle();
+
+    /**
+     * The damaged regions of the most recent frames, newest first. A back
+     * buffer that was last drawn to a few frames ago is missing all of the
+     * damage since then.
+     */
+    private final LinkedList<LinkedList<Rectangle>> damageHistory = new LinkedList<>();
+
+    /**
+     * The frame rendered in software, or null if software rendering is
+     * disabled.
+     */
+    private FrameBuffer frameBuffer;
+
+    /**
+     * If set to true, frames are rendered in software.
+     */
+    private boolean softwareRenderingEnabled = false;
+
+    /**
+     * The <code>{@link jtwod.engine.graphics.FrameCapture FrameCapture}</code>
+     * that rendered frames are passed to, or null.
+     */
+    private FrameCapture frameCapture;
+
+    /**
+     * The pool that software rendered tiles are written on, or null to
+     * write them on the render <code>{@link java.lang.Thread Thread}</code>.
+     * Only used on the render <code>{@link java.lang.Thread Thread}</code>.
+     */
+    private ForkJoinPool softwareRenderingPool;
+
+    /**
+     * The number of threads that software rendered tiles should be written
+     * with, applied at the start of the next frame.
+     */
+    private volatile int softwareRenderingThreads = 1;
+
+    /**
+     * The <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>
+     * that frames are rendered with.
+     */
+    private RenderQuality renderQuality = RenderQuality.Default;
+
+    /**
+     * The <code>{@link java.awt.Graphics Graphics}</code> that a
+     * <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>
+     * was last applied to during the current frame.
+     */
+    private Graphics qualityGraphics;
+
+    /**
+     * The <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>
+     * last applied to <code>qualityGraphics</code>.
+     */
+    private RenderQuality appliedRenderQuality;
+
+    /**
+     * The average time taken to draw a frame with each
+     * <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>,
+     * in nanoseconds, or 0 if no frame has been drawn with it.
+     */
+    private final double[] renderQualityFrameTimes
+        = new double[RenderQuality.values().length];
+
+    /**
+     * The resolution that frames are rendered at before being scaled up to
+     * the window, or null to render at the size of the window.
+     */
+    private Dimensions renderResolution;
+
+    /**
+     * How frames rendered at a lower resolution are scaled up to the window.
+     */
+    private ScalingFilter scalingFilter = ScalingFilter.Nearest;
+
+    /**
+     * Image that scaled up frames are rendered into when they are not
+     * rendered into the FrameBuffer.
+     */
+    private BufferedImage renderTarget;
+
+    /**
+     * The <code>{@link jtwod.engine.graphics.Renderer Renderer}</code> that
+     * frames are drawn with.
+     */
+    private Renderer renderer = new BufferStrategyRenderer(this, BUFFER_COUNT);
+
     /**
      * Initialize the <code>{@link jtwod.engine.Scene Scene}</code> with a
      * parent <code>{@link jtwod.engine.Engine Engine}</code>.
@@ -167,6 +306,8 @@ public abstract class Scene<
         this.parentEngine = engine;
         this.controller = null;
         this.drawableGroup = new DrawableGroup<>(this.getParentEngine(), this);
+        this.overlayGroup = new DrawableGroup<>(this.getParentEngine(), this);
+        this.overlayGroup.setScreenSpace(true);
         this.recurringTimers = new LinkedList<>();
         this.showCursor = false;
         this.currentCursorTexture = null;
@@ -196,6 +337,8 @@ public abstract class Scene<
         this.parentEngine = engine;
         this.controller = controller;
         this.drawableGroup = new DrawableGroup<>(this.getParentEngine(), this);
+        this.overlayGroup = new DrawableGroup<>(this.getParentEngine(), this);
+        this.overlayGroup.setScreenSpace(true);
         this.recurringTimers = new LinkedList<>();
         this.showCursor = false;
         this.currentCursorTexture = null;
@@ -230,6 +373,8 @@ public abstract class Scene<
         this.parentEngine = engine;
         this.controller = controller;
         this.drawableGroup = new DrawableGroup<>(this.getParentEngine(), this);
+        this.overlayGroup = new DrawableGroup<>(this.getParentEngine(), this);
+        this.overlayGroup.setScreenSpace(true);
         this.recurringTimers = new LinkedList<>();
         this.showCursor = showCursor;
         this.currentCursorTexture = null;
@@ -270,6 +415,8 @@ public abstract class Scene<
         this.parentEngine = engine;
         this.controller = controller;
         this.drawableGroup = new DrawableGroup<>(this.getParentEngine(), this);
+        this.overlayGroup = new DrawableGroup<>(this.getParentEngine(), this);
+        this.overlayGroup.setScreenSpace(true);
         this.recurringTimers = new LinkedList<>();
         this.showCursor = showCursor;
         this.currentCursorTexture = cursorTexture;
@@ -303,19 +450,6 @@ public abstract class Scene<
         );
         this.fpsRenderer.setVisible(false);
 
-        this.background = new Image<>(
-            0, // First layer
-            Texture.colorTexture(Color.black,
-                    new Dimensions(
-                            this.getParentEngine().getWindowSize().getWidth(),
-                            this.getParentEngine().getWindowSize().getHeight()
-                    )
-            ),
-            Vector.Zero(),
-            engine,
-            this
-        );
-
         this.fpsColorBlock = new Image<>(
             Integer.MAX_VALUE,
             Texture.colorTexture(
@@ -393,12 +527,11 @@ public abstract class Scene<
         };
         this.graphRenderer.setVisible(false);
 
-        this.drawableGroup.addDrawable(this.fpsColorBlock);
-        this.drawableGroup.addDrawable(this.tpsColorBlock);
-        this.drawableGroup.addDrawable(this.graphRenderer);
-        this.drawableGroup.addDrawable(this.background);
-        this.drawableGroup.addDrawable(this.tpsRenderer);
-        this.drawableGroup.addDrawable(this.fpsRenderer);
+        this.overlayGroup.addDrawable(this.fpsColorBlock);
+        this.overlayGroup.addDrawable(this.tpsColorBlock);
+        this.overlayGroup.addDrawable(this.graphRenderer);
+        this.overlayGroup.addDrawable(this.tpsRenderer);
+        this.overlayGroup.addDrawable(this.fpsRenderer);
     }
 
     /**
@@ -459,12 +592,14 @@ public abstract class Scene<
      */
     public final Vector getCursorLocation()
     {
-        return  Vector.fromPoint(
-            MouseInfo.getPointerInfo().getLocation()
-        ).plus(
+        return this.toRenderSpace(
             Vector.fromPoint(
-                this.getLocation()
-            ).negative()
+                MouseInfo.getPointerInfo().getLocation()
+            ).plus(
+                Vector.fromPoint(
+                    this.getLocation()
+                ).negative()
+            )
         );
     }
 
@@ -700,6 +835,712 @@ public abstract class Scene<
         return this.drawableGroup;
     }
 
+    /**
+     * Retrieve the overlay
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code> for this
+     * <code>{@link jtwod.engine.Scene Scene}</code>. It is rendered on top of
+     * everything else, and it's
+     * <code>{@link jtwod.engine.Drawable Drawable}</code>s are positioned in
+     * screen coordinates regardless of the
+     * <code>{@link jtwod.engine.Camera Camera}</code>, which suits HUDs.
+     *
+     * @return
+     * The overlay <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>.
+     */
+    public final DrawableGroup<ParentEngine> getOverlayDrawableGroup()
+    {
+        return this.overlayGroup;
+    }
+
+    /**
+     * Retrieve the <code>{@link jtwod.engine.Camera Camera}</code> controlling
+     * which part of the world is shown in this
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     *
+     * @return The <code>{@link jtwod.engine.Camera Camera}</code>.
+     */
+    public final Camera getCamera()
+    {
+        return this.camera;
+    }
+
+    /**
+     * Enable or disable software rendering for this
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     *
+     * <p>
+     * When enabled, each frame is rendered into a
+     * <code>{@link jtwod.engine.graphics.FrameBuffer FrameBuffer}</code> and
+     * then drawn to the screen with a single blit.
+     * <code>{@link jtwod.engine.drawable.Image Image}</code>s and
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s are copied
+     * straight into it's pixels instead of going through
+     * <code>{@link java.awt.Graphics#drawImage Graphics.drawImage}</code>,
+     * which is faster when drawing many small sprites. While the
+     * <code>{@link jtwod.engine.Camera Camera}</code> is zoomed they are drawn
+     * with <code>{@link java.awt.Graphics Graphics}</code> as usual. Static
+     * <code>{@link jtwod.engine.DrawableGroup DrawableGroup}</code>s are not
+     * cached while software rendering is enabled.
+     * </p>
+     *
+     * @param enabled True to render in software.
+     */
+    public final void setSoftwareRenderingEnabled(boolean enabled)
+    {
+        this.softwareRenderingEnabled = enabled;
+        this.updateFrameBuffer();
+    }
+
+    /**
+     * Check if this <code>{@link jtwod.engine.Scene Scene}</code> is rendered
+     * in software.
+     *
+     * @return True if software rendering is enabled.
+     *
+     * @see Scene#setSoftwareRenderingEnabled(boolean)
+     */
+    public final boolean isSoftwareRenderingEnabled()
+    {
+        return this.softwareRenderingEnabled;
+    }
+
+    /**
+     * Update the number of threads that software rendered frames are written
+     * with.
+     *
+     * <p>
+     * With more than one thread, sprites and fills are recorded instead of
+     * written as they are drawn. Before the frame is presented, it is split
+     * into tiles and the tiles are written in parallel on a
+     * <code>{@link java.util.concurrent.ForkJoinPool ForkJoinPool}</code>.
+     * Anything drawn with the <code>{@link java.awt.Graphics Graphics}</code>
+     * directly first waits for the recorded draws to be written, so
+     * <code>{@link jtwod.engine.Drawable Drawable}</code>s that don't draw
+     * through the <code>{@link jtwod.engine.graphics.Renderer Renderer}</code>
+     * split the frame into more, smaller batches.
+     * </p>
+     *
+     * <p>
+     * The change is applied at the start of the next frame, so a frame
+     * being written is never left without it's threads.
+     * </p>
+     *
+     * @param threads The number of threads, or less than 2 to write frames
+     *                on the render <code>{@link java.lang.Thread Thread}</code>.
+     *
+     * @see Scene#setSoftwareRenderingEnabled(boolean)
+     * @see jtwod.engine.Drawable#drawsThroughRenderer()
+     */
+    public final void setSoftwareRenderingThreads(int threads)
+    {
+        this.softwareRenderingThreads = Math.max(threads, 1);
+    }
+
+    /**
+     * Retrieve the number of threads that software rendered frames are
+     * written with.
+     *
+     * @return The number of threads, or 1 if frames are written on the
+     *         render <code>{@link java.lang.Thread Thread}</code>.
+     */
+    public final int getSoftwareRenderingThreads()
+    {
+        return this.softwareRenderingThreads;
+    }
+
+    /**
+     * Replace the pool that software rendered tiles are written on if the
+     * number of threads has changed. Must be called on the render
+     * <code>{@link java.lang.Thread Thread}</code> between frames, so that
+     * the pool being replaced is no longer in use when it is shut down.
+     */
+    private void applySoftwareRenderingThreads()
+    {
+        int threads = this.softwareRenderingThreads;
+        ForkJoinPool previous = this.softwareRenderingPool;
+        int current = (previous != null) ? previous.getParallelism() : 1;
+
+        if (threads == current) {
+            return;
+        }
+
+        this.softwareRenderingPool = (threads < 2) ? null : new ForkJoinPool(threads);
+
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+
+    /**
+     * Update the
+     * <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>
+     * that frames of this <code>{@link jtwod.engine.Scene Scene}</code> are
+     * rendered with. It is applied to the
+     * <code>{@link java.awt.Graphics2D Graphics2D}</code> once at the start
+     * of each frame, and again only around
+     * <code>{@link jtwod.engine.Drawable Drawable}</code>s that override it.
+     *
+     * @param renderQuality The
+     *        <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>,
+     *        or null for the default.
+     *
+     * @see jtwod.engine.Drawable#setRenderQuality(RenderQuality)
+     * @see Scene#getRenderQualityFrameTime(RenderQuality)
+     */
+    public final void setRenderQuality(RenderQuality renderQuality)
+    {
+        this.renderQuality = (renderQuality != null)
+            ? renderQuality
+            : RenderQuality.Default;
+        this.invalidateAll();
+    }
+
+    /**
+     * Retrieve the
+     * <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>
+     * that frames of this <code>{@link jtwod.engine.Scene Scene}</code> are
+     * rendered with.
+     *
+     * @return The
+     *         <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>.
+     */
+    public final RenderQuality getRenderQuality()
+    {
+        return this.renderQuality;
+    }
+
+    /**
+     * Retrieve the average time taken to draw a frame while this
+     * <code>{@link jtwod.engine.Scene Scene}</code> was set to a
+     * <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>.
+     * This covers drawing the frame, but not waiting for it to be shown, so
+     * switching between qualities for a few seconds each shows what each
+     * one costs on the current machine.
+     *
+     * @param renderQuality The
+     *        <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>.
+     * @return The time in milliseconds, or 0 if no frame has been drawn
+     *         with it.
+     */
+    public final double getRenderQualityFrameTime(RenderQuality renderQuality)
+    {
+        return this.renderQualityFrameTimes[renderQuality.ordinal()] / 1000000;
+    }
+
+    /**
+     * Start or stop passing each rendered frame of this
+     * <code>{@link jtwod.engine.Scene Scene}</code> to a
+     * <code>{@link jtwod.engine.graphics.FrameCapture FrameCapture}</code>.
+     *
+     * <p>
+     * While capturing, frames are rendered into a
+     * <code>{@link jtwod.engine.graphics.FrameBuffer FrameBuffer}</code>
+     * the same way as with software rendering, so that each one can be
+     * copied out of memory with a single array copy. Encoding happens on the
+     * background <code>{@link java.lang.Thread Thread}</code> of the
+     * <code>{@link jtwod.engine.graphics.FrameCapture FrameCapture}</code>.
+     * Closing it is left to the caller.
+     * </p>
+     *
+     * @param capture The <code>{@link jtwod.engine.graphics.FrameCapture FrameCapture}</code>,
+     *                or null to stop capturing.
+     *
+     * @see Scene#setSoftwareRenderingEnabled(boolean)
+     */
+    public final void setFrameCapture(FrameCapture capture)
+    {
+        this.frameCapture = capture;
+        this.updateFrameBuffer();
+    }
+
+    /**
+     * Retrieve the
+     * <code>{@link jtwod.engine.graphics.FrameCapture FrameCapture}</code>
+     * that rendered frames are passed to.
+     *
+     * @return The <code>{@link jtwod.engine.graphics.FrameCapture FrameCapture}</code>,
+     *         or null if frames are not being captured.
+     */
+    public final FrameCapture getFrameCapture()
+    {
+        return this.frameCapture;
+    }
+
+    /**
+     * Retrieve the
+     * <code>{@link jtwod.engine.graphics.FrameBuffer FrameBuffer}</code> that
+     * this <code>{@link jtwod.engine.Scene Scene}</code> is rendered into.
+     *
+     * @return The <code>{@link jtwod.engine.graphics.FrameBuffer FrameBuffer}</code>,
+     *         or null if neither software rendering nor frame capture is
+     *         enabled.
+     */
+    public final FrameBuffer getFrameBuffer()
+    {
+        return this.frameBuffer;
+    }
+
+    /**
+     * Create the
+     * <code>{@link jtwod.engine.graphics.FrameBuffer FrameBuffer}</code> if
+     * software rendering or frame capture needs it, and drop it otherwise.
+     */
+    private void updateFrameBuffer()
+    {
+        boolean needed = this.softwareRenderingEnabled || this.frameCapture != null;
+
+        if (needed && this.frameBuffer == null) {
+            this.frameBuffer = new FrameBuffer(
+                this.getRenderSize().getWidth(),
+                this.getRenderSize().getHeight()
+            );
+        } else if (! needed) {
+            this.frameBuffer = null;
+        }
+
+        this.invalidateAll();
+    }
+
+    /**
+     * Update the resolution that frames of this
+     * <code>{@link jtwod.engine.Scene Scene}</code> are rendered at.
+     *
+     * <p>
+     * When it differs from the size of the window, each frame is rendered
+     * into an offscreen image of this size and then scaled up to the window
+     * with a single blit, so the cost of filling the frame stays the same
+     * however large the window grows. The frame keeps it's aspect ratio and
+     * the rest of the window is filled with black.
+     * <code>{@link jtwod.engine.Drawable Drawable}</code>s and the
+     * <code>{@link jtwod.engine.Camera Camera}</code> work in the
+     * coordinates of the render resolution, and mouse events and the cursor
+     * location are mapped into them.
+     * </p>
+     *
+     * @param resolution The <code>{@link jtwod.engine.metrics.Dimensions Dimensions}</code>
+     *                   to render at, or null to render at the size of the
+     *                   window.
+     *
+     * @see Scene#setScalingFilter(ScalingFilter)
+     * @see Scene#toRenderSpace(Vector)
+     */
+    public final void setRenderResolution(Dimensions resolution)
+    {
+        this.renderResolution = (resolution != null)
+            ? new Dimensions(resolution.getWidth(), resolution.getHeight())
+            : null;
+        this.invalidateAll();
+    }
+
+    /**
+     * Retrieve the resolution that frames of this
+     * <code>{@link jtwod.engine.Scene Scene}</code> are rendered at.
+     *
+     * @return The <code>{@link jtwod.engine.metrics.Dimensions Dimensions}</code>,
+     *         or null if frames are rendered at the size of the window.
+     */
+    public final Dimensions getRenderResolution()
+    {
+        return this.renderResolution;
+    }
+
+    /**
+     * Retrieve the size that frames of this
+     * <code>{@link jtwod.engine.Scene Scene}</code> are rendered at, which
+     * is the render resolution if one is set and the size of the window
+     * otherwise. This is the size that
+     * <code>{@link jtwod.engine.Drawable Drawable}</code>s should be laid
+     * out in.
+     *
+     * @return A copy of the <code>{@link jtwod.engine.metrics.Dimensions Dimensions}</code>.
+     */
+    public final Dimensions getRenderSize()
+    {
+        Dimensions resolution = this.renderResolution;
+        return (resolution != null)
+            ? new Dimensions(resolution.getWidth(), resolution.getHeight())
+            : this.parentEngine.getWindowSize();
+    }
+
+    /**
+     * Retrieve the width that frames of this
+     * <code>{@link jtwod.engine.Scene Scene}</code> are rendered at, without
+     * copying the render size.
+     *
+     * @return The width.
+     *
+     * @see Scene#getRenderSize()
+     */
+    public final int getRenderWidth()
+    {
+        Dimensions resolution = this.renderResolution;
+        return (resolution != null)
+            ? resolution.getWidth()
+            : this.parentEngine.getWindowWidth();
+    }
+
+    /**
+     * Retrieve the height that frames of this
+     * <code>{@link jtwod.engine.Scene Scene}</code> are rendered at, without
+     * copying the render size.
+     *
+     * @return The height.
+     *
+     * @see Scene#getRenderSize()
+     */
+    public final int getRenderHeight()
+    {
+        Dimensions resolution = this.renderResolution;
+        return (resolution != null)
+            ? resolution.getHeight()
+            : this.parentEngine.getWindowHeight();
+    }
+
+    /**
+     * Update how frames rendered at a lower resolution are scaled up to the
+     * window.
+     *
+     * @param filter The <code>{@link jtwod.engine.graphics.ScalingFilter ScalingFilter}</code>,
+     *               or null for nearest neighbour.
+     */
+    public final void setScalingFilter(ScalingFilter filter)
+    {
+        this.scalingFilter = (filter != null) ? filter : ScalingFilter.Nearest;
+    }
+
+    /**
+     * Retrieve how frames rendered at a lower resolution are scaled up to
+     * the window.
+     *
+     * @return The <code>{@link jtwod.engine.graphics.ScalingFilter ScalingFilter}</code>.
+     */
+    public final ScalingFilter getScalingFilter()
+    {
+        return this.scalingFilter;
+    }
+
+    /**
+     * Convert a location in the window into the coordinates that this
+     * <code>{@link jtwod.engine.Scene Scene}</code> is rendered in. Mouse
+     * events are already converted before they reach any listener.
+     *
+     * @param windowLocation The location in the window.
+     * @return The location in the render resolution, or the same location if
+     *         frames are not scaled.
+     *
+     * @see Scene#setRenderResolution(Dimensions)
+     */
+    public final Vector toRenderSpace(Vector windowLocation)
+    {
+        if (! this.isUpscaled()) {
+            return windowLocation;
+        }
+
+        Rectangle bounds = this.getPresentedBounds();
+        Dimensions size = this.getRenderSize();
+        return new Vector(
+            (int) Math.floor(
+                (windowLocation.getX() - bounds.x) * (double) size.getWidth() / bounds.width
+            ),
+            (int) Math.floor(
+                (windowLocation.getY() - bounds.y) * (double) size.getHeight() / bounds.height
+            )
+        );
+    }
+
+    /**
+     * Check if frames are rendered at a resolution other than the size of
+     * the window.
+     *
+     * @return True if frames are scaled to the window.
+     */
+    private boolean isUpscaled()
+    {
+        Dimensions resolution = this.renderResolution;
+        Dimensions window = this.parentEngine.getWindowSize();
+        return resolution != null && (
+            resolution.getWidth() != window.getWidth() ||
+            resolution.getHeight() != window.getHeight()
+        );
+    }
+
+    /**
+     * Retrieve the area of the window that scaled frames are drawn to. It is
+     * as large as fits while keeping the aspect ratio of the render
+     * resolution, centered in the window.
+     *
+     * @return The area.
+     */
+    private Rectangle getPresentedBounds()
+    {
+        Dimensions size = this.getRenderSize();
+        Dimensions window = this.parentEngine.getWindowSize();
+        double scale = Math.min(
+            window.getWidth() / (double) size.getWidth(),
+            window.getHeight() / (double) size.getHeight()
+        );
+
+        int width = Math.max(1, (int) Math.round(size.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(size.getHeight() * scale));
+        return new Rectangle(
+            (window.getWidth() - width) / 2,
+            (window.getHeight() - height) / 2,
+            width, height
+        );
+    }
+
+    /**
+     * Retrieve the image that scaled frames are rendered into, replacing it
+     * if the render resolution has changed.
+     *
+     * @param size The render resolution.
+     * @return The image.
+     */
+    private BufferedImage getRenderTarget(Dimensions size)
+    {
+        if (
+            this.renderTarget == null ||
+            this.renderTarget.getWidth() != size.getWidth() ||
+            this.renderTarget.getHeight() != size.getHeight()
+        ) {
+            this.renderTarget = Texture.createCompatibleImage(
+                size.getWidth(), size.getHeight(), Transparency.OPAQUE
+            );
+            this.invalidateAll();
+        }
+
+        return this.renderTarget;
+    }
+
+    /**
+     * Scale a frame up to the window and fill the rest of the window with
+     * black.
+     *
+     * @param frame The frame, at the render resolution.
+     * @param graphics The <code>{@link java.awt.Graphics Graphics}</code> of
+     *                 the window.
+     */
+    private void presentScaled(BufferedImage frame, Graphics graphics)
+    {
+        Graphics2D g2d = (Graphics2D) graphics;
+        Rectangle bounds = this.getPresentedBounds();
+        Dimensions window = this.parentEngine.getWindowSize();
+
+        g2d.setColor(Color.BLACK);
+        g2d.fillRect(0, 0, window.getWidth(), bounds.y);
+        g2d.fillRect(0, bounds.y + bounds.height, window.getWidth(), window.getHeight() - bounds.y - bounds.height);
+        g2d.fillRect(0, bounds.y, bounds.x, bounds.height);
+        g2d.fillRect(bounds.x + bounds.width, bounds.y, window.getWidth() - bounds.x - bounds.width, bounds.height);
+
+        this.scalingFilter.applyTo(g2d);
+        g2d.drawImage(frame, bounds.x, bounds.y, bounds.width, bounds.height, null);
+    }
+
+    /**
+     * Map mouse events into the render resolution before passing them to
+     * the listeners.
+     *
+     * @param e The <code>{@link java.awt.event.MouseEvent MouseEvent}</code>.
+     */
+    @Override
+    protected final void processMouseEvent(MouseEvent e)
+    {
+        super.processMouseEvent(this.toRenderSpace(e));
+    }
+
+    /**
+     * Map mouse motion events into the render resolution before passing them
+     * to the listeners.
+     *
+     * @param e The <code>{@link java.awt.event.MouseEvent MouseEvent}</code>.
+     */
+    @Override
+    protected final void processMouseMotionEvent(MouseEvent e)
+    {
+        super.processMouseMotionEvent(this.toRenderSpace(e));
+    }
+
+    /**
+     * Map mouse wheel events into the render resolution before passing them
+     * to the listeners.
+     *
+     * @param e The <code>{@link java.awt.event.MouseWheelEvent MouseWheelEvent}</code>.
+     */
+    @Override
+    protected final void processMouseWheelEvent(MouseWheelEvent e)
+    {
+        super.processMouseWheelEvent((MouseWheelEvent) this.toRenderSpace(e));
+    }
+
+    /**
+     * Copy a mouse event with it's location converted into the render
+     * resolution.
+     *
+     * @param e The <code>{@link java.awt.event.MouseEvent MouseEvent}</code>.
+     * @return The converted event, or the same event if frames are not
+     *         scaled.
+     */
+    private MouseEvent toRenderSpace(MouseEvent e)
+    {
+        if (! this.isUpscaled()) {
+            return e;
+        }
+
+        Vector location = this.toRenderSpace(new Vector(e.getX(), e.getY()));
+        if (e instanceof MouseWheelEvent) {
+            MouseWheelEvent wheel = (MouseWheelEvent) e;
+            return new MouseWheelEvent(
+                this, e.getID(), e.getWhen(), e.getModifiersEx(),
+                location.getX(), location.getY(),
+                e.getXOnScreen(), e.getYOnScreen(),
+                e.getClickCount(), e.isPopupTrigger(),
+                wheel.getScrollType(), wheel.getScrollAmount(),
+                wheel.getWheelRotation(), wheel.getPreciseWheelRotation()
+            );
+        }
+
+        return new MouseEvent(
+            this, e.getID(), e.getWhen(), e.getModifiersEx(),
+            location.getX(), location.getY(),
+            e.getXOnScreen(), e.getYOnScreen(),
+            e.getClickCount(), e.isPopupTrigger(), e.getButton()
+        );
+    }
+
+    /**
+     * Update the <code>{@link jtwod.engine.graphics.Renderer Renderer}</code>
+     * that frames of this <code>{@link jtwod.engine.Scene Scene}</code> are
+     * drawn with. The built in
+     * <code>{@link jtwod.engine.Drawable Drawable}</code>s draw through it,
+     * so swapping it changes where and how they are drawn without changing
+     * game code.
+     *
+     * @param renderer The new <code>{@link jtwod.engine.graphics.Renderer Renderer}</code>,
+     *                 or null to draw to the screen through a
+     *                 <code>{@link java.awt.image.BufferStrategy BufferStrategy}</code>.
+     *
+     * @see jtwod.engine.graphics.BufferStrategyRenderer
+     * @see jtwod.engine.graphics.ImageRenderer
+     * @see jtwod.engine.graphics.RecordingRenderer
+     */
+    public final void setRenderer(Renderer renderer)
+    {
+        this.renderer = (renderer != null)
+            ? renderer
+            : new BufferStrategyRenderer(this, BUFFER_COUNT);
+
+        this.invalidateAll();
+    }
+
+    /**
+     * Retrieve the <code>{@link jtwod.engine.graphics.Renderer Renderer}</code>
+     * that frames of this <code>{@link jtwod.engine.Scene Scene}</code> are
+     * drawn with.
+     *
+     * @return The <code>{@link jtwod.engine.graphics.Renderer Renderer}</code>.
+     */
+    public final Renderer getRenderer()
+    {
+        return this.renderer;
+    }
+
+    /**
+     * Describe how the frames of this
+     * <code>{@link jtwod.engine.Scene Scene}</code> are presented, such as
+     * whether they are page flipped in fullscreen exclusive mode or copied
+     * to a window.
+     *
+     * @return The description.
+     *
+     * @see jtwod.engine.Engine#setFullScreen(boolean)
+     */
+    public final String getPresentationPath()
+    {
+        return this.renderer.getPresentationPath();
+    }
+
+    /**
+     * Retrieve the <code>{@link jtwod.engine.graphics.Renderer Renderer}</code>
+     * for this <code>{@link jtwod.engine.Scene Scene}</code>, with it's
+     * drawing operations directed at the
+     * <code>{@link java.awt.Graphics Graphics}</code> a
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> is rendering to.
+     *
+     * @param graphics The <code>{@link java.awt.Graphics Graphics}</code>
+     *                 passed to <code>render</code>.
+     * @return The <code>{@link jtwod.engine.graphics.Renderer Renderer}</code>.
+     */
+    public final Renderer getRenderer(Graphics graphics)
+    {
+        return this.renderer.target(graphics);
+    }
+
+    /**
+     * Get the <code>{@link java.awt.Graphics Graphics}</code> ready for a
+     * <code>{@link jtwod.engine.Drawable Drawable}</code> to render with.
+     * Its <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>
+     * is applied if it differs from the last one applied, and any draws the
+     * <code>{@link jtwod.engine.graphics.FrameBuffer FrameBuffer}</code> has
+     * deferred are written if it draws with the
+     * <code>{@link java.awt.Graphics Graphics}</code> directly.
+     *
+     * @param drawable The <code>{@link jtwod.engine.Drawable Drawable}</code>
+     *                 about to be rendered.
+     * @param graphics The <code>{@link java.awt.Graphics Graphics}</code> it
+     *                 will render with.
+     */
+    final void prepareToRender(Drawable<ParentEngine> drawable, Graphics graphics)
+    {
+        RenderQuality quality = drawable.getRenderQuality();
+        if (quality == null) {
+            quality = this.renderQuality;
+        }
+
+        if (graphics != this.qualityGraphics || quality != this.appliedRenderQuality) {
+            this.applyRenderQuality(graphics, quality);
+        }
+
+        FrameBuffer frameBuffer = this.frameBuffer;
+        if (
+            frameBuffer != null &&
+            frameBuffer.hasPendingDraws() &&
+            ! drawable.drawsThroughRenderer()
+        ) {
+            frameBuffer.flush();
+        }
+    }
+
+    /**
+     * Apply a
+     * <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>
+     * to a <code>{@link java.awt.Graphics Graphics}</code> and remember it.
+     *
+     * @param graphics The <code>{@link java.awt.Graphics Graphics}</code>.
+     * @param quality The
+     *        <code>{@link jtwod.engine.graphics.RenderQuality RenderQuality}</code>.
+     */
+    private void applyRenderQuality(Graphics graphics, RenderQuality quality)
+    {
+        quality.applyTo((Graphics2D) graphics);
+        this.qualityGraphics = graphics;
+        this.appliedRenderQuality = quality;
+    }
+
+    /**
+     * Retrieve the
+     * <code>{@link java.awt.GraphicsConfiguration GraphicsConfiguration}</code>
+     * that render caches should be created with.
+     *
+     * @return The <code>{@link java.awt.GraphicsConfiguration GraphicsConfiguration}</code>,
+     *         or null if content should be painted directly.
+     */
+    final GraphicsConfiguration getRenderCacheConfiguration()
+    {
+        // Reading accelerated images back into
+        // the FrameBuffer would cost more than it saves.
+        return (this.frameBuffer != null) ? null : this.getGraphicsConfiguration();
+    }
+
     /**
      * Update the rendering for this <code>{@link jtwod.engine.Scene Scene}</code>.
      *
@@ -771,6 +1612,98 @@ public abstract class Scene<
         return this.fpsRenderer.isVisible() && this.tpsRenderer.isVisible();
     }
 
+    /**
+     * Enable or disable dirty rendering for this
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     *
+     * <p>
+     * When enabled, <code>{@link jtwod.engine.Drawable Drawable}</code>s mark
+     * the area they cover as damaged when they move, resize or change how
+     * they look, and each frame only the damaged regions are cleared and
+     * repainted. Drawables outside of those regions are skipped entirely.
+     * This suits Scenes where most of the screen is static from one frame to
+     * the next.
+     * </p>
+     *
+     * <p>
+     * Changes made without going through a setter, such as modifying a
+     * position <code>{@link jtwod.engine.metrics.Vector Vector}</code> in
+     * place, must be reported with
+     * <code>{@link jtwod.engine.Drawable#invalidate()}</code>. If the
+     * <code>{@link jtwod.engine.graphics.Renderer Renderer}</code> can't
+     * preserve it's buffers between frames, every frame is repainted in
+     * full.
+     * </p>
+     *
+     * @param enabled True to enable dirty rendering.
+     */
+    public final void setDirtyRenderingEnabled(boolean enabled)
+    {
+        this.dirtyRenderingEnabled = enabled;
+        this.invalidateAll();
+    }
+
+    /**
+     * Check if dirty rendering is enabled for this
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     *
+     * @return True if dirty rendering is enabled.
+     *
+     * @see jtwod.engine.Scene#setDirtyRenderingEnabled(boolean)
+     */
+    public final boolean isDirtyRenderingEnabled()
+    {
+        return this.dirtyRenderingEnabled;
+    }
+
+    /**
+     * Mark a region of this <code>{@link jtwod.engine.Scene Scene}</code> as
+     * needing to be repainted on the next frame. This does nothing unless
+     * dirty rendering is enabled.
+     *
+     * @param region The damaged region. It is not kept, so the caller may
+     *               reuse it.
+     *
+     * @see jtwod.engine.Scene#setDirtyRenderingEnabled(boolean)
+     */
+    public final synchronized void invalidate(Rectangle region)
+    {
+        if (! this.dirtyRenderingEnabled) {
+            return;
+        }
+
+        // Clip to the Scene without allocating.
+        int left = Math.max(region.x, 0);
+        int top = Math.max(region.y, 0);
+        int right = Math.min(region.x + region.width, this.getRenderWidth());
+        int bottom = Math.min(region.y + region.height, this.getRenderHeight());
+        if (right <= left || bottom <= top) {
+            return;
+        }
+
+        // Damage inside an area already damaged adds nothing.
+        for (Rectangle damaged : this.damagedRegions) {
+            if (damaged.contains(left, top, right - left, bottom - top)) {
+                return;
+            }
+        }
+
+        this.damageBounds.setBounds(left, top, right - left, bottom - top);
+        this.addDamagedRegion(this.damagedRegions, this.damageBounds);
+    }
+
+    /**
+     * Mark the whole <code>{@link jtwod.engine.Scene Scene}</code> as needing
+     * to be repainted on the next frame.
+     *
+     * @see jtwod.engine.Scene#setDirtyRenderingEnabled(boolean)
+     */
+    public final synchronized void invalidateAll()
+    {
+        this.damagedRegions.clear();
+        this.damagedRegions.add(this.getSceneBounds());
+    }
+
     /**
      * Adds a
      * <code>{@link jtwod.engine.timing.RecurringTimer RecurringTimer}</code>
@@ -844,33 +1777,274 @@ public abstract class Scene<
      */
     private void renderFrame()
     {
-        BufferStrategy bs = this.getBufferStrategy();
-        if(bs == null){
-            createBufferStrategy(3);
+        Renderer renderer = this.renderer;
+        Graphics graphics = renderer.beginFrame(
+            this.parentEngine.getWindowSize().getWidth(),
+            this.parentEngine.getWindowSize().getHeight()
+        );
+        if (graphics == null) {
             return;
         }
 
-        Graphics graphics = bs.getDrawGraphics();
         this.currentAwtGraphics = graphics;
 
+        RenderQuality quality = this.renderQuality;
+        long frameStart = System.nanoTime();
+
         if (this.isRendering) {
-            this.drawableGroup.render(graphics, this);
+            Dimensions size = this.getRenderSize();
+            boolean upscaled = this.isUpscaled();
+            FrameBuffer frameBuffer = this.frameBuffer;
+            Graphics target = graphics;
+            Graphics offscreen = null;
+            if (frameBuffer != null) {
+                if (frameBuffer.resize(size.getWidth(), size.getHeight())) {
+                    this.invalidateAll();
+                }
 
-            // Entities will always be rendered on top.
-            if (this.controller != null) {
-                this.controller.render(graphics, this);
+                this.applySoftwareRenderingThreads();
+                frameBuffer.setPool(this.softwareRenderingPool);
+
+                target = frameBuffer.getGraphics();
+                this.currentAwtGraphics = target;
+            } else if (upscaled) {
+                offscreen = this.getRenderTarget(size).createGraphics();
+                target = offscreen;
+                this.currentAwtGraphics = target;
+            }
+            renderer.setFrameBuffer(frameBuffer);
+            this.applyRenderQuality(target, quality);
+
+            LinkedList<Rectangle> regions = this.dirtyRenderingEnabled
+                ? this.takeDamagedRegions(renderer)
+                : null;
+
+            // Clipping lets each DrawableGroup skip
+            // anything outside of the area being drawn.
+            if (regions == null) {
+                target.setClip(this.getSceneBounds());
+                this.renderDrawables(target);
+            } else {
+                for (Rectangle region : regions) {
+                    target.setClip(region);
+                    this.renderDrawables(target);
+                }
+            }
+            target.setClip(null);
+
+            if (frameBuffer != null) {
+                // Every tile is finished before
+                // the frame is captured or presented.
+                frameBuffer.flush();
+
+                FrameCapture capture = this.frameCapture;
+                if (capture != null) {
+                    capture.capture(frameBuffer);
+                }
+
+                if (upscaled) {
+                    this.presentScaled(frameBuffer.getImage(), graphics);
+                } else {
+                    frameBuffer.present(graphics);
+                }
+            } else if (offscreen != null) {
+                offscreen.dispose();
+                this.presentScaled(this.renderTarget, graphics);
             }
         } else {
-            this.background.render(graphics, this);
+            this.applyRenderQuality(graphics, quality);
+            this.clearFrame(graphics, new Rectangle(
+                0, 0,
+                this.parentEngine.getWindowSize().getWidth(),
+                this.parentEngine.getWindowSize().getHeight()
+            ));
             this.fpsRenderer.render(graphics, this);
             this.tpsRenderer.render(graphics, this);
+
+            // Only part of the Scene was drawn.
+            this.invalidateAll();
         }
 
+        // Average over roughly the last second at 60 frames per second.
+        long frameTime = System.nanoTime() - frameStart;
+        double average = this.renderQualityFrameTimes[quality.ordinal()];
+        this.renderQualityFrameTimes[quality.ordinal()] = (average == 0)
+            ? frameTime
+            : average + (frameTime - average) / 60;
+
         this.currentAwtGraphics = null;
-        graphics.dispose();
-        try {
-            bs.show();
-        } catch (Exception e){}
+        this.qualityGraphics = null;
+
+        if (! renderer.endFrame()) {
+            this.invalidateAll();
+        }
+    }
+
+    /**
+     * Render the <code>{@link jtwod.engine.Drawable Drawable}</code>s and
+     * <code>{@link jtwod.engine.drawable.Entity Entity}</code>s of this
+     * <code>{@link jtwod.engine.Scene Scene}</code>.
+     *
+     * @param graphics The <code>{@link java.awt.Graphics Graphics}</code>.
+     */
+    private void renderDrawables(Graphics graphics)
+    {
+        this.clearFrame(graphics, this.getSceneBounds());
+
+        // The world is drawn through the Camera.
+        AffineTransform screenTransform = null;
+        if (! this.camera.isIdentity()) {
+            Graphics2D g2d = (Graphics2D) graphics;
+            screenTransform = g2d.getTransform();
+            this.camera.applyTo(g2d);
+
+            if (this.frameBuffer != null) {
+                this.frameBuffer.setTransform(this.camera.getTransform());
+            }
+        }
+
+        this.drawableGroup.render(graphics, this);
+
+        // Entities will always be rendered on top.
+        if (this.controller != null) {
+            this.controller.render(graphics, this);
+        }
+
+        if (screenTransform != null) {
+            ((Graphics2D) graphics).setTransform(screenTransform);
+
+            if (this.frameBuffer != null) {
+                this.frameBuffer.setTransform(null);
+            }
+        }
+
+        this.overlayGroup.render(graphics, this);
+    }
+
+    /**
+     * Fill an area of the frame with black, so that nothing left over from
+     * an earlier frame shows through. This covers the whole area whatever
+     * size the window has become, such as after switching to fullscreen.
+     *
+     * @param graphics The <code>{@link java.awt.Graphics Graphics}</code>.
+     * @param bounds The area to clear.
+     */
+    private void clearFrame(Graphics graphics, Rectangle bounds)
+    {
+        this.getRenderer(graphics).fill(
+            bounds.x, bounds.y, bounds.width, bounds.height, Color.BLACK
+        );
+    }
+
+    /**
+     * Take the regions that need to be repainted in the current back buffer,
+     * and start collecting damage for the next frame.
+     *
+     * @param renderer The <code>{@link jtwod.engine.graphics.Renderer Renderer}</code>
+     *                 drawing the frame.
+     * @return The regions to repaint, or null to repaint everything.
+     */
+    private synchronized LinkedList<Rectangle> takeDamagedRegions(Renderer renderer)
+    {
+        LinkedList<Rectangle> frameDamage = this.damagedRegions;
+        this.damagedRegions = new LinkedList<>();
+
+        int depth = this.getDamageHistoryDepth(renderer);
+        if (depth == 0) {
+            this.damageHistory.clear();
+            return null;
+        }
+
+        // The back buffer is also missing whatever was
+        // painted into the other buffers since it was shown.
+        LinkedList<Rectangle> regions = new LinkedList<>();
+        frameDamage.forEach(region -> this.addDamagedRegion(regions, region));
+        for (LinkedList<Rectangle> previous : this.damageHistory) {
+            previous.forEach(region -> this.addDamagedRegion(regions, region));
+        }
+
+        this.damageHistory.addFirst(frameDamage);
+        while (this.damageHistory.size() > depth - 1) {
+            this.damageHistory.removeLast();
+        }
+
+        if (regions.size() == 1 && regions.getFirst().equals(this.getSceneBounds())) {
+            return null;
+        }
+
+        return regions;
+    }
+
+    /**
+     * Retrieve how many frames of damage have to be repainted to bring a back
+     * buffer up to date.
+     *
+     * @param renderer The <code>{@link jtwod.engine.graphics.Renderer Renderer}</code>
+     *                 drawing the frame.
+     * @return The number of frames, or zero if the back buffer contents are
+     *         not preserved.
+     */
+    private int getDamageHistoryDepth(Renderer renderer)
+    {
+        if (this.frameBuffer != null || this.isUpscaled()) {
+            // The FrameBuffer or render target keeps the previous
+            // frame and is drawn over the whole back buffer.
+            return 1;
+        }
+
+        return renderer.getDamageHistoryDepth();
+    }
+
+    /**
+     * Add a damaged region to a list, combining it with any regions that it
+     * overlaps.
+     *
+     * @param regions The list of damaged regions.
+     * @param region The damaged region.
+     */
+    private void addDamagedRegion(LinkedList<Rectangle> regions, Rectangle region)
+    {
+        if (region.isEmpty()) {
+            return;
+        }
+
+        Rectangle damage = new Rectangle(region);
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            Iterator<Rectangle> iterator = regions.iterator();
+            while (iterator.hasNext()) {
+                Rectangle next = iterator.next();
+                if (next.intersects(damage)) {
+                    damage.add(next);
+                    iterator.remove();
+                    merged = true;
+                }
+            }
+        }
+
+        regions.add(damage);
+
+        if (regions.size() > MAX_DAMAGED_REGIONS) {
+            Rectangle union = new Rectangle(regions.getFirst());
+            regions.forEach(union::add);
+            regions.clear();
+            regions.add(union);
+        }
+    }
+
+    /**
+     * Retrieve the bounds of this <code>{@link jtwod.engine.Scene Scene}</code>.
+     *
+     * @return The bounds.
+     */
+    private Rectangle getSceneBounds()
+    {
+        return new Rectangle(
+            0, 0,
+            this.getRenderWidth(),
+            this.getRenderHeight()
+        );
     }
 
     /**
@@ -881,6 +2055,7 @@ public abstract class Scene<
         this.recurringTimers.forEach(RecurringTimer::notifyUpdate);
 
         this.drawableGroup.notifyUpdate();
+        this.overlayGroup.notifyUpdate();
 
         this.tpsRenderer.setText("TPS: " + this.getTps());
         this.fpsRenderer.setText("FPS: " + this.getFps());
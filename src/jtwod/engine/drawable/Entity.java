@@ -1,9 +1,15 @@
 package jtwod.engine.drawable;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.Random;
+import java.util.Set;
 
 import jtwod.engine.Engine;
+import jtwod.engine.EntityController;
 import jtwod.engine.Scene;
+import jtwod.engine.graphics.Animation;
 import jtwod.engine.graphics.Texture;
 import jtwod.engine.metrics.Vector;
 
@@ -35,9 +41,16 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
     private int deathTick = 0;
 
     /**
-     * The number of ticks that the Entity has been alive.
+     * The Animation played when this Entity dies, or null to use the
+     * <code>des1</code>, <code>des2</code> and <code>des3</code> Textures
+     * of the Engine.
      */
-    private int lifeLived = 0;
+    private Animation deathAnimation;
+
+    /**
+     * The EntityController tick on which this Entity was spawned.
+     */
+    private long spawnTick = -1;
 
     /**
      * If set to true, the Entity will die.
@@ -48,10 +61,22 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
      * Some entities make use of a random
      * value. We provide them the means
      * to access that through this
-     * variable definition.
+     * variable definition. This is shared
+     * with the parent Engine.
      */
     protected Random random;
 
+    /**
+     * The tags for this Entity, used to look it up through it's
+     * EntityController.
+     */
+    private HashSet<String> tags;
+
+    /**
+     * Writes staged during the parallel update phase, waiting to be committed.
+     */
+    private LinkedList<Runnable> stagedWrites;
+
     /**
      * Create a new instance of an Entity.
      *
@@ -62,7 +87,7 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
     {
         super(Integer.MAX_VALUE - 1, texture, position, scene.getParentEngine(), scene);
         this.velocity = Vector.Zero();
-        this.random = new Random();
+        this.random = scene.getParentEngine().getRandom();
     }
 
     /**
@@ -100,6 +125,65 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
         // Not implemented by default.
     }
 
+    /**
+     * Override to declare that this Entity is safe to update from a worker
+     * thread. Only thread safe Entities receive
+     * {@link Entity#updateConcurrently()} calls.
+     *
+     * @return True if this Entity is thread safe.
+     */
+    public boolean isThreadSafe()
+    {
+        return false;
+    }
+
+    /**
+     * Called at the start of each tick for thread safe Entities, before any
+     * Entity is updated. This may run on a worker thread alongside other
+     * Entities, so it should only read shared state and should apply any
+     * changes through {@link Entity#stageWrite(Runnable)}.
+     */
+    protected void updateConcurrently()
+    {
+        // Not implemented by default.
+    }
+
+    /**
+     * Called when a parallel update phase occurs.
+     */
+    public final void notifyConcurrentUpdate()
+    {
+        this.updateConcurrently();
+    }
+
+    /**
+     * Stage a write to be committed on the tick thread once the parallel
+     * update phase is complete. Writes are committed in Entity order, then
+     * in the order that they were staged.
+     *
+     * @param write The write to stage.
+     */
+    protected final void stageWrite(Runnable write)
+    {
+        if (this.stagedWrites == null) {
+            this.stagedWrites = new LinkedList<>();
+        }
+
+        this.stagedWrites.add(write);
+    }
+
+    /**
+     * Commit any writes staged during the parallel update phase.
+     */
+    public final void commitStagedWrites()
+    {
+        if (this.stagedWrites != null) {
+            while (! this.stagedWrites.isEmpty()) {
+                this.stagedWrites.pollFirst().run();
+            }
+        }
+    }
+
     /**
      * Called when an update tick occurs.
      */
@@ -119,10 +203,6 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
         // Update the sprite for the entity.
         this.updateSprite();
 
-        // Check the remaining life of the entity
-        // and kill it if necessary.
-        this.checkLife();
-
         // Check if the entity should be killed regardless
         this.runKill();
     }
@@ -134,6 +214,9 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
     {
         this.isDead = true;
         this.velocity = Vector.Zero();
+
+        // Wake the Entity so that it's death can be processed.
+        this.wake();
     }
 
     /**
@@ -144,6 +227,22 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
     public final void killAfter(int ticks)
     {
         this.shouldKillAfter = ticks;
+
+        EntityController<ParentEngine> controller = this.getParentScene().getEntityController();
+        if (controller != null) {
+            controller.scheduleDeath(this);
+        }
+    }
+
+    /**
+     * Retrieve the number of ticks after being spawned that this Entity will
+     * be killed, or 0 if it lives forever.
+     *
+     * @return The ticks.
+     */
+    public final int getKillAfter()
+    {
+        return this.shouldKillAfter;
     }
 
     /**
@@ -156,6 +255,32 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
         this.shouldPlayDeathAnimation = play;
     }
 
+    /**
+     * Update the Animation played when this Entity dies. It is played
+     * through once, measured in ticks, and the Entity is removed when it
+     * ends.
+     *
+     * @param animation The Animation, or null to use the <code>des1</code>,
+     *                  <code>des2</code> and <code>des3</code> Textures of
+     *                  the Engine for 5 ticks each.
+     *
+     * @see jtwod.engine.graphics.TextureGroup#getDeathAnimation()
+     */
+    public final void setDeathAnimation(Animation animation)
+    {
+        this.deathAnimation = animation;
+    }
+
+    /**
+     * Retrieve the Animation played when this Entity dies.
+     *
+     * @return The Animation, or null if the default is used.
+     */
+    public final Animation getDeathAnimation()
+    {
+        return this.deathAnimation;
+    }
+
     /**
      * Set the Velocity for the Entity.
      *
@@ -164,6 +289,11 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
     public void setVelocity(Vector velocity)
     {
         this.velocity = velocity;
+
+        // A moving Entity can't stay asleep.
+        if (! velocity.isZero()) {
+            this.wake();
+        }
     }
 
     /**
@@ -176,6 +306,118 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
         return this.velocity;
     }
 
+    /**
+     * Put this Entity to sleep so that it is skipped during updates and
+     * collision checks until it is woken.
+     *
+     * @see EntityController#sleepEntity(Entity)
+     */
+    public final void sleep()
+    {
+        EntityController<ParentEngine> controller = this.getParentScene().getEntityController();
+        if (controller != null) {
+            controller.sleepEntity(this);
+        }
+    }
+
+    /**
+     * Put this Entity to sleep and wake it after the specified number of ticks.
+     *
+     * @param ticks The number of ticks to sleep for.
+     *
+     * @see EntityController#sleepEntity(Entity, int)
+     */
+    public final void sleep(int ticks)
+    {
+        EntityController<ParentEngine> controller = this.getParentScene().getEntityController();
+        if (controller != null) {
+            controller.sleepEntity(this, ticks);
+        }
+    }
+
+    /**
+     * Wake this Entity if it is sleeping.
+     *
+     * @see EntityController#wakeEntity(Entity)
+     */
+    public final void wake()
+    {
+        EntityController<ParentEngine> controller = this.getParentScene().getEntityController();
+        if (controller != null) {
+            controller.wakeEntity(this);
+        }
+    }
+
+    /**
+     * Check if this Entity is sleeping.
+     *
+     * @return True if the Entity is sleeping.
+     */
+    public final boolean isSleeping()
+    {
+        EntityController<ParentEngine> controller = this.getParentScene().getEntityController();
+        return controller != null && controller.isEntitySleeping(this);
+    }
+
+    /**
+     * Add a tag to this Entity.
+     *
+     * @param tag The tag to add.
+     *
+     * @see EntityController#getEntitiesWithTag(String)
+     */
+    public final void addTag(String tag)
+    {
+        if (this.tags == null) {
+            this.tags = new HashSet<>();
+        }
+
+        if (this.tags.add(tag)) {
+            EntityController<ParentEngine> controller = this.getParentScene().getEntityController();
+            if (controller != null) {
+                controller.notifyTagAdded(this, tag);
+            }
+        }
+    }
+
+    /**
+     * Remove a tag from this Entity.
+     *
+     * @param tag The tag to remove.
+     */
+    public final void removeTag(String tag)
+    {
+        if (this.tags != null && this.tags.remove(tag)) {
+            EntityController<ParentEngine> controller = this.getParentScene().getEntityController();
+            if (controller != null) {
+                controller.notifyTagRemoved(this, tag);
+            }
+        }
+    }
+
+    /**
+     * Check if this Entity has a tag.
+     *
+     * @param tag The tag.
+     * @return True if this Entity has the tag.
+     */
+    public final boolean hasTag(String tag)
+    {
+        return this.tags != null && this.tags.contains(tag);
+    }
+
+    /**
+     * Retrieve the tags for this Entity.
+     *
+     * @return The tags.
+     */
+    public final Set<String> getTags()
+    {
+        return (this.tags == null)
+            ? Collections.emptySet()
+            : Collections.unmodifiableSet(this.tags);
+    }
+
     /**
      * Check if the entity is dead.
      */
@@ -191,19 +433,43 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
      */
     public final int getLifeLived()
     {
-        return this.lifeLived;
+        EntityController<ParentEngine> controller = this.getParentScene().getEntityController();
+        if (controller == null || this.spawnTick < 0) {
+            return 0;
+        }
+
+        return (int) Math.max(controller.getCurrentTick() - this.spawnTick, 0);
+    }
+
+    /**
+     * Retrieve the EntityController tick on which this Entity was spawned.
+     *
+     * @return The tick, or -1 if the Entity has not been spawned.
+     */
+    public final long getSpawnTick()
+    {
+        return this.spawnTick;
     }
 
     /**
-     * Check if we need to die based on our life lived.
+     * Called by the EntityController when this Entity is spawned.
+     *
+     * @param tick The tick on which this Entity was spawned.
      */
-    private void checkLife()
+    public final void notifySpawned(long tick)
     {
-        this.lifeLived++;
-        if (this.shouldKillAfter > 0) {
-            if (this.lifeLived > this.shouldKillAfter) {
-                this.kill();
-            }
+        this.spawnTick = tick;
+    }
+
+    /**
+     * Called by the EntityController when the life time set with
+     * {@link Entity#killAfter(int)} runs out.
+     */
+    public final void notifyLifeExpired()
+    {
+        if (! this.isDead) {
+            this.kill();
+            this.runKill();
         }
     }
 
@@ -214,16 +480,19 @@ public abstract class Entity<ParentEngine extends Engine> extends Image<ParentEn
     {
         if (this.isDead) {
             if (this.shouldPlayDeathAnimation) {
-                if(deathTick < 5){
-                    this.setTexture(this.getParentEngine().getTextureGroup().getTexture("des1"));
-                    deathTick ++;
-                }else if(deathTick >= 5 && deathTick < 10){
-                    this.setTexture(this.getParentEngine().getTextureGroup().getTexture("des2"));
-                    deathTick ++;
-                }else if(deathTick >= 10 && deathTick < 15){
-                    this.setTexture(this.getParentEngine().getTextureGroup().getTexture("des3"));
+                if (this.deathTick == 0) {
+                    Animation animation = this.deathAnimation;
+                    if (animation == null) {
+                        animation = this.getParentEngine().getTextureGroup().getDeathAnimation();
+                    }
+
+                    this.playAnimation(animation);
+                }
+
+                Animation animation = this.getAnimation();
+                if (animation != null && ! this.isAnimationFinished()) {
                     deathTick ++;
-                }else if(deathTick == 15){
+                } else {
                     this.onDeath();
                     this.getParentScene().getEntityController().removeEntity(this);
                 }
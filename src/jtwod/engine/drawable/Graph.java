@@ -2,23 +2,42 @@ package jtwod.engine.drawable;
 
 import jtwod.engine.Engine;
 import jtwod.engine.Scene;
+import jtwod.engine.graphics.Renderer;
 import jtwod.engine.metrics.Dimensions;
 import jtwod.engine.metrics.Vector;
 
 import java.awt.*;
-import java.util.Arrays;
 
 /**
  * Class used to represent a Graph.
+ *
+ * Each data set is kept in a ring buffer of samples, so appending a value
+ * never moves the others, and is drawn as a single polyline.
+ *
  * @param <ParentEngine> The parent Engine for this Graph.
  */
 public abstract class Graph<ParentEngine extends Engine> extends Shape<ParentEngine>
 {
 
     /**
-     * The data sets being used for this Graph.
+     * The samples of each data set, as ring buffers.
      */
-    private double[][] dataSets;
+    private final double[][] dataSets;
+
+    /**
+     * The index of the oldest sample in each ring buffer.
+     */
+    private int oldestSample = 0;
+
+    /**
+     * Re-usable x coordinates of the samples.
+     */
+    private int[] xPoints;
+
+    /**
+     * Re-usable y coordinates of the samples.
+     */
+    private int[] yPoints;
 
     /**
      * The rate at which to update this Graph in ticks.
@@ -41,12 +60,31 @@ public abstract class Graph<ParentEngine extends Engine> extends Shape<ParentEng
      * @param updateRate The update rate in ticks at which to update this Graph.
      */
     public Graph(int layer, ParentEngine engine, Scene<ParentEngine> scene, Vector position, Dimensions size, int dataSetCount, int updateRate)
+    {
+        this(layer, engine, scene, position, size, dataSetCount, updateRate, size.getWidth());
+    }
+
+    /**
+     * Initialize a new Graph holding a specific number of samples for each
+     * data set, spread across it's width.
+     *
+     * @param layer The layer to draw this Graph to.
+     * @param engine The engine that this Graph is attached to.
+     * @param position The position to draw this Graph in.
+     * @param size The Dimensions of this Graph.
+     * @param dataSetCount The number of data sets in this Graph.
+     * @param updateRate The update rate in ticks at which to update this Graph.
+     * @param sampleCount The number of samples to keep for each data set.
+     */
+    public Graph(int layer, ParentEngine engine, Scene<ParentEngine> scene, Vector position, Dimensions size, int dataSetCount, int updateRate, int sampleCount)
     {
         super(layer, engine, scene);
         this.setSize(size);
         this.setPosition(position);
         this.updateRate = updateRate;
-        this.dataSets = new double[dataSetCount][size.getWidth()];
+        this.dataSets = new double[dataSetCount][Math.max(sampleCount, 1)];
+        this.xPoints = new int[this.dataSets[0].length];
+        this.yPoints = new int[this.dataSets[0].length];
     }
 
     /**
@@ -80,16 +118,48 @@ public abstract class Graph<ParentEngine extends Engine> extends Shape<ParentEng
     protected void update()
     {
         if (curTick % updateRate == 0) {
+            // The oldest sample is overwritten by the newest.
             for (int i = 0; i < dataSets.length; i++) {
-                dataSets[i] = Arrays.stream(dataSets[i]).skip(1).toArray();
-                dataSets[i] = Arrays.copyOf(dataSets[i], dataSets[i].length + 1);
-                dataSets[i][this.getSize().getWidth() - 1] = getNextValueForDataSet(i);
+                dataSets[i][this.oldestSample] = getNextValueForDataSet(i);
             }
+            this.oldestSample = (this.oldestSample + 1) % this.getSampleCount();
+
+            this.invalidate();
         }
 
         this.curTick++;
     }
 
+    /**
+     * Retrieve the area that this Graph renders into. Points are drawn one
+     * pixel past the size of the Graph.
+     *
+     * @param bounds The Rectangle to store the bounds in.
+     * @return True if the bounds are known.
+     */
+    @Override
+    public boolean getRenderBounds(Rectangle bounds)
+    {
+        if (! super.getRenderBounds(bounds)) {
+            return false;
+        }
+
+        bounds.width += 2;
+        bounds.height += 2;
+
+        return true;
+    }
+
+    /**
+     * Retrieve the number of samples kept for each data set.
+     *
+     * @return The number of samples.
+     */
+    public final int getSampleCount()
+    {
+        return this.xPoints.length;
+    }
+
     /**
      * Render the graph out.
      *
@@ -102,35 +172,45 @@ public abstract class Graph<ParentEngine extends Engine> extends Shape<ParentEng
     {
         super.render(graphics, screen);
 
+        int sampleCount = this.getSampleCount();
+        int left = this.getPosition().getX();
+        int bottom = this.getPosition().getY() + this.getSize().getHeight();
+        int width = this.getSize().getWidth();
+        int height = this.getSize().getHeight();
+
+        for (int i = 0; i < sampleCount; i++) {
+            this.xPoints[i] = left + (int) ((long) i * width / sampleCount);
+        }
+
+        Color resetColor = graphics.getColor();
+        Renderer renderer = screen.getRenderer(graphics);
+
         for (int dataSetId = 0; dataSetId < dataSets.length; dataSetId++) {
-            int lastY = this.getPosition().getY() + this.getSize().getHeight();
-            for (int dataValueId = 0; dataValueId < dataSets[dataSetId].length; dataValueId++) {
-                graphics.setColor(getColorForDataSet(dataSetId));
-                int nextY = this.getPosition().getY() + this.getSize().getHeight()
-                    - (1 + (dataSets[dataSetId][dataValueId] == 0 ? 0 : (int) (
-                    (
-                            dataSets[dataSetId][dataValueId]
-                                    / this.getMaxValueForDataSet(dataSetId)
-                    ) * this.getSize().getHeight()
-                )));
-
-                if (dataValueId != 0) {
-                    graphics.drawLine(
-                        this.getPosition().getX() + dataValueId - 1, lastY,
-                        this.getPosition().getX() + dataValueId, nextY
-                    );
-                }
-
-                graphics.drawRect(
-                    this.getPosition().getX() + dataValueId,
-
-                    nextY,
-
-                    1, 1
-                );
-
-                lastY = nextY;
+            double[] samples = dataSets[dataSetId];
+            double max = this.getMaxValueForDataSet(dataSetId);
+
+            for (int i = 0; i < sampleCount; i++) {
+                double value = samples[(this.oldestSample + i) % sampleCount];
+                this.yPoints[i] = bottom - (1 + (value == 0 ? 0 : (int) ((value / max) * height)));
             }
+
+            renderer.drawPolyline(
+                this.xPoints, this.yPoints, sampleCount,
+                getColorForDataSet(dataSetId)
+            );
         }
+
+        graphics.setColor(resetColor);
+    }
+
+    /**
+     * The graph is always drawn through the Renderer.
+     *
+     * @return True.
+     */
+    @Override
+    protected final boolean drawsThroughRenderer()
+    {
+        return true;
     }
 }
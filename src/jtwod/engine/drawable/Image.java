@@ -1,15 +1,27 @@
 package jtwod.engine.drawable;
 
 import jtwod.engine.Engine;
+import jtwod.engine.RenderState;
 import jtwod.engine.Scene;
+import jtwod.engine.graphics.Animation;
 import jtwod.engine.graphics.Texture;
 import jtwod.engine.metrics.Dimensions;
 import jtwod.engine.metrics.Vector;
 
 import java.awt.Graphics;
+import java.awt.Rectangle;
 
 /**
  * An Image that can be rendered out as a Drawable.
+ *
+ * The Texture can be drawn at a render scale, in which case a scaled copy
+ * of it is cached and drawn instead of scaling it every frame. The copy is
+ * also made at the size the Texture covers on screen when the Camera is
+ * zoomed.
+ *
+ * An Image can also play an Animation, showing each of it's frames in turn.
+ * The frame is picked on each update, and the Texture is only swapped when
+ * the frame changes.
  * 
  * @param <ParentEngine> The ParentEngine type for this Image.
  */
@@ -25,6 +37,22 @@ public class Image<ParentEngine extends Engine> extends Shape<ParentEngine>
      */
     private Center center;
 
+    /**
+     * The scale to draw the Texture at.
+     */
+    private double renderScale = 1;
+
+    /**
+     * The Animation being played, or null.
+     */
+    private Animation animation;
+
+    /**
+     * The updates counted since the Animation started, or the time it
+     * started at in nanoseconds, depending on it's Clock.
+     */
+    private long animationTime;
+
     /**
      * Construct the Image and default to Center.None
      *
@@ -72,6 +100,23 @@ public class Image<ParentEngine extends Engine> extends Shape<ParentEngine>
         this.setPosition(position);
     }
 
+    /**
+     * Update the Image, then advance the Animation if one is playing.
+     */
+    @Override
+    protected void notifyUpdate()
+    {
+        super.notifyUpdate();
+
+        if (this.animation != null) {
+            if (this.animation.getClock() == Animation.Clock.Ticks) {
+                this.animationTime++;
+            }
+
+            this.showFrame(this.animation.getFrameAt(this.getAnimationElapsed()));
+        }
+    }
+
     /**
      * Render the Image out.
      *
@@ -83,55 +128,131 @@ public class Image<ParentEngine extends Engine> extends Shape<ParentEngine>
     {
         super.render(graphics, screen);
 
+        this.drawTexture(graphics, screen);
+    }
+
+    /**
+     * Describe the image this Image draws from, so that it can be batched
+     * with others drawing from the same image or atlas page.
+     *
+     * @param state The RenderState to fill in.
+     * @return True if there is a Texture to draw.
+     */
+    @Override
+    protected final boolean describeRenderState(RenderState state)
+    {
+        if (this.texture == null) {
+            return false;
+        }
+
+        state.setTexture(this.texture.getSourceImage());
+        return true;
+    }
+
+    /**
+     * Render the Image out without it's children.
+     *
+     * @param graphics
+     * @param screen
+     */
+    @Override
+    protected final void renderBatched(Graphics graphics, Scene<ParentEngine> screen)
+    {
+        this.drawTexture(graphics, screen);
+    }
+
+    /**
+     * Draw the Texture through the Renderer of the Scene.
+     *
+     * @param graphics
+     * @param screen
+     */
+    private void drawTexture(Graphics graphics, Scene<ParentEngine> screen)
+    {
+        screen.getRenderer(graphics).drawSprite(
+                this.texture,
+                this.getRenderX(),
+                this.getRenderY(),
+                this.getScaledWidth(),
+                this.getScaledHeight()
+        );
+    }
+
+    /**
+     * Retrieve the area that this Image renders into.
+     *
+     * @param bounds The Rectangle to store the bounds in.
+     * @return True if the bounds are known.
+     */
+    @Override
+    public final boolean getRenderBounds(Rectangle bounds)
+    {
+        if (this.texture == null || this.center == null || this.getPosition() == null) {
+            return false;
+        }
+
+        bounds.setBounds(
+            this.getRenderX(),
+            this.getRenderY(),
+            this.getScaledWidth(),
+            this.getScaledHeight()
+        );
+
+        return true;
+    }
+
+    /**
+     * Retrieve the size of the area the Texture is centered in, which is the
+     * size the parent Scene is rendered at.
+     *
+     * @return The Dimensions.
+     */
+    private Dimensions getParentSize()
+    {
+        return (this.getParentScene() != null)
+            ? this.getParentScene().getRenderSize()
+            : this.getParentEngine().getWindowSize();
+    }
+
+    /**
+     * Retrieve the X coordinate that the Texture is drawn at after applying
+     * the Center constraint.
+     *
+     * @return The X coordinate.
+     */
+    private int getRenderX()
+    {
         switch (this.center) {
-            case Vertically:
-                graphics.drawImage(
-                        this.texture.asBufferedImage(),
-                        this.getPosition().getX(),
-                        (
-                                this.getParentEngine().getWindowSize().getHeight() / 2
-                        ) - (
-                                this.getSize().getHeight() / 2
-                        ),
-                        screen
-                );
-                break;
             case Horizontally:
-                graphics.drawImage(
-                        this.texture.asBufferedImage(),
-                        (
-                                this.getParentEngine().getWindowSize().getWidth() / 2
-                        ) - (
-                                this.getSize().getWidth() / 2
-                        ),
-                        this.getPosition().getY(),
-                        screen
-                );
-                break;
             case Parent:
-                graphics.drawImage(
-                        this.texture.asBufferedImage(),
-                        (
-                                this.getParentEngine().getWindowSize().getWidth() / 2
-                        ) - (
-                                this.getSize().getWidth() / 2
-                        ),
-                        (
-                                this.getParentEngine().getWindowSize().getHeight() / 2
-                        ) - (
-                                this.getSize().getHeight() / 2
-                        ),
-                        screen
+                return (
+                        this.getParentSize().getWidth() / 2
+                ) - (
+                        this.getSize().getWidth() / 2
                 );
-                break;
-            case None:
-                graphics.drawImage(
-                        this.texture.asBufferedImage(),
-                        this.getPosition().getX(),
-                        this.getPosition().getY(),
-                        screen
+            default:
+                return this.getPosition().getX();
+        }
+    }
+
+    /**
+     * Retrieve the Y coordinate that the Texture is drawn at after applying
+     * the Center constraint.
+     *
+     * @return The Y coordinate.
+     */
+    private int getRenderY()
+    {
+        switch (this.center) {
+            case Vertically:
+            case Parent:
+                return (
+                        this.getParentSize().getHeight() / 2
+                ) - (
+                        this.getSize().getHeight() / 2
                 );
-                break;
+            default:
+                return this.getPosition().getY();
         }
     }
 
@@ -142,12 +263,164 @@ public class Image<ParentEngine extends Engine> extends Shape<ParentEngine>
      */
     public final void setTexture(Texture texture)
     {
+        this.animation = null;
+        this.invalidate();
         this.texture = (texture != null)
             ? texture
             : Texture.unknownTexture(new Dimensions(32, 32));
 
         this.setSize(
-            new Dimensions(this.texture.getWidth(), this.texture.getHeight())
+            new Dimensions(this.getScaledWidth(), this.getScaledHeight())
+        );
+        this.invalidate();
+    }
+
+    /**
+     * Start playing an Animation from it's first frame, replacing any
+     * Animation already playing. Setting a Texture stops it.
+     *
+     * @param animation The Animation, or null to stop playing.
+     */
+    public final void playAnimation(Animation animation)
+    {
+        this.animation = animation;
+        if (animation == null) {
+            return;
+        }
+
+        this.animationTime = (animation.getClock() == Animation.Clock.Ticks)
+            ? 0
+            : System.nanoTime();
+
+        this.showFrame(animation.getFrame(0));
+    }
+
+    /**
+     * Stop playing the Animation, leaving the current frame shown.
+     */
+    public final void stopAnimation()
+    {
+        this.animation = null;
+    }
+
+    /**
+     * Retrieve the Animation being played.
+     *
+     * @return The Animation, or null if none is playing.
+     */
+    public final Animation getAnimation()
+    {
+        return this.animation;
+    }
+
+    /**
+     * Retrieve how long the Animation has been playing.
+     *
+     * @return The time, measured by the Clock of the Animation, or 0 if
+     *         none is playing.
+     */
+    public final long getAnimationElapsed()
+    {
+        if (this.animation == null) {
+            return 0;
+        }
+
+        return (this.animation.getClock() == Animation.Clock.Ticks)
+            ? this.animationTime
+            : (System.nanoTime() - this.animationTime) / 1000000;
+    }
+
+    /**
+     * Check if the Animation being played has finished.
+     *
+     * @return True if an Animation that does not loop has finished.
+     */
+    public final boolean isAnimationFinished()
+    {
+        return this.animation != null &&
+               this.animation.isFinishedAt(this.getAnimationElapsed());
+    }
+
+    /**
+     * Show a frame of the Animation. Nothing is done if it is already
+     * shown, and the size is only updated if it changes.
+     *
+     * @param frame The Texture of the frame.
+     */
+    private void showFrame(Texture frame)
+    {
+        if (frame == this.texture) {
+            return;
+        }
+
+        this.invalidate();
+        boolean resized = (
+            this.texture == null ||
+            frame.getWidth() != this.texture.getWidth() ||
+            frame.getHeight() != this.texture.getHeight()
+        );
+
+        this.texture = frame;
+        if (resized) {
+            this.setSize(
+                new Dimensions(this.getScaledWidth(), this.getScaledHeight())
+            );
+        }
+        this.invalidate();
+    }
+
+    /**
+     * Update the scale that the Texture is drawn at.
+     *
+     * @param renderScale The scale, where 1 is the size of the Texture.
+     */
+    public final void setRenderScale(double renderScale)
+    {
+        if (renderScale <= 0) {
+            throw new IllegalArgumentException("Render scale must be greater than zero.");
+        }
+
+        this.invalidate();
+        this.renderScale = renderScale;
+        if (this.texture != null) {
+            this.setSize(
+                new Dimensions(this.getScaledWidth(), this.getScaledHeight())
+            );
+        }
+        this.invalidate();
+    }
+
+    /**
+     * Retrieve the scale that the Texture is drawn at.
+     *
+     * @return The scale.
+     */
+    public final double getRenderScale()
+    {
+        return this.renderScale;
+    }
+
+    /**
+     * Retrieve the width that the Texture is drawn at.
+     *
+     * @return The width, at least one pixel.
+     */
+    private int getScaledWidth()
+    {
+        return Math.max(
+            (int) Math.round(this.texture.getWidth() * this.renderScale), 1
+        );
+    }
+
+    /**
+     * Retrieve the height that the Texture is drawn at.
+     *
+     * @return The height, at least one pixel.
+     */
+    private int getScaledHeight()
+    {
+        return Math.max(
+            (int) Math.round(this.texture.getHeight() * this.renderScale), 1
         );
     }
 
@@ -181,8 +454,19 @@ public class Image<ParentEngine extends Engine> extends Shape<ParentEngine>
      */
     public final void setPosition(Center center, Vector position)
     {
+        this.invalidate();
         this.center = center;
         this.setPosition(position);
     }
 
+    /**
+     * The Texture is always drawn through the Renderer.
+     *
+     * @return True.
+     */
+    @Override
+    protected final boolean drawsThroughRenderer()
+    {
+        return true;
+    }
 }
@@ -2,6 +2,7 @@ package jtwod.engine.drawable;
 
 import jtwod.engine.Drawable;
 import jtwod.engine.Engine;
+import jtwod.engine.RenderState;
 import jtwod.engine.Scene;
 import jtwod.engine.metrics.Vector;
 
@@ -33,6 +34,11 @@ public final class Line<ParentEngine extends Engine> extends Drawable<ParentEngi
      */
     private int thickness;
 
+    /**
+     * The Stroke for the thickness of the Line, created when first needed.
+     */
+    private Stroke stroke;
+
     /**
      * Construct a new Line.
      *
@@ -116,7 +122,9 @@ public final class Line<ParentEngine extends Engine> extends Drawable<ParentEngi
      */
     public final void setStart(Vector start)
     {
+        this.invalidate();
         this.start = start;
+        this.invalidate();
     }
 
     /**
@@ -126,7 +134,9 @@ public final class Line<ParentEngine extends Engine> extends Drawable<ParentEngi
      */
     public final void setEnd(Vector end)
     {
+        this.invalidate();
         this.end = end;
+        this.invalidate();
     }
 
     /**
@@ -136,7 +146,37 @@ public final class Line<ParentEngine extends Engine> extends Drawable<ParentEngi
      */
     public final void setThickness(int thickness)
     {
+        this.invalidate();
         this.thickness = thickness;
+        this.stroke = null;
+        this.invalidate();
+    }
+
+    /**
+     * Retrieve the area that this Line renders into.
+     *
+     * @param bounds The Rectangle to store the bounds in.
+     * @return True if the bounds are known.
+     */
+    @Override
+    public final boolean getRenderBounds(Rectangle bounds)
+    {
+        if (this.start == null || this.end == null) {
+            return false;
+        }
+
+        bounds.setBounds(
+            Math.min(this.start.getX(), this.end.getX()),
+            Math.min(this.start.getY(), this.end.getY()),
+            Math.abs(this.end.getX() - this.start.getX()) + 1,
+            Math.abs(this.end.getY() - this.start.getY()) + 1
+        );
+
+        // The stroke extends half it's width past the end points.
+        int overhang = (this.thickness / 2) + 1;
+        bounds.grow(overhang, overhang);
+
+        return true;
     }
 
     /**
@@ -154,14 +194,70 @@ public final class Line<ParentEngine extends Engine> extends Drawable<ParentEngi
         Graphics2D g2d = (Graphics2D)graphics;
         Stroke resetStroke = g2d.getStroke();
 
-        g2d.setColor(this.color);
-        g2d.setStroke(new BasicStroke(this.thickness));
-        g2d.drawLine(this.start.getX(), this.start.getY(), this.end.getX(), this.end.getY());
+        this.drawLine(graphics, scene);
 
         g2d.setStroke(resetStroke);
         graphics.setColor(resetColor);
     }
 
+    /**
+     * Describe the color and stroke this Line draws with, so that it can be
+     * batched with other Lines using the same ones.
+     *
+     * @param state The RenderState to fill in.
+     * @return True, the state is always known.
+     */
+    @Override
+    protected final boolean describeRenderState(RenderState state)
+    {
+        state.setColor(this.color);
+        state.setStroke(this.getStroke());
+        return true;
+    }
+
+    /**
+     * Render the Line out with the color and stroke already set.
+     *
+     * @param graphics The <code>{@link java.awt.Graphics Graphics}</code>
+     *                 object to use for rendering.
+     * @param scene The <code>{@link jtwod.engine.Scene Scene}</code> on which
+     */
+    @Override
+    protected final void renderBatched(Graphics graphics, Scene<ParentEngine> scene)
+    {
+        this.drawLine(graphics, scene);
+    }
+
+    /**
+     * Draw the Line through the Renderer of the Scene.
+     *
+     * @param graphics The <code>{@link java.awt.Graphics Graphics}</code>
+     *                 object to use for rendering.
+     * @param scene The <code>{@link jtwod.engine.Scene Scene}</code> on which
+     */
+    private void drawLine(Graphics graphics, Scene<ParentEngine> scene)
+    {
+        scene.getRenderer(graphics).drawLine(
+            this.start.getX(), this.start.getY(),
+            this.end.getX(), this.end.getY(),
+            this.color, this.getStroke()
+        );
+    }
+
+    /**
+     * Retrieve the Stroke for the thickness of the Line.
+     *
+     * @return The Stroke.
+     */
+    private Stroke getStroke()
+    {
+        if (this.stroke == null) {
+            this.stroke = new BasicStroke(this.thickness);
+        }
+
+        return this.stroke;
+    }
+
     /**
      * Update the Line.
      */
@@ -170,4 +266,15 @@ public final class Line<ParentEngine extends Engine> extends Drawable<ParentEngi
     {
         // Not implemented by default.
     }
+
+    /**
+     * The Line is always drawn through the Renderer.
+     *
+     * @return True.
+     */
+    @Override
+    protected final boolean drawsThroughRenderer()
+    {
+        return true;
+    }
 }
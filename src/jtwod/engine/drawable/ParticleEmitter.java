@@ -0,0 +1,593 @@
+package jtwod.engine.drawable;
+
+import jtwod.engine.Drawable;
+import jtwod.engine.Engine;
+import jtwod.engine.Scene;
+import jtwod.engine.graphics.Renderer;
+import jtwod.engine.graphics.Texture;
+import jtwod.engine.metrics.Vector;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * A Drawable that spawns, moves, fades and draws many small particles, such
+ * as explosions, trails and sparks.
+ *
+ * Particles are not objects. Each one is a slot in a set of primitive
+ * arrays sized once for the capacity of the emitter, and the live particles
+ * are kept packed at the front of them, so that spawning, updating and
+ * rendering are plain loops that never allocate. A particle that dies is
+ * replaced by the last live one. When the emitter is full, new particles
+ * are dropped.
+ *
+ * Particles are drawn as squares whose color fades from a start color to an
+ * end color over their lifetime, or as a Texture without fading. They are
+ * drawn through the Renderer, so with software rendering enabled each one
+ * is a fill straight into the FrameBuffer. Tens of thousands of particles
+ * are only practical that way; through Java2D each translucent fill is
+ * many times slower.
+ *
+ * @param <ParentEngine> The parent Engine type for this ParticleEmitter.
+ *
+ * @see jtwod.engine.Scene#setSoftwareRenderingEnabled(boolean)
+ */
+public final class ParticleEmitter<ParentEngine extends Engine> extends Drawable<ParentEngine>
+{
+    /**
+     * The number of colors a particle passes through while it fades.
+     */
+    private static final int FADE_STEPS = 64;
+
+    /**
+     * The position of each particle.
+     */
+    private final float[] x, y;
+
+    /**
+     * The velocity of each particle, in pixels per tick.
+     */
+    private final float[] velocityX, velocityY;
+
+    /**
+     * The number of ticks each particle has lived.
+     */
+    private final int[] age;
+
+    /**
+     * The number of ticks each particle lives for.
+     */
+    private final int[] lifetime;
+
+    /**
+     * The number of live particles, all at the front of the arrays.
+     */
+    private int count = 0;
+
+    /**
+     * Source of the random spread of new particles.
+     */
+    private final Random random = new Random();
+
+    /**
+     * The point new particles are spawned at.
+     */
+    private int originX, originY;
+
+    /**
+     * The number of particles spawned each tick.
+     */
+    private double emissionRate = 0;
+
+    /**
+     * The part of a particle left over from the emission rate of previous
+     * ticks.
+     */
+    private double pendingEmission = 0;
+
+    /**
+     * The direction new particles move in, and how far either side of it
+     * they can stray, in radians.
+     */
+    private double direction = 0, spread = Math.PI;
+
+    /**
+     * The range of speeds of new particles, in pixels per tick.
+     */
+    private double minimumSpeed = 1, maximumSpeed = 1;
+
+    /**
+     * The range of lifetimes of new particles, in ticks.
+     */
+    private int minimumLifetime = 30, maximumLifetime = 30;
+
+    /**
+     * Added to the velocity of every particle each tick.
+     */
+    private float accelerationX = 0, accelerationY = 0;
+
+    /**
+     * The part of it's velocity a particle keeps each tick.
+     */
+    private float drag = 1;
+
+    /**
+     * The width and height of each particle.
+     */
+    private int particleSize = 2;
+
+    /**
+     * The colors a particle passes through from birth to death.
+     */
+    private final Color[] fadeColors = new Color[FADE_STEPS];
+
+    /**
+     * The Texture particles are drawn with, or null to draw squares.
+     */
+    private Texture texture;
+
+    /**
+     * The area covered by the particles after the last update, valid while
+     * there are particles.
+     */
+    private int boundsLeft, boundsTop, boundsRight, boundsBottom;
+
+    /**
+     * Construct a new ParticleEmitter.
+     *
+     * @param layer The layer to draw the particles on.
+     * @param capacity The most particles that can be alive at once.
+     * @param engine The Engine.
+     * @param scene The parent Scene for the ParticleEmitter.
+     */
+    public ParticleEmitter(int layer, int capacity, ParentEngine engine, Scene<ParentEngine> scene)
+    {
+        super(layer, engine, scene);
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least one.");
+        }
+
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.velocityX = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.age = new int[capacity];
+        this.lifetime = new int[capacity];
+
+        this.setColors(Color.white, new Color(255, 255, 255, 0));
+    }
+
+    /**
+     * Update the point that new particles are spawned at. Particles that
+     * are already alive are not moved.
+     *
+     * @param position The new position.
+     */
+    public final void setPosition(Vector position)
+    {
+        this.originX = position.getX();
+        this.originY = position.getY();
+    }
+
+    /**
+     * Retrieve the point that new particles are spawned at.
+     *
+     * @return The position.
+     */
+    public final Vector getPosition()
+    {
+        return new Vector(this.originX, this.originY);
+    }
+
+    /**
+     * Update the number of particles spawned each tick. Fractions carry
+     * over, so a rate of 0.25 spawns a particle every fourth tick.
+     *
+     * @param particlesPerTick The rate, or 0 to only spawn with
+     *                         <code>emit</code>.
+     */
+    public final void setEmissionRate(double particlesPerTick)
+    {
+        this.emissionRate = Math.max(0, particlesPerTick);
+        if (this.emissionRate == 0) {
+            this.pendingEmission = 0;
+        }
+    }
+
+    /**
+     * Retrieve the number of particles spawned each tick.
+     *
+     * @return The rate.
+     */
+    public final double getEmissionRate()
+    {
+        return this.emissionRate;
+    }
+
+    /**
+     * Update the direction new particles move in.
+     *
+     * @param direction The direction in degrees, clockwise from the right.
+     * @param spread How far either side of the direction particles can
+     *               stray in degrees, or 180 for every direction.
+     */
+    public final void setDirection(double direction, double spread)
+    {
+        this.direction = Math.toRadians(direction);
+        this.spread = Math.toRadians(Math.abs(spread));
+    }
+
+    /**
+     * Update the range of speeds of new particles.
+     *
+     * @param minimum The slowest speed, in pixels per tick.
+     * @param maximum The fastest speed, in pixels per tick.
+     */
+    public final void setSpeed(double minimum, double maximum)
+    {
+        this.minimumSpeed = Math.min(minimum, maximum);
+        this.maximumSpeed = Math.max(minimum, maximum);
+    }
+
+    /**
+     * Update the range of lifetimes of new particles.
+     *
+     * @param minimum The shortest lifetime, in ticks.
+     * @param maximum The longest lifetime, in ticks.
+     */
+    public final void setLifetime(int minimum, int maximum)
+    {
+        this.minimumLifetime = Math.max(1, Math.min(minimum, maximum));
+        this.maximumLifetime = Math.max(1, Math.max(minimum, maximum));
+    }
+
+    /**
+     * Update the acceleration of every particle, such as gravity.
+     *
+     * @param x Added to the horizontal velocity each tick.
+     * @param y Added to the vertical velocity each tick.
+     */
+    public final void setAcceleration(double x, double y)
+    {
+        this.accelerationX = (float) x;
+        this.accelerationY = (float) y;
+    }
+
+    /**
+     * Update how quickly particles slow down.
+     *
+     * @param drag The part of it's velocity a particle keeps each tick,
+     *             from 0 to stop at once to 1 to never slow down.
+     */
+    public final void setDrag(double drag)
+    {
+        this.drag = (float) Math.max(0, Math.min(1, drag));
+    }
+
+    /**
+     * Update the width and height of each particle.
+     *
+     * @param size The size in pixels.
+     */
+    public final void setParticleSize(int size)
+    {
+        this.invalidate();
+        this.particleSize = Math.max(1, size);
+        this.invalidate();
+    }
+
+    /**
+     * Update the colors particles fade between. Every color in between,
+     * including it's alpha, is worked out once here so that drawing a
+     * particle only looks one up.
+     *
+     * @param start The Color of a new particle.
+     * @param end The Color of a particle as it dies.
+     */
+    public final void setColors(Color start, Color end)
+    {
+        for (int step = 0; step < FADE_STEPS; step++) {
+            float t = step / (float) (FADE_STEPS - 1);
+            this.fadeColors[step] = new Color(
+                Math.round(start.getRed() + (end.getRed() - start.getRed()) * t),
+                Math.round(start.getGreen() + (end.getGreen() - start.getGreen()) * t),
+                Math.round(start.getBlue() + (end.getBlue() - start.getBlue()) * t),
+                Math.round(start.getAlpha() + (end.getAlpha() - start.getAlpha()) * t)
+            );
+        }
+
+        this.invalidate();
+    }
+
+    /**
+     * Update the Texture particles are drawn with. Textured particles are
+     * centered on their position and do not fade.
+     *
+     * @param texture The Texture, or null to draw squares.
+     */
+    public final void setTexture(Texture texture)
+    {
+        this.invalidate();
+        this.texture = texture;
+        this.invalidate();
+    }
+
+    /**
+     * Spawn a number of particles at once, such as for an explosion.
+     *
+     * @param particles The number of particles.
+     * @return The number of particles spawned, which is less if the
+     *         ParticleEmitter fills up.
+     */
+    public final int emit(int particles)
+    {
+        int spawned = Math.max(0, Math.min(particles, this.x.length - this.count));
+        for (int i = 0; i < spawned; i++) {
+            this.spawn();
+        }
+
+        if (spawned > 0) {
+            this.includeInBounds(this.originX, this.originY, this.count == spawned);
+            this.invalidate();
+        }
+
+        return spawned;
+    }
+
+    /**
+     * Remove every particle.
+     */
+    public final void clear()
+    {
+        this.invalidate();
+        this.count = 0;
+        this.pendingEmission = 0;
+    }
+
+    /**
+     * Retrieve the number of live particles.
+     *
+     * @return The number of particles.
+     */
+    public final int getParticleCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * Retrieve the most particles that can be alive at once.
+     *
+     * @return The capacity.
+     */
+    public final int getCapacity()
+    {
+        return this.x.length;
+    }
+
+    /**
+     * Retrieve the area covered by the particles.
+     *
+     * @param bounds The Rectangle to store the bounds in.
+     * @return True if there are particles.
+     */
+    @Override
+    public final boolean getRenderBounds(Rectangle bounds)
+    {
+        if (this.count == 0) {
+            bounds.setBounds(0, 0, 0, 0);
+            return true;
+        }
+
+        int half = this.getHalfExtent();
+        bounds.setBounds(
+            this.boundsLeft - half,
+            this.boundsTop - half,
+            this.boundsRight - this.boundsLeft + half * 2 + 1,
+            this.boundsBottom - this.boundsTop + half * 2 + 1
+        );
+
+        return true;
+    }
+
+    /**
+     * Spawn new particles, then age, move and remove the existing ones.
+     */
+    @Override
+    protected final void update()
+    {
+        this.pendingEmission += this.emissionRate;
+        int spawns = (int) this.pendingEmission;
+        this.pendingEmission -= spawns;
+        spawns = Math.min(spawns, this.x.length - this.count);
+
+        if (this.count == 0 && spawns == 0) {
+            return;
+        }
+
+        // The area the particles covered before they move.
+        this.invalidate();
+
+        for (int i = 0; i < spawns; i++) {
+            this.spawn();
+        }
+
+        float[] x = this.x, y = this.y;
+        float[] velocityX = this.velocityX, velocityY = this.velocityY;
+        int[] age = this.age, lifetime = this.lifetime;
+        float drag = this.drag;
+        float accelerationX = this.accelerationX, accelerationY = this.accelerationY;
+
+        float left = Float.MAX_VALUE, top = Float.MAX_VALUE;
+        float right = -Float.MAX_VALUE, bottom = -Float.MAX_VALUE;
+
+        int count = this.count;
+        int i = 0;
+        while (i < count) {
+            if (++age[i] >= lifetime[i]) {
+                // Fill the gap with the last live particle.
+                count--;
+                x[i] = x[count];
+                y[i] = y[count];
+                velocityX[i] = velocityX[count];
+                velocityY[i] = velocityY[count];
+                age[i] = age[count];
+                lifetime[i] = lifetime[count];
+                continue;
+            }
+
+            float vx = velocityX[i] * drag + accelerationX;
+            float vy = velocityY[i] * drag + accelerationY;
+            velocityX[i] = vx;
+            velocityY[i] = vy;
+
+            float px = x[i] + vx;
+            float py = y[i] + vy;
+            x[i] = px;
+            y[i] = py;
+
+            if (px < left) left = px;
+            if (px > right) right = px;
+            if (py < top) top = py;
+            if (py > bottom) bottom = py;
+
+            i++;
+        }
+        this.count = count;
+
+        if (count > 0) {
+            this.boundsLeft = (int) Math.floor(left);
+            this.boundsTop = (int) Math.floor(top);
+            this.boundsRight = (int) Math.ceil(right);
+            this.boundsBottom = (int) Math.ceil(bottom);
+        }
+
+        // The area the particles cover now.
+        this.invalidate();
+    }
+
+    /**
+     * Render the particles out.
+     *
+     * @param graphics The <code>{@link java.awt.Graphics Graphics}</code>
+     *                 object to use for rendering.
+     * @param scene The <code>{@link jtwod.engine.Scene Scene}</code> on which
+     */
+    @Override
+    protected final void render(Graphics graphics, Scene<ParentEngine> scene)
+    {
+        super.render(graphics, scene);
+
+        int count = this.count;
+        if (count == 0) {
+            return;
+        }
+
+        Renderer renderer = scene.getRenderer(graphics);
+        float[] x = this.x, y = this.y;
+        int half = this.getHalfExtent();
+
+        // Particles outside of the area being drawn are skipped.
+        Rectangle clip = graphics.getClipBounds();
+        int clipLeft = (clip != null) ? clip.x - half * 2 : Integer.MIN_VALUE;
+        int clipTop = (clip != null) ? clip.y - half * 2 : Integer.MIN_VALUE;
+        int clipRight = (clip != null) ? clip.x + clip.width : Integer.MAX_VALUE;
+        int clipBottom = (clip != null) ? clip.y + clip.height : Integer.MAX_VALUE;
+
+        Texture texture = this.texture;
+        if (texture != null) {
+            int offsetX = texture.getWidth() / 2;
+            int offsetY = texture.getHeight() / 2;
+            for (int i = 0; i < count; i++) {
+                int left = (int) x[i] - offsetX;
+                int top = (int) y[i] - offsetY;
+                if (left >= clipLeft && left < clipRight && top >= clipTop && top < clipBottom) {
+                    renderer.drawSprite(texture, left, top);
+                }
+            }
+
+            return;
+        }
+
+        int size = this.particleSize;
+        int offset = size / 2;
+        int[] age = this.age, lifetime = this.lifetime;
+        Color[] fadeColors = this.fadeColors;
+        for (int i = 0; i < count; i++) {
+            int left = (int) x[i] - offset;
+            int top = (int) y[i] - offset;
+            if (left >= clipLeft && left < clipRight && top >= clipTop && top < clipBottom) {
+                renderer.fill(
+                    left, top, size, size,
+                    fadeColors[age[i] * (FADE_STEPS - 1) / lifetime[i]]
+                );
+            }
+        }
+    }
+
+    /**
+     * The particles are always drawn through the Renderer.
+     *
+     * @return True.
+     */
+    @Override
+    protected final boolean drawsThroughRenderer()
+    {
+        return true;
+    }
+
+    /**
+     * Add a particle at the spawn point, with a random direction, speed and
+     * lifetime in the configured ranges. There must be room for it.
+     */
+    private void spawn()
+    {
+        double angle = this.direction + (this.random.nextDouble() * 2 - 1) * this.spread;
+        double speed = this.minimumSpeed
+            + this.random.nextDouble() * (this.maximumSpeed - this.minimumSpeed);
+
+        int i = this.count++;
+        this.x[i] = this.originX;
+        this.y[i] = this.originY;
+        this.velocityX[i] = (float) (Math.cos(angle) * speed);
+        this.velocityY[i] = (float) (Math.sin(angle) * speed);
+        this.age[i] = 0;
+        this.lifetime[i] = this.minimumLifetime
+            + this.random.nextInt(this.maximumLifetime - this.minimumLifetime + 1);
+    }
+
+    /**
+     * Grow the bounds of the particles to include a point.
+     *
+     * @param x The x position of the point.
+     * @param y The y position of the point.
+     * @param reset True to start the bounds over at the point.
+     */
+    private void includeInBounds(int x, int y, boolean reset)
+    {
+        if (reset) {
+            this.boundsLeft = this.boundsRight = x;
+            this.boundsTop = this.boundsBottom = y;
+            return;
+        }
+
+        this.boundsLeft = Math.min(this.boundsLeft, x);
+        this.boundsTop = Math.min(this.boundsTop, y);
+        this.boundsRight = Math.max(this.boundsRight, x);
+        this.boundsBottom = Math.max(this.boundsBottom, y);
+    }
+
+    /**
+     * Retrieve how far a particle extends from it's position on each side.
+     *
+     * @return The distance in pixels.
+     */
+    private int getHalfExtent()
+    {
+        if (this.texture != null) {
+            return Math.max(this.texture.getWidth(), this.texture.getHeight()) / 2 + 1;
+        }
+
+        return this.particleSize / 2 + 1;
+    }
+}
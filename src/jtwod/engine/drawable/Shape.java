@@ -9,6 +9,8 @@ import jtwod.engine.metrics.Vector;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A base object in the engine.
@@ -39,9 +41,32 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
 
     /**
      * Adapter for listening for Mouse Clicks.
+     * Created the first time it is retrieved.
      */
     private MouseAdapter mouseAdapter;
 
+    /**
+     * If set to false, this Shape will not listen for mouse events or track
+     * the cursor. Null until it is first checked.
+     */
+    private Boolean mouseEnabled;
+
+    /**
+     * The MouseAdapter registered with the parent Scene, or null if none is.
+     */
+    private MouseAdapter registeredMouseAdapter;
+
+    /**
+     * The number of DrawableGroups and EntityControllers this Shape has
+     * been added to.
+     */
+    private int attachments = 0;
+
+    /**
+     * Cache of which Shape classes override any of the mouse callbacks.
+     */
+    private static final ConcurrentHashMap<Class<?>, Boolean> mouseAwareTypes = new ConcurrentHashMap<>();
+
     /**
      * Internal variable used to store the last state of the cursor.
      */
@@ -66,12 +91,35 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
         super(layer, engine, scene);
         this.position = Vector.Zero();
         this.size = Dimensions.Zero();
+    }
 
-        this.mouseAdapter = new MouseAdapter() {
+    /**
+     * Retrieve the MouseAdapter associated with this Shape.
+     *
+     * @return The MouseAdapter.
+     */
+    public final MouseAdapter getMouseAdapter()
+    {
+        if (this.mouseAdapter == null) {
+            this.mouseAdapter = this.createMouseAdapter();
+        }
+
+        return this.mouseAdapter;
+    }
+
+    /**
+     * Create the MouseAdapter that passes mouse events within this Shape
+     * on to the mouse callbacks.
+     *
+     * @return The MouseAdapter.
+     */
+    MouseAdapter createMouseAdapter()
+    {
+        return new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
                 if (getParentScene().isCursorVisible()) {
-                    Vector mouseLocation = new Vector(e.getX(), e.getY());
+                    Vector mouseLocation = toLocalSpace(new Vector(e.getX(), e.getY()));
                     if (containsVector(mouseLocation) && isVisible()) {
                         Shape.this.mouseClicked(e.getButton(), mouseLocation);
                     }
@@ -81,7 +129,7 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
             @Override
             public void mousePressed(MouseEvent e) {
                 if (getParentScene().isCursorVisible()) {
-                    Vector mouseLocation = new Vector(e.getX(), e.getY());
+                    Vector mouseLocation = toLocalSpace(new Vector(e.getX(), e.getY()));
                     if (containsVector(mouseLocation) && isVisible()) {
                         Shape.this.mousePressed(e.getButton(), mouseLocation);
                     }
@@ -91,7 +139,7 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
             @Override
             public void mouseReleased(MouseEvent e) {
                 if (getParentScene().isCursorVisible()) {
-                    Vector mouseLocation = new Vector(e.getX(), e.getY());
+                    Vector mouseLocation = toLocalSpace(new Vector(e.getX(), e.getY()));
                     if (containsVector(mouseLocation) && isVisible()) {
                         Shape.this.mouseReleased(e.getButton(), mouseLocation);
                     }
@@ -101,13 +149,106 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
     }
 
     /**
-     * Retrieve the MouseAdapter associated with this Shape.
+     * Check if this Shape listens for mouse events and tracks the cursor.
      *
-     * @return The MouseAdapter.
+     * <p>
+     * By default this is true only if the Shape overrides one of the mouse
+     * callbacks. Shapes that don't are not registered as mouse listeners and
+     * skip cursor tracking on each update.
+     * </p>
+     *
+     * @return True if mouse events are enabled.
      */
-    public MouseAdapter getMouseAdapter()
+    public final boolean isMouseEnabled()
     {
-        return this.mouseAdapter;
+        if (this.mouseEnabled == null) {
+            this.mouseEnabled = Shape.overridesMouseCallbacks(this.getClass());
+        }
+
+        return this.mouseEnabled;
+    }
+
+    /**
+     * Enable or disable mouse events and cursor tracking for this Shape.
+     * If the Shape has already been added to a DrawableGroup or spawned,
+     * it's MouseAdapter is registered with or removed from the parent Scene
+     * straight away.
+     *
+     * @param enabled True to enable mouse events.
+     */
+    public final void setMouseEnabled(boolean enabled)
+    {
+        this.mouseEnabled = enabled;
+        this.updateMouseListener();
+    }
+
+    /**
+     * Called by a DrawableGroup or EntityController when this Shape is
+     * added to it, registering the MouseAdapter if mouse events are enabled.
+     */
+    public final void notifyAttached()
+    {
+        this.attachments++;
+        this.updateMouseListener();
+    }
+
+    /**
+     * Called by a DrawableGroup or EntityController when this Shape is
+     * removed from it, removing the MouseAdapter once the Shape is no longer
+     * added anywhere.
+     */
+    public final void notifyDetached()
+    {
+        if (this.attachments > 0) {
+            this.attachments--;
+        }
+
+        this.updateMouseListener();
+    }
+
+    /**
+     * Register or remove the MouseAdapter so that it is registered with the
+     * parent Scene exactly when this Shape is added somewhere and mouse
+     * events are enabled. The adapter that was registered is the one
+     * removed.
+     */
+    private void updateMouseListener()
+    {
+        boolean listen = this.attachments > 0 && this.isMouseEnabled();
+
+        if (listen && this.registeredMouseAdapter == null) {
+            this.registeredMouseAdapter = this.getMouseAdapter();
+            this.getParentScene().addMouseListener(this.registeredMouseAdapter);
+        } else if (! listen && this.registeredMouseAdapter != null) {
+            this.getParentScene().removeMouseListener(this.registeredMouseAdapter);
+            this.registeredMouseAdapter = null;
+        }
+    }
+
+    /**
+     * Check if a Shape class overrides any of the mouse callbacks.
+     *
+     * @param type The Shape class.
+     * @return True if any mouse callback is overridden.
+     */
+    private static boolean overridesMouseCallbacks(Class<?> type)
+    {
+        return Shape.mouseAwareTypes.computeIfAbsent(type, (shapeType) -> {
+            for (Class<?> next = shapeType; next != null && next != Shape.class; next = next.getSuperclass()) {
+                for (Method method : next.getDeclaredMethods()) {
+                    switch (method.getName()) {
+                        case "mouseClicked":
+                        case "mousePressed":
+                        case "mouseReleased":
+                        case "mouseEntered":
+                        case "mouseLeft":
+                            return true;
+                    }
+                }
+            }
+
+            return false;
+        });
     }
 
     /**
@@ -136,7 +277,11 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
     protected void notifyUpdate()
     {
         super.notifyUpdate();
-        this.updateCursorOver();
+
+        if (this.isMouseEnabled()) {
+            this.updateCursorOver();
+        }
+
         this.updateConstraints();
     }
 
@@ -164,7 +309,13 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
      */
     public final void move(Vector distance)
     {
+        if (distance.getX() == 0 && distance.getY() == 0) {
+            return;
+        }
+
+        this.invalidate();
         this.position = this.position.plus(distance);
+        this.invalidate();
     }
 
     /**
@@ -186,7 +337,12 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
      */
     private void updateCursorOver()
     {
-        if (this.containsVector(this.getParentEngine().getCursorLocation())) {
+        Vector cursorLocation = this.getParentEngine().getCursorLocation();
+        if (this.getParentScene() != null) {
+            cursorLocation = this.getParentScene().toRenderSpace(cursorLocation);
+        }
+
+        if (this.containsVector(this.toLocalSpace(cursorLocation))) {
             if (! this.isCursorOver) {
                 this.isCursorOver = true;
                 this.mouseEntered();
@@ -199,6 +355,23 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
         }
     }
 
+    /**
+     * Convert a location on the screen into the coordinates this Shape is
+     * positioned in, going through the Camera unless this Shape is in
+     * screen space.
+     *
+     * @param screenLocation The location on the screen.
+     * @return The location in the coordinates of this Shape.
+     */
+    private Vector toLocalSpace(Vector screenLocation)
+    {
+        if (this.getParentScene() == null || this.isScreenSpace()) {
+            return screenLocation;
+        }
+
+        return this.getParentScene().getCamera().screenToWorld(screenLocation);
+    }
+
     /**
      * Check if a Vector is within this Shape.
      * @param vector The Vector to use.
@@ -230,7 +403,9 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
      */
     public final void setPosition(Vector position)
     {
+        this.invalidate();
         this.position = position;
+        this.invalidate();
     }
 
     /**
@@ -250,7 +425,9 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
      */
     public final void setSize(Dimensions size)
     {
+        this.invalidate();
         this.size = size;
+        this.invalidate();
     }
 
     /**
@@ -265,6 +442,29 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
         this.constraintMax = max;
     }
 
+    /**
+     * Retrieve the area that this Shape renders into. By default this is the
+     * position and size of the Shape, Shapes that draw outside of that should
+     * override this.
+     *
+     * @param bounds The Rectangle to store the bounds in.
+     * @return True if the bounds are known.
+     */
+    @Override
+    public boolean getRenderBounds(Rectangle bounds)
+    {
+        if (this.position == null || this.size == null) {
+            return false;
+        }
+
+        bounds.setBounds(
+            this.position.getX(), this.position.getY(),
+            this.size.getWidth(), this.size.getHeight()
+        );
+
+        return true;
+    }
+
     /**
      * Called when the mouse clicks this Shape.
      *
@@ -328,7 +528,7 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
     ) {
         return new Shape<ParentEngine>(-1, type.cast(engine), null){
             {
-                this.setSize(new Dimensions(engine.getWindowSize().getWidth() + buffer, engine.getWindowSize().getHeight() + buffer));
+                this.setSize(new Dimensions(engine.getSceneSize().getWidth() + buffer, engine.getSceneSize().getHeight() + buffer));
                 this.setPosition(Vector.Zero().plusX(-buffer).plusY(-buffer));
             }
         };
@@ -345,6 +545,19 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
      */
     private void constrain(Vector min, Vector max)
     {
+        // The position is modified in place, so the area it
+        // leaves has to be marked before it changes.
+        boolean outside = (
+            this.position.getX() < min.getX() - min.getXBuffer() ||
+            this.position.getY() < min.getY() - min.getYBuffer() ||
+            this.position.getX() > max.getX() - max.getXBuffer() ||
+            this.position.getY() > max.getY() - max.getYBuffer()
+        );
+
+        if (outside) {
+            this.invalidate();
+        }
+
         if (this.position.getX() < min.getX() - min.getXBuffer()) {
             this.position.setX(min.getX() - min.getXBuffer());
             this.onConstrained(AxisEventType.LeftX);
@@ -364,5 +577,9 @@ public abstract class Shape<ParentEngine extends Engine> extends Drawable<Parent
             this.position.setY(max.getY() - max.getYBuffer());
             this.onConstrained(AxisEventType.BottomY);
         }
+
+        if (outside) {
+            this.invalidate();
+        }
     }
 }
@@ -1,15 +1,19 @@
 package jtwod.engine.drawable;
 
 import jtwod.engine.Engine;
+import jtwod.engine.RenderState;
+import jtwod.engine.graphics.GlyphCache;
 import jtwod.engine.Scene;
 import jtwod.engine.metrics.Dimensions;
 import jtwod.engine.metrics.Vector;
 
 import java.awt.Font;
 import java.awt.Color;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.awt.event.MouseAdapter;
-import java.awt.geom.Rectangle2D;
+import java.util.Objects;
 
 /**
  * Text that can be rendered out as a Drawable.
@@ -44,15 +48,69 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
     private Vector parentStart;
 
     /**
-     * The Dimensions of this Text objects parent container.
+     * The Dimensions of this Text objects parent container, or null to use
+     * the size the parent Scene is rendered at.
      */
     private Dimensions parentDimensions;
 
     /**
      * The clickable Shape to attach to this Text Object.
+     * Only created if this Text object listens for mouse events.
      */
     private Shape<ParentEngine> clickableShape;
 
+    /**
+     * If set to true, the text is drawn from a cache of pre-rendered glyphs.
+     */
+    private boolean glyphCacheEnabled = false;
+
+    /**
+     * The glyph cache for the current font and color, or null until needed.
+     */
+    private GlyphCache glyphCache;
+
+    /**
+     * The text composed from the glyph cache, drawn with a single blit
+     * until the text changes.
+     */
+    private final GlyphCache.Line glyphLine = new GlyphCache.Line();
+
+    /**
+     * If set to false, the layout is computed again before it is next used.
+     */
+    private boolean layoutValid = false;
+
+    /**
+     * The position the layout was computed for. The values are kept rather
+     * than the Vector, since a Vector can be moved in place.
+     */
+    private int layoutX, layoutY;
+
+    /**
+     * The parent start position the layout was computed for.
+     */
+    private int layoutStartX, layoutStartY;
+
+    /**
+     * The size of the parent container the layout was computed for.
+     */
+    private int layoutParentWidth, layoutParentHeight;
+
+    /**
+     * The position of the start of the text and it's baseline.
+     */
+    private int textX, textY;
+
+    /**
+     * The width of the text, and the ascent and height of the font.
+     */
+    private int textWidth, textAscent, textHeight;
+
+    /**
+     * The baseline used to place the clickable Shape.
+     */
+    private int hitboxY;
+
     /**
      * Create the new Text object and default to Center.Parent.
      *
@@ -70,9 +128,7 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
         this.color = color;
         this.center = Center.Parent;
         this.parentStart = Vector.Zero();
-        this.parentDimensions = this.getParentEngine().getWindowSize();
 
-        this.initializeClickableShape();
     }
 
     /**
@@ -94,9 +150,7 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
         this.setPosition(position);
 
         this.parentStart = Vector.Zero();
-        this.parentDimensions = this.getParentEngine().getWindowSize();
 
-        this.initializeClickableShape();
     }
 
     /**
@@ -119,9 +173,7 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
         this.setPosition(position);
 
         this.parentStart = Vector.Zero();
-        this.parentDimensions = this.getParentEngine().getWindowSize();
 
-        this.initializeClickableShape();
     }
 
     /**
@@ -145,7 +197,6 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
         this.parentStart = parentStart;
         this.parentDimensions = parentDimensions;
 
-        this.initializeClickableShape();
     }
 
     /**
@@ -172,7 +223,21 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
         this.parentDimensions = parentDimensions;
         this.setPosition(position);
 
-        this.initializeClickableShape();
+    }
+
+    /**
+     * Retrieve the Clickable hitbox for this Text Object, initializing it if
+     * needed.
+     *
+     * @return The clickable Shape.
+     */
+    private Shape<ParentEngine> getClickableShape()
+    {
+        if (this.clickableShape == null) {
+            this.initializeClickableShape();
+        }
+
+        return this.clickableShape;
     }
 
     /**
@@ -209,7 +274,16 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
             protected void mouseLeft() {
                 Text.this.mouseLeft();
             }
+
+            @Override
+            public boolean isScreenSpace() {
+                return Text.this.isScreenSpace();
+            }
         };
+
+        if (this.layoutValid) {
+            this.updateClickableShape();
+        }
     }
 
     /**
@@ -219,7 +293,10 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
     public final void update()
     {
         super.update();
-        clickableShape.notifyUpdate();
+
+        if (this.isMouseEnabled()) {
+            this.getClickableShape().notifyUpdate();
+        }
     }
 
     /**
@@ -232,160 +309,269 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
     public final void render(Graphics graphics, Scene<ParentEngine> scene)
     {
         super.render(graphics, scene);
+
+        if (this.glyphCacheEnabled) {
+            this.drawText(graphics, scene);
+            return;
+        }
+
         Font resetFont = graphics.getFont();
         Color resetColor = graphics.getColor();
 
+        this.drawText(graphics, scene);
+
+        graphics.setFont(resetFont);
+        graphics.setColor(resetColor);
+    }
+
+    /**
+     * Describe the glyph cache, or the font and color, this Text object
+     * draws with, so that it can be batched with other Text using the same
+     * ones.
+     *
+     * @param state The RenderState to fill in.
+     * @return True, the state is always known.
+     */
+    @Override
+    protected final boolean describeRenderState(RenderState state)
+    {
+        if (this.glyphCacheEnabled) {
+            state.setTexture(this.getGlyphCache().getImage());
+        } else {
+            state.setFont(this.font);
+            state.setColor(this.color);
+        }
+        return true;
+    }
+
+    /**
+     * Render the text out to the scene with the font and color already set.
+     *
+     * @param graphics The Graphics object to use.
+     * @param scene The scene to draw the Graphics out to.
+     */
+    @Override
+    protected final void renderBatched(Graphics graphics, Scene<ParentEngine> scene)
+    {
+        this.drawText(graphics, scene);
+    }
+
+    /**
+     * Draw the text, using the glyph cache if it is enabled and otherwise
+     * the Renderer of the scene.
+     *
+     * @param graphics The Graphics object to use.
+     * @param scene The scene to draw the Graphics out to.
+     */
+    private void drawText(Graphics graphics, Scene<ParentEngine> scene)
+    {
+        if (! this.updateLayout()) {
+            return;
+        }
+
+        if (this.glyphCacheEnabled) {
+            this.getGlyphCache().drawLine(
+                graphics, this.glyphLine, this.text, this.textX, this.textY
+            );
+        } else {
+            scene.getRenderer(graphics).drawText(
+                this.text, this.textX, this.textY, this.font, this.color
+            );
+        }
+    }
+
+    /**
+     * Compute where the text is drawn if the layout is out of date, and move
+     * the clickable Shape to cover it.
+     *
+     * @return False if there is nothing to lay out yet.
+     */
+    private boolean updateLayout()
+    {
+        if (
+            this.getParentScene() == null ||
+            this.text == null ||
+            this.font == null ||
+            this.center == null ||
+            this.parentStart == null
+        ) {
+            return false;
+        }
+
+        int parentWidth = this.getParentWidth();
+        int parentHeight = this.getParentHeight();
+
+        if (
+            this.layoutValid &&
+            this.layoutX == this.getPosition().getX() &&
+            this.layoutY == this.getPosition().getY() &&
+            this.layoutStartX == this.parentStart.getX() &&
+            this.layoutStartY == this.parentStart.getY() &&
+            this.layoutParentWidth == parentWidth &&
+            this.layoutParentHeight == parentHeight
+        ) {
+            return true;
+        }
+
+        FontMetrics metrics = this.glyphCacheEnabled
+            ? this.getGlyphCache().getFontMetrics()
+            : this.getParentScene().getFontMetrics(this.font);
 
-        graphics.setFont(this.font);
-        graphics.setColor(this.color);
+        this.textWidth = this.glyphCacheEnabled
+            ? this.getGlyphCache().stringWidth(this.text)
+            : metrics.stringWidth(this.text);
+        this.textAscent = metrics.getAscent();
+        this.textHeight = metrics.getHeight();
 
         switch (this.center) {
             case Horizontally:
-                graphics.drawChars(
-                    this.text.toCharArray(),
-                    0,
-                    this.text.length(),
-                    (
-                        this.parentDimensions.getWidth() / 2
-                    ) - (
-                        graphics.getFontMetrics().stringWidth(text) / 2
-                    ) + parentStart.getX(),
-                    this.getPosition().getY()
-                );
-
-                // Update clickable shape.
-                this.clickableShape.setPosition(
-                    new Vector(
-                        (
-                            this.parentDimensions.getWidth() / 2
-                        ) - (
-                            graphics.getFontMetrics().stringWidth(text) / 2
-                        ) + parentStart.getX(),
-
-                        this.getPosition().getY()
-                    ).plus(
-                        0,
-                        -(graphics.getFontMetrics().getHeight() / 2)
-                    )
-                );
-                this.clickableShape.setSize(
-                    new Dimensions(
-                        graphics.getFontMetrics().stringWidth(text),
-                        graphics.getFontMetrics().getHeight() / 2
-                    )
-                );
+                this.textX = (
+                    parentWidth / 2
+                ) - (
+                    this.textWidth / 2
+                ) + this.parentStart.getX();
+                this.textY = this.getPosition().getY();
+                this.hitboxY = this.textY;
                 break;
             case Vertically:
-                graphics.drawChars(
-                    this.text.toCharArray(),
-                    0,
-                    this.text.length(),
-                    this.getPosition().getX(),
+                this.textX = this.getPosition().getX();
+                this.textY = (
+                    parentHeight / 2
+                ) - (
+                    this.textHeight / 2
+                ) + this.parentStart.getY() + (this.textHeight / 2);
+                this.hitboxY = (
                     (
-                        this.parentDimensions.getHeight() / 2
-                    ) - (
-                        graphics.getFontMetrics().getHeight() / 2
-                    ) + parentStart.getY() + (graphics.getFontMetrics().getHeight() / 2)
-                );
-
-                // Update clickable shape.
-                this.clickableShape.setPosition(
-                    new Vector(
-                        this.getPosition().getX(),
-                        (
-                            (
-                                this.parentDimensions.getHeight()
-                                - graphics.getFontMetrics().getHeight()
-                            ) / 2
-                        ) + graphics.getFontMetrics().getAscent() + this.parentStart.getY()
-                    ).plus(
-                        0,
-                        -(graphics.getFontMetrics().getHeight() / 2)
-                    )
-                );
-                this.clickableShape.setSize(
-                    new Dimensions(
-                        graphics.getFontMetrics().stringWidth(text),
-                        graphics.getFontMetrics().getHeight() / 2
-                    )
-                );
+                        parentHeight
+                        - this.textHeight
+                    ) / 2
+                ) + this.textAscent + this.parentStart.getY();
                 break;
             case Parent:
-                Rectangle2D textBounds = graphics.getFontMetrics().getStringBounds(text, graphics);
-
-                graphics.drawChars(
-                    this.text.toCharArray(),
-                    0,
-                    this.text.length(),
+                this.textX = (
+                    parentWidth / 2
+                ) - (
+                    this.textWidth / 2
+                ) + this.parentStart.getX();
+                this.textY = (
                     (
-                        this.parentDimensions.getWidth() / 2
-                    ) - (
-                        (int)textBounds.getWidth() / 2
-                    ) + this.parentStart.getX(),
-                    (
-                        (
-                            this.parentDimensions.getHeight()
-                          - graphics.getFontMetrics().getHeight()
-                        ) / 2
-                    ) + graphics.getFontMetrics().getAscent() + this.parentStart.getY()
-                );
-
-                // Update clickable shape.
-                this.clickableShape.setPosition(
-                    new Vector(
-                        (
-                            this.parentDimensions.getWidth() / 2
-                        ) - (
-                            (int)textBounds.getWidth() / 2
-                        ) + this.parentStart.getX(),
-                        (
-                            (
-                                this.parentDimensions.getHeight()
-                                - graphics.getFontMetrics().getHeight()
-                            ) / 2
-                        ) + graphics.getFontMetrics().getAscent() + this.parentStart.getY()
-                    ).plus(
-                        0,
-                        -(graphics.getFontMetrics().getHeight() / 2)
-                    )
-                );
-                this.clickableShape.setSize(
-                    new Dimensions(
-                        graphics.getFontMetrics().stringWidth(text),
-                        graphics.getFontMetrics().getHeight() / 2
-                    )
-                );
+                        parentHeight
+                      - this.textHeight
+                    ) / 2
+                ) + this.textAscent + this.parentStart.getY();
+                this.hitboxY = this.textY;
                 break;
-            case None:
-                graphics.drawChars(
-                    this.text.toCharArray(),
-                    0,
-                    this.text.length(),
-                    this.getPosition().getX(),
-                    this.getPosition().getY()
-                );
-
-                // Update clickable shape.
-                this.clickableShape.setPosition(
-                    new Vector(
-                        this.getPosition().getX(),
-                        this.getPosition().getY()
-                    ).plus(
-                        0,
-                        -(graphics.getFontMetrics().getHeight() / 2)
-                    )
-                );
-                this.clickableShape.setSize(
-                    new Dimensions(
-                        graphics.getFontMetrics().stringWidth(text),
-                        graphics.getFontMetrics().getHeight() / 2
-                    )
-                );
+            default:
+                this.textX = this.getPosition().getX();
+                this.textY = this.getPosition().getY();
+                this.hitboxY = this.textY;
                 break;
         }
 
-        graphics.setFont(resetFont);
-        graphics.setColor(resetColor);
+        this.layoutX = this.getPosition().getX();
+        this.layoutY = this.getPosition().getY();
+        this.layoutStartX = this.parentStart.getX();
+        this.layoutStartY = this.parentStart.getY();
+        this.layoutParentWidth = parentWidth;
+        this.layoutParentHeight = parentHeight;
+        this.layoutValid = true;
+
+        if (this.clickableShape != null) {
+            this.updateClickableShape();
+        }
+
+        return true;
+    }
+
+    /**
+     * Move the clickable Shape to cover the text.
+     */
+    private void updateClickableShape()
+    {
+        this.clickableShape.setPosition(
+            new Vector(this.textX, this.hitboxY - (this.textHeight / 2))
+        );
+        this.clickableShape.setSize(
+            new Dimensions(this.textWidth, this.textHeight / 2)
+        );
+    }
+
+    /**
+     * Retrieve the GlyphCache for the font and color of this Text object.
+     *
+     * @return The GlyphCache.
+     */
+    private GlyphCache getGlyphCache()
+    {
+        if (this.glyphCache == null) {
+            this.glyphCache = GlyphCache.get(this.font, this.color);
+        }
+
+        return this.glyphCache;
+    }
+
+    /**
+     * Enable or disable drawing this Text object from a cache of
+     * pre-rendered glyphs. The text is composed from the cached glyphs when
+     * it changes and is otherwise drawn with a single image blit, but
+     * kerning is not applied. Disabled by default, since most Java2D
+     * pipelines already cache glyphs and draw short text faster without it.
+     *
+     * @param enabled True to draw from the glyph cache.
+     */
+    public final void setGlyphCacheEnabled(boolean enabled)
+    {
+        this.invalidate();
+        this.glyphCacheEnabled = enabled;
+        this.layoutValid = false;
+        this.invalidate();
+    }
+
+    /**
+     * Check if this Text object is drawn from a cache of pre-rendered
+     * glyphs.
+     *
+     * @return True if the glyph cache is used.
+     */
+    public final boolean isGlyphCacheEnabled()
+    {
+        return this.glyphCacheEnabled;
+    }
+
+    /**
+     * Retrieve the area that this Text object renders into.
+     *
+     * @param bounds The Rectangle to store the bounds in.
+     * @return True if the bounds are known.
+     */
+    @Override
+    public final boolean getRenderBounds(Rectangle bounds)
+    {
+        if (
+            this.getParentScene() == null ||
+            this.text == null ||
+            this.font == null ||
+            this.center == null
+        ) {
+            return false;
+        }
+
+        if (this.parentStart == null) {
+            // Still being constructed, nothing will render yet.
+            bounds.setBounds(0, 0, 0, 0);
+            return true;
+        }
+
+        this.updateLayout();
+
+        // Pad for anti-aliasing and glyphs that overhang their advance.
+        bounds.setBounds(
+            this.textX, this.textY - this.textAscent,
+            this.textWidth, this.textHeight
+        );
+        bounds.grow(2, 2);
+
+        return true;
     }
 
     /**
@@ -405,7 +591,14 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
      */
     public final void setText(String text)
     {
+        if (Objects.equals(this.text, text)) {
+            return;
+        }
+
+        this.invalidate();
         this.text = text;
+        this.layoutValid = false;
+        this.invalidate();
     }
 
     /**
@@ -425,7 +618,11 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
      */
     public final void setFont(Font font)
     {
+        this.invalidate();
         this.font = font;
+        this.glyphCache = null;
+        this.layoutValid = false;
+        this.invalidate();
     }
 
     /**
@@ -446,6 +643,8 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
     public final void setColor(Color color)
     {
         this.color = color;
+        this.glyphCache = null;
+        this.invalidate();
     }
 
     /**
@@ -466,7 +665,9 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
      */
     public final void setPosition(Center center, Vector position)
     {
+        this.invalidate();
         this.center = center;
+        this.layoutValid = false;
         this.setPosition(position);
     }
 
@@ -477,30 +678,75 @@ public class Text<ParentEngine extends Engine> extends Shape<ParentEngine>
      */
     public final void setParentStartPosition(Vector vector)
     {
+        this.invalidate();
         this.parentStart = vector;
+        this.layoutValid = false;
+        this.invalidate();
+    }
+
+    /**
+     * Retrieve the width of the parent container this Text object is
+     * centered in.
+     *
+     * @return The width that was set, or the width the parent Scene is
+     *         rendered at.
+     */
+    private int getParentWidth()
+    {
+        return (this.parentDimensions != null)
+            ? this.parentDimensions.getWidth()
+            : this.getParentScene().getRenderWidth();
+    }
+
+    /**
+     * Retrieve the height of the parent container this Text object is
+     * centered in.
+     *
+     * @return The height that was set, or the height the parent Scene is
+     *         rendered at.
+     */
+    private int getParentHeight()
+    {
+        return (this.parentDimensions != null)
+            ? this.parentDimensions.getHeight()
+            : this.getParentScene().getRenderHeight();
     }
 
     /**
      * Update the parent dimensions for this Text Object.
      *
-     * @param dimensions The new dimensions.
+     * @param dimensions The new dimensions, or null to use the size the
+     *                   parent Scene is rendered at.
      */
     public final void setParentDimensions(Dimensions dimensions)
     {
+        this.invalidate();
         this.parentDimensions = dimensions;
+        this.layoutValid = false;
+        this.invalidate();
     }
 
-    /**f
-     * Override the getMouseAdapter function for this object
-     * to return the MouseAdapter associated with the
-     * clickable Shape.
+    /**
+     * Use the MouseAdapter associated with the clickable Shape
+     * as the MouseAdapter of this Text object.
      *
      * @return The MouseAdapter associated with this
      *         Text object.
      */
     @Override
-    public final MouseAdapter getMouseAdapter()
+    final MouseAdapter createMouseAdapter()
+    {
+        return this.getClickableShape().getMouseAdapter();
+    }
+
+    /**
+     * Text is drawn through the Renderer unless the glyph cache is enabled.
+     *
+     * @return True if the glyph cache is disabled.
+     */
+    @Override
+    protected final boolean drawsThroughRenderer()
     {
-        return clickableShape.getMouseAdapter();
+        return ! this.glyphCacheEnabled;
     }
 }
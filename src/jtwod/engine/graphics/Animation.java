@@ -0,0 +1,240 @@
+package jtwod.engine.graphics;
+
+import java.util.Arrays;
+
+/**
+ * A clip of Textures shown one after another, such as the frames of a walk
+ * cycle on a SpriteSheet.
+ *
+ * An Animation holds no playback state. The frame to show is looked up
+ * from how long the Animation has been playing, so a single Animation can
+ * be shared by any number of Images, each keeping only the time it started.
+ * Looking up a frame does not allocate.
+ *
+ * @see SpriteSheet#getAnimation(int, int, int, long, Animation.Clock, boolean)
+ * @see jtwod.engine.drawable.Image#playAnimation(Animation)
+ */
+public final class Animation
+{
+    /**
+     * What the durations of an Animation are measured in.
+     */
+    public enum Clock
+    {
+        /**
+         * Updates of the Scene. The Animation speeds up and slows down with
+         * the tick rate and stops while the Image is not updated.
+         */
+        Ticks,
+
+        /**
+         * Milliseconds of real time, regardless of the tick rate.
+         */
+        Milliseconds
+    }
+
+    /**
+     * The Texture of each frame.
+     */
+    private final Texture[] frames;
+
+    /**
+     * The time at which each frame ends, counted from the start of the
+     * Animation, or null if every frame lasts <code>frameDuration</code>.
+     */
+    private final long[] frameEnds;
+
+    /**
+     * The duration of every frame, if they are all the same.
+     */
+    private final long frameDuration;
+
+    /**
+     * The duration of one pass through the frames.
+     */
+    private final long duration;
+
+    /**
+     * What the durations are measured in.
+     */
+    private final Clock clock;
+
+    /**
+     * If set to true, the Animation starts over after the last frame.
+     */
+    private final boolean loops;
+
+    /**
+     * Construct an Animation whose frames all last the same time.
+     *
+     * @param frames The Texture of each frame.
+     * @param frameDuration How long each frame is shown for.
+     * @param clock What the duration is measured in.
+     * @param loops True to start over after the last frame, false to stay
+     *              on it.
+     */
+    public Animation(Texture[] frames, long frameDuration, Clock clock, boolean loops)
+    {
+        if (frames.length == 0) {
+            throw new IllegalArgumentException("An Animation needs at least one frame.");
+        }
+
+        if (frameDuration < 1) {
+            throw new IllegalArgumentException("Frame duration must be at least one.");
+        }
+
+        this.frames = frames.clone();
+        this.frameEnds = null;
+        this.frameDuration = frameDuration;
+        this.duration = frameDuration * frames.length;
+        this.clock = clock;
+        this.loops = loops;
+    }
+
+    /**
+     * Construct an Animation whose frames each last their own time.
+     *
+     * @param frames The Texture of each frame.
+     * @param frameDurations How long each frame is shown for.
+     * @param clock What the durations are measured in.
+     * @param loops True to start over after the last frame, false to stay
+     *              on it.
+     */
+    public Animation(Texture[] frames, long[] frameDurations, Clock clock, boolean loops)
+    {
+        if (frames.length == 0) {
+            throw new IllegalArgumentException("An Animation needs at least one frame.");
+        }
+
+        if (frameDurations.length != frames.length) {
+            throw new IllegalArgumentException("Each frame needs a duration.");
+        }
+
+        this.frames = frames.clone();
+        this.frameEnds = new long[frames.length];
+
+        long end = 0;
+        for (int i = 0; i < frameDurations.length; i++) {
+            if (frameDurations[i] < 1) {
+                throw new IllegalArgumentException("Frame duration must be at least one.");
+            }
+
+            end += frameDurations[i];
+            this.frameEnds[i] = end;
+        }
+
+        this.frameDuration = 0;
+        this.duration = end;
+        this.clock = clock;
+        this.loops = loops;
+    }
+
+    /**
+     * Retrieve the index of the frame to show after the Animation has been
+     * playing for some time.
+     *
+     * @param elapsed The time since the Animation started, measured by the
+     *                Clock of the Animation.
+     * @return The index of the frame.
+     */
+    public final int getFrameIndexAt(long elapsed)
+    {
+        if (elapsed < 0) {
+            return 0;
+        }
+
+        if (elapsed >= this.duration) {
+            if (! this.loops) {
+                return this.frames.length - 1;
+            }
+
+            elapsed %= this.duration;
+        }
+
+        if (this.frameEnds == null) {
+            return (int) (elapsed / this.frameDuration);
+        }
+
+        // The first frame ending after the elapsed time.
+        int index = Arrays.binarySearch(this.frameEnds, elapsed);
+        return (index >= 0) ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Retrieve the Texture to show after the Animation has been playing for
+     * some time.
+     *
+     * @param elapsed The time since the Animation started, measured by the
+     *                Clock of the Animation.
+     * @return The Texture of the frame.
+     */
+    public final Texture getFrameAt(long elapsed)
+    {
+        return this.frames[this.getFrameIndexAt(elapsed)];
+    }
+
+    /**
+     * Check if an Animation that does not loop has shown it's last frame
+     * for it's full duration.
+     *
+     * @param elapsed The time since the Animation started, measured by the
+     *                Clock of the Animation.
+     * @return True if the Animation has finished. Looping Animations never
+     *         finish.
+     */
+    public final boolean isFinishedAt(long elapsed)
+    {
+        return ! this.loops && elapsed >= this.duration;
+    }
+
+    /**
+     * Retrieve the Texture of a frame.
+     *
+     * @param index The index of the frame.
+     * @return The Texture.
+     */
+    public final Texture getFrame(int index)
+    {
+        return this.frames[index];
+    }
+
+    /**
+     * Retrieve the number of frames.
+     *
+     * @return The number of frames.
+     */
+    public final int getFrameCount()
+    {
+        return this.frames.length;
+    }
+
+    /**
+     * Retrieve the duration of one pass through the frames.
+     *
+     * @return The duration, measured by the Clock of the Animation.
+     */
+    public final long getDuration()
+    {
+        return this.duration;
+    }
+
+    /**
+     * Retrieve what the durations of this Animation are measured in.
+     *
+     * @return The Clock.
+     */
+    public final Clock getClock()
+    {
+        return this.clock;
+    }
+
+    /**
+     * Check if this Animation starts over after the last frame.
+     *
+     * @return True if the Animation loops.
+     */
+    public final boolean isLooping()
+    {
+        return this.loops;
+    }
+}
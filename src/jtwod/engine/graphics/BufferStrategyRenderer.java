@@ -0,0 +1,228 @@
+package jtwod.engine.graphics;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.GraphicsConfiguration;
+import java.awt.Graphics2D;
+import java.awt.ImageCapabilities;
+import java.awt.Window;
+import java.awt.image.BufferStrategy;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * A Renderer that draws frames into the BufferStrategy of a Canvas and
+ * shows them on screen. This is what a Scene uses by default.
+ *
+ * When the display supports it, the BufferStrategy is created with page
+ * flipping, asking for flip contents that keep the most of the previous
+ * frames so that damaged regions can still be drawn alone. Otherwise the
+ * back buffer is copied to the screen, which is what the Canvas would have
+ * chosen by itself.
+ */
+public final class BufferStrategyRenderer extends Java2DRenderer
+{
+    /**
+     * The flip contents to ask for when page flipping, in order of
+     * preference.
+     */
+    private static final BufferCapabilities.FlipContents[] FLIP_CONTENTS = {
+        BufferCapabilities.FlipContents.COPIED,
+        BufferCapabilities.FlipContents.PRIOR,
+        BufferCapabilities.FlipContents.UNDEFINED,
+        BufferCapabilities.FlipContents.BACKGROUND
+    };
+
+    /**
+     * The Canvas to draw to.
+     */
+    private final Canvas canvas;
+
+    /**
+     * The number of buffers to create the BufferStrategy with.
+     */
+    private final int bufferCount;
+
+    /**
+     * The BufferStrategy of the frame being drawn.
+     */
+    private BufferStrategy bufferStrategy;
+
+    /**
+     * The Graphics created for the frame being drawn. The target may have
+     * been changed since, so this is what gets disposed.
+     */
+    private Graphics2D frameGraphics;
+
+    /**
+     * Construct the BufferStrategyRenderer.
+     *
+     * @param canvas The Canvas to draw to.
+     * @param bufferCount The number of buffers to use.
+     */
+    public BufferStrategyRenderer(Canvas canvas, int bufferCount)
+    {
+        this.canvas = canvas;
+        this.bufferCount = bufferCount;
+    }
+
+    /**
+     * Start drawing a frame into the next buffer. The first call creates the
+     * BufferStrategy and draws nothing.
+     *
+     * @param width The width of the frame.
+     * @param height The height of the frame.
+     * @return The Graphics of the buffer, or null.
+     */
+    @Override
+    public final Graphics2D beginFrame(int width, int height)
+    {
+        this.bufferStrategy = this.canvas.getBufferStrategy();
+        if (this.bufferStrategy == null) {
+            this.createBufferStrategy();
+            return null;
+        }
+
+        Graphics2D graphics = (Graphics2D) this.bufferStrategy.getDrawGraphics();
+        this.frameGraphics = graphics;
+        this.target(graphics);
+        return graphics;
+    }
+
+    /**
+     * Create the BufferStrategy of the Canvas, with page flipping if the
+     * display supports it.
+     */
+    private void createBufferStrategy()
+    {
+        GraphicsConfiguration configuration = this.canvas.getGraphicsConfiguration();
+        if (
+            configuration != null &&
+            configuration.getBufferCapabilities().isPageFlipping()
+        ) {
+            for (BufferCapabilities.FlipContents contents : FLIP_CONTENTS) {
+                try {
+                    this.canvas.createBufferStrategy(
+                        this.bufferCount,
+                        new BufferCapabilities(
+                            new ImageCapabilities(true),
+                            new ImageCapabilities(true),
+                            contents
+                        )
+                    );
+                    return;
+                } catch (AWTException e) {
+                    // Not supported, try the next.
+                }
+            }
+        }
+
+        this.canvas.createBufferStrategy(this.bufferCount);
+    }
+
+    /**
+     * Show the buffer that was drawn.
+     *
+     * @return False if the contents of the buffers were lost or restored.
+     */
+    @Override
+    public final boolean endFrame()
+    {
+        BufferStrategy bs = this.bufferStrategy;
+        this.frameGraphics.dispose();
+        this.frameGraphics = null;
+        this.target(null);
+
+        boolean intact = ! bs.contentsRestored();
+
+        try {
+            bs.show();
+        } catch (Exception e){}
+
+        return intact && ! bs.contentsLost();
+    }
+
+    /**
+     * Retrieve how many frames of damage have to be repainted, based on how
+     * the buffers are flipped.
+     *
+     * @return The number of frames.
+     */
+    @Override
+    public final int getDamageHistoryDepth()
+    {
+        BufferCapabilities capabilities = this.bufferStrategy.getCapabilities();
+        if (! capabilities.isPageFlipping()) {
+            // The back buffer is copied to the screen and kept.
+            return 1;
+        }
+
+        BufferCapabilities.FlipContents contents = capabilities.getFlipContents();
+        if (contents == BufferCapabilities.FlipContents.COPIED) {
+            return 1;
+        } else if (contents == BufferCapabilities.FlipContents.PRIOR) {
+            return this.bufferCount;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Check if frames are shown by page flipping.
+     *
+     * @return True if page flipping, false if the back buffer is copied to
+     *         the screen or the BufferStrategy has not been created yet.
+     */
+    public final boolean isPageFlipping()
+    {
+        BufferStrategy bs = this.canvas.getBufferStrategy();
+        return bs != null && bs.getCapabilities().isPageFlipping();
+    }
+
+    /**
+     * Describe how frames are shown, such as
+     * <code>Fullscreen exclusive, page flipping (3 buffers, contents
+     * copied), accelerated</code> or <code>Windowed, blit,
+     * accelerated</code>.
+     *
+     * @return The description.
+     */
+    @Override
+    public final String getPresentationPath()
+    {
+        BufferStrategy bs = this.canvas.getBufferStrategy();
+        if (bs == null) {
+            return "Not created yet";
+        }
+
+        StringBuilder path = new StringBuilder();
+
+        Window window = SwingUtilities.getWindowAncestor(this.canvas);
+        boolean isFullScreen = (
+            window != null &&
+            window.getGraphicsConfiguration() != null &&
+            window.getGraphicsConfiguration().getDevice().getFullScreenWindow() == window
+        );
+        path.append(isFullScreen ? "Fullscreen exclusive, " : "Windowed, ");
+
+        BufferCapabilities capabilities = bs.getCapabilities();
+        if (capabilities.isPageFlipping()) {
+            path.append("page flipping (")
+                .append(this.bufferCount)
+                .append(" buffers, contents ")
+                .append(capabilities.getFlipContents())
+                .append(")");
+        } else {
+            path.append("blit");
+        }
+
+        path.append(
+            capabilities.getBackBufferCapabilities().isAccelerated()
+                ? ", accelerated"
+                : ", unaccelerated"
+        );
+
+        return path.toString();
+    }
+}
@@ -0,0 +1,710 @@
+package jtwod.engine.graphics;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An opaque image whose pixels are written directly, used to render a frame
+ * in software and present it with a single blit.
+ *
+ * Textures are copied into the pixels with plain loops, which avoids the
+ * per call overhead of Graphics.drawImage when drawing many small sprites.
+ * Anything else can still be drawn with the Graphics of the FrameBuffer,
+ * since both write to the same pixels.
+ *
+ * When given a ForkJoinPool, blits and fills are recorded instead of
+ * written. On <code>flush</code> the frame is split into tiles, each tile
+ * gets the recorded draws that touch it, and the tiles are written in
+ * parallel. Draws keep their order within each tile, so the result is the
+ * same as writing them one at a time. Pending draws have to be flushed
+ * before anything else is drawn with the Graphics.
+ */
+public final class FrameBuffer
+{
+    /**
+     * The width and height of a tile, in pixels.
+     */
+    private static final int TILE_SIZE = 128;
+
+    /**
+     * The number of ints recorded for each draw.
+     */
+    private static final int DRAW_STRIDE = 8;
+
+    /**
+     * Writes the recorded draws for a range of tiles, splitting the range
+     * until each task has a single tile.
+     */
+    private final class TileTask extends RecursiveAction
+    {
+        /**
+         * The Serial Version UID for this Serializable Object.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The first tile, inclusive.
+         */
+        private final int from;
+
+        /**
+         * The last tile, exclusive.
+         */
+        private final int to;
+
+        /**
+         * Construct the TileTask.
+         *
+         * @param from The first tile, inclusive.
+         * @param to The last tile, exclusive.
+         */
+        private TileTask(int from, int to)
+        {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Write the tiles.
+         */
+        @Override
+        protected void compute()
+        {
+            if (this.to - this.from == 1) {
+                FrameBuffer.this.renderTile(this.from);
+            } else {
+                int middle = (this.from + this.to) >>> 1;
+                RecursiveAction.invokeAll(
+                    new TileTask(this.from, middle),
+                    new TileTask(middle, this.to)
+                );
+            }
+        }
+    }
+
+    /**
+     * The image holding the frame.
+     */
+    private BufferedImage image;
+
+    /**
+     * The pixels of the image, as RGB.
+     */
+    private int[] pixels;
+
+    /**
+     * The Graphics used to draw into the image.
+     */
+    private Graphics2D graphics;
+
+    /**
+     * The translation applied to the Graphics of the FrameBuffer.
+     */
+    private int translateX = 0, translateY = 0;
+
+    /**
+     * If set to false, the Graphics are transformed in a way that the
+     * FrameBuffer can't blit through, such as a scale.
+     */
+    private boolean canBlit = true;
+
+    /**
+     * Scratch bounds used to read the clip of the Graphics.
+     */
+    private final Rectangle clip = new Rectangle();
+
+    /**
+     * The pool that tiles are written on, or null to write draws
+     * immediately.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * The number of recorded draws.
+     */
+    private int drawCount = 0;
+
+    /**
+     * The pixels of the Texture for each recorded draw, or null for fills.
+     */
+    private int[][] drawSources = new int[64][];
+
+    /**
+     * For each recorded draw; the position of the Texture in the frame, the
+     * width of the Texture, it's transparency or the fill color, and the
+     * clipped area to write in the frame as left, top, right and bottom.
+     */
+    private int[] draws = new int[64 * DRAW_STRIDE];
+
+    /**
+     * The number of columns and rows of tiles.
+     */
+    private int tileColumns, tileRows;
+
+    /**
+     * The indices of the recorded draws touching each tile, in order.
+     */
+    private int[][] tileDraws;
+
+    /**
+     * The number of recorded draws touching each tile.
+     */
+    private int[] tileDrawCounts;
+
+    /**
+     * Construct the FrameBuffer.
+     *
+     * @param width The width of the frame.
+     * @param height The height of the frame.
+     */
+    public FrameBuffer(int width, int height)
+    {
+        this.allocate(width, height);
+    }
+
+    /**
+     * Change the size of the frame. The contents are lost if it changes.
+     *
+     * @param width The new width.
+     * @param height The new height.
+     * @return True if the size changed.
+     */
+    public final boolean resize(int width, int height)
+    {
+        if (width == this.getWidth() && height == this.getHeight()) {
+            return false;
+        }
+
+        this.discardDraws();
+        this.graphics.dispose();
+        this.allocate(width, height);
+        return true;
+    }
+
+    /**
+     * Update the pool that tiles are written on. Any pending draws are
+     * written first.
+     *
+     * @param pool The ForkJoinPool, or null to write draws immediately.
+     */
+    public final void setPool(ForkJoinPool pool)
+    {
+        if (pool != this.pool) {
+            this.flush();
+            this.pool = pool;
+        }
+    }
+
+    /**
+     * Retrieve the pool that tiles are written on.
+     *
+     * @return The ForkJoinPool, or null if draws are written immediately.
+     */
+    public final ForkJoinPool getPool()
+    {
+        return this.pool;
+    }
+
+    /**
+     * Check if there are recorded draws that have not been written yet.
+     *
+     * @return True if there are pending draws.
+     */
+    public final boolean hasPendingDraws()
+    {
+        return this.drawCount > 0;
+    }
+
+    /**
+     * Write all recorded draws into the frame, tile by tile in parallel,
+     * and wait for every tile to finish.
+     */
+    public final void flush()
+    {
+        int count = this.drawCount;
+        if (count == 0) {
+            return;
+        }
+
+        Arrays.fill(this.tileDrawCounts, 0);
+        for (int index = 0; index < count; index++) {
+            int offset = index * DRAW_STRIDE;
+            int firstColumn = this.draws[offset + 4] / TILE_SIZE;
+            int firstRow = this.draws[offset + 5] / TILE_SIZE;
+            int lastColumn = (this.draws[offset + 6] - 1) / TILE_SIZE;
+            int lastRow = (this.draws[offset + 7] - 1) / TILE_SIZE;
+
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int tile = row * this.tileColumns + column;
+                    int tileCount = this.tileDrawCounts[tile];
+                    if (tileCount == this.tileDraws[tile].length) {
+                        this.tileDraws[tile] = Arrays.copyOf(
+                            this.tileDraws[tile], Math.max(16, tileCount * 2)
+                        );
+                    }
+
+                    this.tileDraws[tile][tileCount] = index;
+                    this.tileDrawCounts[tile] = tileCount + 1;
+                }
+            }
+        }
+
+        if (this.pool != null) {
+            this.pool.invoke(new TileTask(0, this.tileColumns * this.tileRows));
+        } else {
+            for (int tile = 0; tile < this.tileColumns * this.tileRows; tile++) {
+                this.renderTile(tile);
+            }
+        }
+
+        this.discardDraws();
+    }
+
+    /**
+     * Retrieve the width of the frame.
+     *
+     * @return The width.
+     */
+    public final int getWidth()
+    {
+        return this.image.getWidth();
+    }
+
+    /**
+     * Retrieve the height of the frame.
+     *
+     * @return The height.
+     */
+    public final int getHeight()
+    {
+        return this.image.getHeight();
+    }
+
+    /**
+     * Retrieve the image holding the frame.
+     *
+     * @return The image.
+     */
+    public final BufferedImage getImage()
+    {
+        this.flush();
+        return this.image;
+    }
+
+    /**
+     * Retrieve the Graphics used to draw into the frame.
+     *
+     * @return The Graphics.
+     */
+    public final Graphics2D getGraphics()
+    {
+        return this.graphics;
+    }
+
+    /**
+     * Update the transform applied to the Graphics of the FrameBuffer, so
+     * that blits land in the same place as draws through the Graphics. Only
+     * whole pixel translations can be blit through; any other transform
+     * makes <code>canBlit</code> return false.
+     *
+     * @param transform The transform, or null for none.
+     */
+    public final void setTransform(AffineTransform transform)
+    {
+        if (transform == null || transform.isIdentity()) {
+            this.translateX = 0;
+            this.translateY = 0;
+            this.canBlit = true;
+        } else if (
+            transform.getType() == AffineTransform.TYPE_TRANSLATION &&
+            transform.getTranslateX() == Math.rint(transform.getTranslateX()) &&
+            transform.getTranslateY() == Math.rint(transform.getTranslateY())
+        ) {
+            this.translateX = (int) transform.getTranslateX();
+            this.translateY = (int) transform.getTranslateY();
+            this.canBlit = true;
+        } else {
+            this.canBlit = false;
+        }
+    }
+
+    /**
+     * Check if drawing to a Graphics object can be done by blitting into the
+     * FrameBuffer.
+     *
+     * @param graphics The Graphics being drawn to.
+     * @return True if the Graphics are those of the FrameBuffer and are not
+     *         scaled or rotated.
+     */
+    public final boolean canBlit(Graphics graphics)
+    {
+        return this.canBlit && graphics == this.graphics;
+    }
+
+    /**
+     * Fill the whole frame with a color.
+     *
+     * @param rgb The color as RGB.
+     */
+    public final void clear(int rgb)
+    {
+        this.discardDraws();
+        Arrays.fill(this.pixels, rgb);
+    }
+
+    /**
+     * Fill a rectangle with a color, blending it if it is translucent.
+     * Coordinates are in the space of the Graphics of the FrameBuffer, and
+     * the fill is clipped to their clip.
+     *
+     * @param x The left of the rectangle.
+     * @param y The top of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @param argb The color as ARGB.
+     */
+    public final void fill(int x, int y, int width, int height, int argb)
+    {
+        if (! this.clip(x, y, width, height)) {
+            return;
+        }
+
+        if (this.pool != null) {
+            this.record(null, 0, 0, 0, argb);
+        } else {
+            this.fillPixels(
+                argb,
+                this.clip.x, this.clip.y,
+                this.clip.x + this.clip.width, this.clip.y + this.clip.height
+            );
+        }
+    }
+
+    /**
+     * Copy a Texture into the frame. Opaque Textures are copied a row at a
+     * time, Textures with a bitmask skip their transparent pixels, and
+     * translucent Textures are blended. Coordinates are in the space of the
+     * Graphics of the FrameBuffer, and the blit is clipped to their clip.
+     *
+     * @param texture The Texture.
+     * @param x The left of the Texture.
+     * @param y The top of the Texture.
+     */
+    public final void blit(Texture texture, int x, int y)
+    {
+        int textureWidth = texture.getWidth();
+        if (! this.clip(x, y, textureWidth, texture.getHeight())) {
+            return;
+        }
+
+        int[] source = texture.getPixels();
+        int transparency = texture.getPixelTransparency();
+        int left = x + this.translateX;
+        int top = y + this.translateY;
+
+        if (this.pool != null) {
+            this.record(source, left, top, textureWidth, transparency);
+        } else {
+            this.blitPixels(
+                source, left, top, textureWidth, transparency,
+                this.clip.x, this.clip.y,
+                this.clip.x + this.clip.width, this.clip.y + this.clip.height
+            );
+        }
+    }
+
+    /**
+     * Copy the pixels of the frame, row by row.
+     *
+     * @param destination The array to copy into, at least as long as the
+     *                    width times the height of the frame.
+     */
+    public final void copyPixels(int[] destination)
+    {
+        this.flush();
+        System.arraycopy(this.pixels, 0, destination, 0, this.getWidth() * this.getHeight());
+    }
+
+    /**
+     * Draw the frame.
+     *
+     * @param destination The Graphics to draw the frame to.
+     */
+    public final void present(Graphics destination)
+    {
+        this.flush();
+        destination.drawImage(this.image, 0, 0, null);
+    }
+
+    /**
+     * Record a draw into the area left in <code>clip</code>.
+     *
+     * @param source The pixels of the Texture, or null for a fill.
+     * @param x The left of the Texture in the frame.
+     * @param y The top of the Texture in the frame.
+     * @param sourceWidth The width of the Texture.
+     * @param value The transparency of the Texture, or the fill color.
+     */
+    private void record(int[] source, int x, int y, int sourceWidth, int value)
+    {
+        if (this.drawCount == this.drawSources.length) {
+            this.drawSources = Arrays.copyOf(this.drawSources, this.drawCount * 2);
+            this.draws = Arrays.copyOf(this.draws, this.drawCount * 2 * DRAW_STRIDE);
+        }
+
+        int offset = this.drawCount * DRAW_STRIDE;
+        this.drawSources[this.drawCount] = source;
+        this.draws[offset] = x;
+        this.draws[offset + 1] = y;
+        this.draws[offset + 2] = sourceWidth;
+        this.draws[offset + 3] = value;
+        this.draws[offset + 4] = this.clip.x;
+        this.draws[offset + 5] = this.clip.y;
+        this.draws[offset + 6] = this.clip.x + this.clip.width;
+        this.draws[offset + 7] = this.clip.y + this.clip.height;
+        this.drawCount++;
+    }
+
+    /**
+     * Drop the recorded draws without writing them.
+     */
+    private void discardDraws()
+    {
+        Arrays.fill(this.drawSources, 0, this.drawCount, null);
+        this.drawCount = 0;
+    }
+
+    /**
+     * Write the recorded draws touching a tile, clipped to the tile.
+     *
+     * @param tile The index of the tile.
+     */
+    private void renderTile(int tile)
+    {
+        int tileLeft = (tile % this.tileColumns) * TILE_SIZE;
+        int tileTop = (tile / this.tileColumns) * TILE_SIZE;
+        int tileRight = Math.min(tileLeft + TILE_SIZE, this.getWidth());
+        int tileBottom = Math.min(tileTop + TILE_SIZE, this.getHeight());
+
+        int[] indices = this.tileDraws[tile];
+        for (int i = 0; i < this.tileDrawCounts[tile]; i++) {
+            int index = indices[i];
+            int offset = index * DRAW_STRIDE;
+
+            int left = Math.max(this.draws[offset + 4], tileLeft);
+            int top = Math.max(this.draws[offset + 5], tileTop);
+            int right = Math.min(this.draws[offset + 6], tileRight);
+            int bottom = Math.min(this.draws[offset + 7], tileBottom);
+
+            int[] source = this.drawSources[index];
+            if (source == null) {
+                this.fillPixels(this.draws[offset + 3], left, top, right, bottom);
+            } else {
+                this.blitPixels(
+                    source,
+                    this.draws[offset], this.draws[offset + 1],
+                    this.draws[offset + 2], this.draws[offset + 3],
+                    left, top, right, bottom
+                );
+            }
+        }
+    }
+
+    /**
+     * Fill an area of the frame with a color, blending it if it is
+     * translucent.
+     *
+     * @param argb The color as ARGB.
+     * @param left The left of the area.
+     * @param top The top of the area.
+     * @param right The right of the area, exclusive.
+     * @param bottom The bottom of the area, exclusive.
+     */
+    private void fillPixels(int argb, int left, int top, int right, int bottom)
+    {
+        int alpha = argb >>> 24;
+        int frameWidth = this.getWidth();
+
+        for (int row = top; row < bottom; row++) {
+            int offset = row * frameWidth;
+            if (alpha == 0xFF) {
+                Arrays.fill(this.pixels, offset + left, offset + right, argb);
+            } else if (alpha != 0) {
+                for (int column = left; column < right; column++) {
+                    this.pixels[offset + column] = blend(argb, alpha, this.pixels[offset + column]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy the part of a Texture that falls in an area of the frame.
+     *
+     * @param source The pixels of the Texture.
+     * @param x The left of the Texture in the frame.
+     * @param y The top of the Texture in the frame.
+     * @param sourceWidth The width of the Texture.
+     * @param transparency The transparency of the Texture.
+     * @param left The left of the area.
+     * @param top The top of the area.
+     * @param right The right of the area, exclusive.
+     * @param bottom The bottom of the area, exclusive.
+     */
+    private void blitPixels(
+        int[] source,
+        int x,
+        int y,
+        int sourceWidth,
+        int transparency,
+        int left,
+        int top,
+        int right,
+        int bottom
+    ) {
+        int frameWidth = this.getWidth();
+        int width = right - left;
+
+        for (int row = top; row < bottom; row++) {
+            int sourceOffset = (row - y) * sourceWidth + (left - x);
+            int offset = row * frameWidth + left;
+
+            if (transparency == Transparency.OPAQUE) {
+                System.arraycopy(source, sourceOffset, this.pixels, offset, width);
+            } else if (transparency == Transparency.BITMASK) {
+                for (int column = 0; column < width; column++) {
+                    int argb = source[sourceOffset + column];
+                    if ((argb >>> 24) != 0) {
+                        this.pixels[offset + column] = argb;
+                    }
+                }
+            } else {
+                for (int column = 0; column < width; column++) {
+                    int argb = source[sourceOffset + column];
+                    int alpha = argb >>> 24;
+                    if (alpha == 0xFF) {
+                        this.pixels[offset + column] = argb;
+                    } else if (alpha != 0) {
+                        this.pixels[offset + column] = blend(argb, alpha, this.pixels[offset + column]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Clip a rectangle to the clip of the Graphics and to the frame, leaving
+     * the result in frame coordinates in <code>clip</code>.
+     *
+     * @param x The left of the rectangle.
+     * @param y The top of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @return False if nothing is left.
+     */
+    private boolean clip(int x, int y, int width, int height)
+    {
+        // The bounds are left unchanged if the Graphics are not clipped.
+        this.clip.setBounds(
+            Integer.MIN_VALUE / 2, Integer.MIN_VALUE / 2,
+            Integer.MAX_VALUE, Integer.MAX_VALUE
+        );
+        this.graphics.getClipBounds(this.clip);
+
+        int left = Math.max(x, this.clip.x) + this.translateX;
+        int top = Math.max(y, this.clip.y) + this.translateY;
+        int right = Math.min(x + width, this.clip.x + this.clip.width) + this.translateX;
+        int bottom = Math.min(y + height, this.clip.y + this.clip.height) + this.translateY;
+
+        left = Math.max(left, 0);
+        top = Math.max(top, 0);
+        right = Math.min(right, this.getWidth());
+        bottom = Math.min(bottom, this.getHeight());
+
+        if (right <= left || bottom <= top) {
+            return false;
+        }
+
+        this.clip.setBounds(left, top, right - left, bottom - top);
+        return true;
+    }
+
+    /**
+     * Create the image and it's Graphics.
+     *
+     * @param width The width of the frame.
+     * @param height The height of the frame.
+     */
+    private void allocate(int width, int height)
+    {
+        this.image = new BufferedImage(
+            Math.max(width, 1), Math.max(height, 1), BufferedImage.TYPE_INT_RGB
+        );
+        this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+        this.graphics = this.image.createGraphics();
+
+        this.tileColumns = (this.image.getWidth() + TILE_SIZE - 1) / TILE_SIZE;
+        this.tileRows = (this.image.getHeight() + TILE_SIZE - 1) / TILE_SIZE;
+        this.tileDraws = new int[this.tileColumns * this.tileRows][16];
+        this.tileDrawCounts = new int[this.tileColumns * this.tileRows];
+
+        this.translateX = 0;
+        this.translateY = 0;
+        this.canBlit = true;
+    }
+
+    /**
+     * Blend a translucent color over an opaque one.
+     *
+     * @param argb The translucent color as ARGB.
+     * @param alpha The alpha of the translucent color.
+     * @param rgb The opaque color as RGB.
+     * @return The blended color.
+     */
+    private static int blend(int argb, int alpha, int rgb)
+    {
+        int inverse = 0xFF - alpha;
+
+        int red = mix((argb >> 16) & 0xFF, (rgb >> 16) & 0xFF, alpha, inverse);
+        int green = mix((argb >> 8) & 0xFF, (rgb >> 8) & 0xFF, alpha, inverse);
+        int blue = mix(argb & 0xFF, rgb & 0xFF, alpha, inverse);
+
+        return (red << 16) | (green << 8) | blue;
+    }
+
+    /**
+     * Mix one channel of two colors.
+     *
+     * @param source The channel of the translucent color.
+     * @param destination The channel of the opaque color.
+     * @param alpha The alpha of the translucent color.
+     * @param inverse 255 minus the alpha.
+     * @return The mixed channel.
+     */
+    private static int mix(int source, int destination, int alpha, int inverse)
+    {
+        // Each side is scaled to 8 bits with rounding, as Java2D does.
+        return multiply(source, alpha) + multiply(destination, inverse);
+    }
+
+    /**
+     * Multiply two 8 bit values as fractions of 255.
+     *
+     * @param a The first value.
+     * @param b The second value.
+     * @return The product, rounded to 8 bits.
+     */
+    private static int multiply(int a, int b)
+    {
+        int value = a * b + 128;
+        return (value + (value >> 8)) >> 8;
+    }
+}
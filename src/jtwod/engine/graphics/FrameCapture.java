@@ -0,0 +1,510 @@
+package jtwod.engine.graphics;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Records frames without slowing down the Thread that draws them.
+ *
+ * Each captured frame is copied out of a FrameBuffer into an int[] taken
+ * from a fixed pool and handed to a background Thread, which passes it to
+ * an Encoder and returns it to the pool. When every buffer in the pool is
+ * waiting to be encoded, new frames are dropped and counted, or, if
+ * dropping is disabled, the drawing Thread waits for the Encoder to catch
+ * up.
+ *
+ * @see jtwod.engine.Scene#setFrameCapture(FrameCapture)
+ */
+public final class FrameCapture
+{
+    /**
+     * Writes captured frames somewhere. Encoders are only ever called from
+     * the background Thread of a FrameCapture.
+     */
+    public interface Encoder
+    {
+        /**
+         * Write a frame.
+         *
+         * @param pixels The pixels of the frame as RGB, row by row. Only
+         *               valid until this method returns.
+         * @param width The width of the frame.
+         * @param height The height of the frame.
+         * @param frame The number of the frame, counting from zero.
+         * @throws IOException If the frame could not be written.
+         */
+        void encode(int[] pixels, int width, int height, long frame) throws IOException;
+
+        /**
+         * Finish writing and release any resources.
+         *
+         * @throws IOException If the output could not be finished.
+         */
+        void close() throws IOException;
+    }
+
+    /**
+     * Writes each frame to it's own numbered PNG file.
+     */
+    public static final class PngSequence implements Encoder
+    {
+        /**
+         * The directory to write the files to.
+         */
+        private final File directory;
+
+        /**
+         * The start of the name of each file.
+         */
+        private final String prefix;
+
+        /**
+         * Image the pixels are copied into to be written.
+         */
+        private BufferedImage image;
+
+        /**
+         * Construct the PngSequence.
+         *
+         * @param directory The directory to write the files to.
+         * @param prefix The start of the name of each file, followed by the
+         *               frame number.
+         */
+        public PngSequence(File directory, String prefix)
+        {
+            this.directory = directory;
+            this.prefix = prefix;
+        }
+
+        /**
+         * Write a frame as a PNG file.
+         *
+         * @param pixels The pixels of the frame.
+         * @param width The width of the frame.
+         * @param height The height of the frame.
+         * @param frame The number of the frame.
+         * @throws IOException If the file could not be written.
+         */
+        @Override
+        public final void encode(int[] pixels, int width, int height, long frame) throws IOException
+        {
+            if (
+                this.image == null ||
+                this.image.getWidth() != width ||
+                this.image.getHeight() != height
+            ) {
+                this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            }
+
+            int[] data = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+            System.arraycopy(pixels, 0, data, 0, width * height);
+
+            File file = new File(
+                this.directory, String.format("%s%06d.png", this.prefix, frame)
+            );
+            if (! ImageIO.write(this.image, "png", file)) {
+                throw new IOException("No PNG writer is available.");
+            }
+        }
+
+        /**
+         * Nothing is kept open between frames.
+         */
+        @Override
+        public final void close()
+        {
+            this.image = null;
+        }
+    }
+
+    /**
+     * Writes every frame to a single stream without compression. Each frame
+     * is written as it's width and height followed by it's pixels, all as
+     * big endian ints.
+     */
+    public static final class RawDump implements Encoder
+    {
+        /**
+         * The stream to write to.
+         */
+        private final OutputStream output;
+
+        /**
+         * Buffer the pixels are converted to bytes in.
+         */
+        private ByteBuffer bytes;
+
+        /**
+         * Construct the RawDump, writing to a file.
+         *
+         * @param file The file to write to.
+         * @throws IOException If the file could not be opened.
+         */
+        public RawDump(File file) throws IOException
+        {
+            this(new FileOutputStream(file));
+        }
+
+        /**
+         * Construct the RawDump.
+         *
+         * @param output The stream to write to. It is closed along with the
+         *               RawDump.
+         */
+        public RawDump(OutputStream output)
+        {
+            this.output = new BufferedOutputStream(output, 1 << 16);
+        }
+
+        /**
+         * Write a frame to the stream.
+         *
+         * @param pixels The pixels of the frame.
+         * @param width The width of the frame.
+         * @param height The height of the frame.
+         * @param frame The number of the frame.
+         * @throws IOException If the frame could not be written.
+         */
+        @Override
+        public final void encode(int[] pixels, int width, int height, long frame) throws IOException
+        {
+            int size = (2 + width * height) * 4;
+            if (this.bytes == null || this.bytes.capacity() < size) {
+                this.bytes = ByteBuffer.allocate(size);
+            }
+
+            this.bytes.clear();
+            this.bytes.putInt(width);
+            this.bytes.putInt(height);
+            this.bytes.asIntBuffer().put(pixels, 0, width * height);
+
+            this.output.write(this.bytes.array(), 0, size);
+        }
+
+        /**
+         * Flush and close the stream.
+         *
+         * @throws IOException If the stream could not be closed.
+         */
+        @Override
+        public final void close() throws IOException
+        {
+            this.output.close();
+        }
+    }
+
+    /**
+     * A buffer from the pool, along with the frame it currently holds.
+     */
+    private static final class Frame
+    {
+        /**
+         * The pixels of the frame.
+         */
+        private int[] pixels = new int[0];
+
+        /**
+         * The size of the frame.
+         */
+        private int width, height;
+
+        /**
+         * The number of the frame.
+         */
+        private long number;
+    }
+
+    /**
+     * The Encoder frames are passed to.
+     */
+    private final Encoder encoder;
+
+    /**
+     * Buffers ready to capture a frame into.
+     */
+    private final ArrayBlockingQueue<Frame> freeFrames;
+
+    /**
+     * Captured frames waiting to be encoded, oldest first.
+     */
+    private final ArrayBlockingQueue<Frame> pendingFrames;
+
+    /**
+     * The Thread frames are encoded on.
+     */
+    private final Thread worker;
+
+    /**
+     * If set to true, no more frames are captured and the worker stops once
+     * the pending frames are encoded.
+     */
+    private volatile boolean isClosed = false;
+
+    /**
+     * If set to false, capturing a frame waits for a free buffer instead of
+     * dropping the frame.
+     */
+    private volatile boolean dropFramesWhenFull = true;
+
+    /**
+     * The number of frames captured.
+     */
+    private volatile long capturedFrames = 0;
+
+    /**
+     * The number of frames dropped because no buffer was free.
+     */
+    private volatile long droppedFrames = 0;
+
+    /**
+     * The number of frames encoded.
+     */
+    private volatile long encodedFrames = 0;
+
+    /**
+     * The first error raised by the Encoder, after which frames are no
+     * longer encoded.
+     */
+    private volatile IOException error;
+
+    /**
+     * Construct the FrameCapture and start it's background Thread.
+     *
+     * @param encoder The Encoder to pass frames to.
+     * @param bufferCount The number of frames that can wait to be encoded
+     *                    before new frames are dropped.
+     */
+    public FrameCapture(Encoder encoder, int bufferCount)
+    {
+        if (bufferCount < 1) {
+            throw new IllegalArgumentException("Buffer count must be at least one.");
+        }
+
+        this.encoder = encoder;
+        this.freeFrames = new ArrayBlockingQueue<>(bufferCount);
+        this.pendingFrames = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            this.freeFrames.add(new Frame());
+        }
+
+        this.worker = new Thread(this::encodeFrames, "jtwod-frame-capture");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Copy the current contents of a FrameBuffer and queue them to be
+     * encoded.
+     *
+     * @param frameBuffer The FrameBuffer holding the frame.
+     * @return False if the frame was dropped.
+     */
+    public final synchronized boolean capture(FrameBuffer frameBuffer)
+    {
+        if (this.isClosed) {
+            return false;
+        }
+
+        Frame frame = this.freeFrames.poll();
+        if (! this.dropFramesWhenFull) {
+            // Stop waiting if the worker has died,
+            // since no buffer would ever be returned.
+            try {
+                while (frame == null && this.worker.isAlive()) {
+                    frame = this.freeFrames.poll(50, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (frame == null) {
+            this.droppedFrames++;
+            return false;
+        }
+
+        int size = frameBuffer.getWidth() * frameBuffer.getHeight();
+        if (frame.pixels.length != size) {
+            frame.pixels = new int[size];
+        }
+
+        frameBuffer.copyPixels(frame.pixels);
+        frame.width = frameBuffer.getWidth();
+        frame.height = frameBuffer.getHeight();
+        frame.number = this.capturedFrames++;
+
+        this.pendingFrames.add(frame);
+        return true;
+    }
+
+    /**
+     * Stop capturing, wait for the pending frames to be encoded and close
+     * the Encoder.
+     *
+     * @throws IOException If the Encoder failed at any point.
+     */
+    public final synchronized void close() throws IOException
+    {
+        this.isClosed = true;
+
+        boolean interrupted = false;
+        while (this.worker.isAlive()) {
+            try {
+                this.worker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.error != null) {
+            throw this.error;
+        }
+    }
+
+    /**
+     * Check if this FrameCapture has been closed.
+     *
+     * @return True if closed.
+     */
+    public final boolean isClosed()
+    {
+        return this.isClosed;
+    }
+
+    /**
+     * Choose what happens to a frame when every buffer is waiting to be
+     * encoded. Dropping keeps the frame rate steady, waiting keeps every
+     * frame at the cost of running no faster than the Encoder.
+     *
+     * @param drop True to drop the frame, false to wait for a buffer.
+     */
+    public final void setDropFramesWhenFull(boolean drop)
+    {
+        this.dropFramesWhenFull = drop;
+    }
+
+    /**
+     * Check if frames are dropped when every buffer is waiting to be
+     * encoded.
+     *
+     * @return True if frames are dropped.
+     */
+    public final boolean isDropFramesWhenFull()
+    {
+        return this.dropFramesWhenFull;
+    }
+
+    /**
+     * Retrieve the number of frames captured.
+     *
+     * @return The number of frames.
+     */
+    public final long getCapturedFrames()
+    {
+        return this.capturedFrames;
+    }
+
+    /**
+     * Retrieve the number of frames dropped because no buffer was free.
+     *
+     * @return The number of frames.
+     */
+    public final long getDroppedFrames()
+    {
+        return this.droppedFrames;
+    }
+
+    /**
+     * Retrieve the number of frames encoded so far.
+     *
+     * @return The number of frames.
+     */
+    public final long getEncodedFrames()
+    {
+        return this.encodedFrames;
+    }
+
+    /**
+     * Retrieve the number of captured frames waiting to be encoded.
+     *
+     * @return The number of frames.
+     */
+    public final int getPendingFrames()
+    {
+        return this.pendingFrames.size();
+    }
+
+    /**
+     * Retrieve the first error raised by the Encoder. Frames captured after
+     * an error are not encoded.
+     *
+     * @return The error, or null if there was none.
+     */
+    public final IOException getError()
+    {
+        return this.error;
+    }
+
+    /**
+     * Body of the background Thread. Encodes frames until closed and then
+     * closes the Encoder.
+     */
+    private void encodeFrames()
+    {
+        while (true) {
+            Frame frame;
+            try {
+                frame = this.pendingFrames.poll(50, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            if (frame == null) {
+                if (this.isClosed && this.pendingFrames.isEmpty()) {
+                    break;
+                }
+
+                continue;
+            }
+
+            try {
+                if (this.error == null) {
+                    this.encoder.encode(frame.pixels, frame.width, frame.height, frame.number);
+                    this.encodedFrames++;
+                }
+            } catch (IOException e) {
+                this.error = e;
+            } catch (RuntimeException e) {
+                this.error = new IOException("Encoder failed.", e);
+            } finally {
+                this.freeFrames.add(frame);
+            }
+        }
+
+        try {
+            this.encoder.close();
+        } catch (IOException e) {
+            if (this.error == null) {
+                this.error = e;
+            }
+        } catch (RuntimeException e) {
+            if (this.error == null) {
+                this.error = new IOException("Encoder failed.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package jtwod.engine.graphics;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
+/**
+ * Caches the glyphs of a Font in one Color, pre-rendered into an atlas
+ * image, so that text can be drawn as a series of image blits instead of
+ * being rasterized every frame.
+ *
+ * Printable ASCII is rendered when the cache is created and any other
+ * character the first time it is drawn. Glyphs are placed one after the
+ * other using their advance widths, so kerning and ligatures are not
+ * applied. Text containing surrogate pairs is drawn with the Font instead.
+ *
+ * Text that is drawn every frame but rarely changes, such as a score or a
+ * label, can be composed once into a Line and then drawn with one blit.
+ */
+public final class GlyphCache
+{
+    /**
+     * The most caches kept at once. When exceeded, all caches are dropped,
+     * so that text with a constantly changing color doesn't leak memory.
+     */
+    private static final int MAX_CACHES = 64;
+
+    /**
+     * The transparent gap left around each glyph in the atlas.
+     */
+    private static final int PADDING = 1;
+
+    /**
+     * The caches, by Font and then by Color.
+     */
+    private static final HashMap<Font, HashMap<Color, GlyphCache>> caches = new HashMap<>();
+
+    /**
+     * The number of caches.
+     */
+    private static int cacheCount = 0;
+
+    /**
+     * A glyph placed in the atlas.
+     */
+    private static final class Glyph
+    {
+        /**
+         * The area of the glyph in the atlas.
+         */
+        private final int x, y, width, height;
+
+        /**
+         * The offset from the pen position to the top left of the glyph.
+         */
+        private final int offsetX, offsetY;
+
+        /**
+         * The distance to move the pen after drawing the glyph.
+         */
+        private final int advance;
+
+        /**
+         * The area of the atlas holding the glyph, or null if it is blank.
+         */
+        private BufferedImage image;
+
+        /**
+         * Construct the Glyph.
+         */
+        private Glyph(int x, int y, int width, int height, int offsetX, int offsetY, int advance)
+        {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.advance = advance;
+        }
+    }
+
+    /**
+     * A line of text composed from cached glyphs into an image of it's own,
+     * so that text that doesn't change can be drawn with a single blit. The
+     * image is re-used when the text changes and it is still large enough.
+     *
+     * @see GlyphCache#drawLine(Graphics, Line, String, int, int)
+     */
+    public static final class Line
+    {
+        /**
+         * The GlyphCache the line was composed with.
+         */
+        private GlyphCache cache;
+
+        /**
+         * The text the line was composed from.
+         */
+        private String text;
+
+        /**
+         * The image holding the line.
+         */
+        private BufferedImage image;
+
+        /**
+         * The offset from the pen position to the top left of the image.
+         */
+        private int offsetX, offsetY;
+    }
+
+    /**
+     * The Font the glyphs are rendered in.
+     */
+    private final Font font;
+
+    /**
+     * The Color the glyphs are rendered in.
+     */
+    private final Color color;
+
+    /**
+     * The metrics of the Font.
+     */
+    private final FontMetrics metrics;
+
+    /**
+     * The glyphs, in blocks of 256 characters indexed by the high byte of
+     * the character.
+     */
+    private final Glyph[][] glyphs = new Glyph[256][];
+
+    /**
+     * The atlas image holding the glyphs.
+     */
+    private BufferedImage image;
+
+    /**
+     * The position of the next glyph in the atlas.
+     */
+    private int shelfX = 0, shelfY = 0, shelfHeight = 0;
+
+    /**
+     * Create the cache and render printable ASCII into it.
+     *
+     * @param font The Font.
+     * @param color The Color.
+     */
+    private GlyphCache(Font font, Color color)
+    {
+        this.font = font;
+        this.color = color;
+
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scratch.createGraphics();
+        this.metrics = graphics.getFontMetrics(font);
+        graphics.dispose();
+
+        this.image = Texture.createCompatibleImage(
+            256, Math.max(this.metrics.getHeight() + PADDING * 2, 16) * 4,
+            Transparency.TRANSLUCENT
+        );
+
+        for (char character = ' '; character <= '~'; character++) {
+            this.getGlyph(character);
+        }
+    }
+
+    /**
+     * Retrieve the cache for a Font and Color, creating it if needed.
+     *
+     * @param font The Font.
+     * @param color The Color.
+     * @return The GlyphCache.
+     */
+    public static synchronized GlyphCache get(Font font, Color color)
+    {
+        HashMap<Color, GlyphCache> byColor = caches.get(font);
+        if (byColor == null) {
+            byColor = new HashMap<>();
+            caches.put(font, byColor);
+        }
+
+        GlyphCache cache = byColor.get(color);
+        if (cache == null) {
+            if (cacheCount >= MAX_CACHES) {
+                GlyphCache.clear();
+                byColor = new HashMap<>();
+                caches.put(font, byColor);
+            }
+
+            cache = new GlyphCache(font, color);
+            byColor.put(color, cache);
+            cacheCount++;
+        }
+
+        return cache;
+    }
+
+    /**
+     * Drop all caches. Caches that are still referenced keep working.
+     */
+    public static synchronized void clear()
+    {
+        caches.clear();
+        cacheCount = 0;
+    }
+
+    /**
+     * Draw text with the cached glyphs.
+     *
+     * @param graphics The Graphics to draw to.
+     * @param text The text.
+     * @param x The x position of the start of the text.
+     * @param y The y position of the baseline of the text.
+     */
+    public final void drawString(Graphics graphics, String text, int x, int y)
+    {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isSurrogate(text.charAt(i))) {
+                Font resetFont = graphics.getFont();
+                Color resetColor = graphics.getColor();
+                graphics.setFont(this.font);
+                graphics.setColor(this.color);
+                graphics.drawString(text, x, y);
+                graphics.setFont(resetFont);
+                graphics.setColor(resetColor);
+                return;
+            }
+        }
+
+        int penX = x;
+        for (int i = 0; i < text.length(); i++) {
+            Glyph glyph = this.getGlyph(text.charAt(i));
+            if (glyph.image != null) {
+                graphics.drawImage(
+                    glyph.image, penX + glyph.offsetX, y + glyph.offsetY, null
+                );
+            }
+            penX += glyph.advance;
+        }
+    }
+
+    /**
+     * Draw text through a Line, composing it from the cached glyphs first
+     * if the text or GlyphCache changed since the Line was last drawn.
+     *
+     * @param graphics The Graphics to draw to.
+     * @param line The Line holding the composed text.
+     * @param text The text.
+     * @param x The x position of the start of the text.
+     * @param y The y position of the baseline of the text.
+     */
+    public final void drawLine(Graphics graphics, Line line, String text, int x, int y)
+    {
+        if (line.cache != this || ! text.equals(line.text)) {
+            this.composeLine(line, text);
+        }
+
+        if (line.image != null) {
+            graphics.drawImage(line.image, x + line.offsetX, y + line.offsetY, null);
+        } else {
+            this.drawString(graphics, text, x, y);
+        }
+    }
+
+    /**
+     * Retrieve the width of text drawn with the cached glyphs.
+     *
+     * @param text The text.
+     * @return The width.
+     */
+    public final int stringWidth(String text)
+    {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += this.getGlyph(text.charAt(i)).advance;
+        }
+
+        return width;
+    }
+
+    /**
+     * Retrieve the metrics of the Font.
+     *
+     * @return The FontMetrics.
+     */
+    public final FontMetrics getFontMetrics()
+    {
+        return this.metrics;
+    }
+
+    /**
+     * Retrieve the Font the glyphs are rendered in.
+     *
+     * @return The Font.
+     */
+    public final Font getFont()
+    {
+        return this.font;
+    }
+
+    /**
+     * Retrieve the Color the glyphs are rendered in.
+     *
+     * @return The Color.
+     */
+    public final Color getColor()
+    {
+        return this.color;
+    }
+
+    /**
+     * Retrieve the atlas image holding the glyphs. The image is replaced
+     * when it runs out of room.
+     *
+     * @return The atlas image.
+     */
+    public final BufferedImage getImage()
+    {
+        return this.image;
+    }
+
+    /**
+     * Compose text into the image of a Line.
+     *
+     * @param line The Line.
+     * @param text The text.
+     */
+    private void composeLine(Line line, String text)
+    {
+        line.cache = this;
+        line.text = text;
+
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isSurrogate(text.charAt(i))) {
+                // Drawn with the Font instead.
+                line.image = null;
+                return;
+            }
+        }
+
+        int left = 0, right = 0, top = 0, bottom = 0;
+        int penX = 0;
+        for (int i = 0; i < text.length(); i++) {
+            Glyph glyph = this.getGlyph(text.charAt(i));
+            if (glyph.image != null) {
+                left = Math.min(left, penX + glyph.offsetX);
+                right = Math.max(right, penX + glyph.offsetX + glyph.width);
+                top = Math.min(top, glyph.offsetY);
+                bottom = Math.max(bottom, glyph.offsetY + glyph.height);
+            }
+            penX += glyph.advance;
+        }
+
+        int width = Math.max(right - left, 1);
+        int height = Math.max(bottom - top, 1);
+
+        if (
+            line.image == null ||
+            line.image.getWidth() < width ||
+            line.image.getHeight() < height
+        ) {
+            // Leave room to grow so that changing text rarely reallocates.
+            line.image = Texture.createCompatibleImage(
+                (width + 31) & ~31, (height + 7) & ~7, Transparency.TRANSLUCENT
+            );
+        }
+
+        Graphics2D graphics = line.image.createGraphics();
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(0, 0, line.image.getWidth(), line.image.getHeight());
+        graphics.setComposite(AlphaComposite.SrcOver);
+        this.drawString(graphics, text, -left, -top);
+        graphics.dispose();
+
+        line.offsetX = left;
+        line.offsetY = top;
+    }
+
+    /**
+     * Retrieve the glyph for a character, rendering it into the atlas if it
+     * is not cached yet.
+     *
+     * @param character The character.
+     * @return The Glyph.
+     */
+    private Glyph getGlyph(char character)
+    {
+        Glyph[] block = this.glyphs[character >> 8];
+        if (block == null) {
+            block = new Glyph[256];
+            this.glyphs[character >> 8] = block;
+        }
+
+        Glyph glyph = block[character & 0xFF];
+        if (glyph == null) {
+            glyph = this.renderGlyph(character);
+            block[character & 0xFF] = glyph;
+        }
+
+        return glyph;
+    }
+
+    /**
+     * Render a character into the atlas.
+     *
+     * @param character The character.
+     * @return The Glyph.
+     */
+    private Glyph renderGlyph(char character)
+    {
+        int advance = this.metrics.charWidth(character);
+        FontRenderContext context = this.metrics.getFontRenderContext();
+        Rectangle bounds = this.font.createGlyphVector(
+            context, String.valueOf(character)
+        ).getPixelBounds(context, 0, 0);
+
+        if (bounds.isEmpty()) {
+            return new Glyph(0, 0, 0, 0, 0, 0, advance);
+        }
+
+        // The cell covers both the advance and anything that overhangs it.
+        int left = Math.min(0, bounds.x);
+        int right = Math.max(advance, bounds.x + bounds.width);
+        int top = Math.min(-this.metrics.getAscent(), bounds.y);
+        int bottom = Math.max(this.metrics.getDescent(), bounds.y + bounds.height);
+        int width = right - left;
+        int height = bottom - top;
+
+        if (this.shelfX + width + PADDING * 2 > this.image.getWidth()) {
+            this.shelfY += this.shelfHeight;
+            this.shelfX = 0;
+            this.shelfHeight = 0;
+        }
+
+        int requiredWidth = Math.max(this.image.getWidth(), width + PADDING * 2);
+        int requiredHeight = this.shelfY + height + PADDING * 2;
+        if (requiredWidth > this.image.getWidth() || requiredHeight > this.image.getHeight()) {
+            this.grow(requiredWidth, Math.max(requiredHeight, this.image.getHeight() * 2));
+        }
+
+        int x = this.shelfX + PADDING;
+        int y = this.shelfY + PADDING;
+
+        Graphics2D graphics = this.image.createGraphics();
+        graphics.setFont(this.font);
+        graphics.setColor(this.color);
+        graphics.drawString(String.valueOf(character), x - left, y - top);
+        graphics.dispose();
+
+        this.shelfX += width + PADDING * 2;
+        this.shelfHeight = Math.max(this.shelfHeight, height + PADDING * 2);
+
+        Glyph glyph = new Glyph(x, y, width, height, left, top, advance);
+        glyph.image = this.image.getSubimage(x, y, width, height);
+
+        return glyph;
+    }
+
+    /**
+     * Replace the atlas image with a larger one, keeping the glyphs where
+     * they are.
+     *
+     * @param width The new width.
+     * @param height The new height.
+     */
+    private void grow(int width, int height)
+    {
+        BufferedImage grown = Texture.createCompatibleImage(
+            width, height, Transparency.TRANSLUCENT
+        );
+
+        Graphics2D graphics = grown.createGraphics();
+        graphics.setComposite(AlphaComposite.Src);
+        graphics.drawImage(this.image, 0, 0, null);
+        graphics.dispose();
+
+        this.image = grown;
+
+        // Point each glyph at the new image.
+        for (Glyph[] block : this.glyphs) {
+            if (block == null) {
+                continue;
+            }
+
+            for (Glyph glyph : block) {
+                if (glyph != null && glyph.image != null) {
+                    glyph.image = grown.getSubimage(
+                        glyph.x, glyph.y, glyph.width, glyph.height
+                    );
+                }
+            }
+        }
+    }
+}
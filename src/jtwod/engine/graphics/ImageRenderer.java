@@ -0,0 +1,107 @@
+package jtwod.engine.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * A Renderer that draws frames into an offscreen image instead of the
+ * screen, such as for screenshots or rendering without a window.
+ */
+public final class ImageRenderer extends Java2DRenderer
+{
+    /**
+     * The image holding the last frame.
+     */
+    private BufferedImage image;
+
+    /**
+     * The Graphics created for the frame being drawn. The target may have
+     * been changed since, so this is what gets disposed.
+     */
+    private Graphics2D frameGraphics;
+
+    /**
+     * If set to true, the image was just created and has to be drawn in
+     * full.
+     */
+    private boolean isNew = false;
+
+    /**
+     * Start drawing a frame into the image, creating it again if the size
+     * changed.
+     *
+     * @param width The width of the frame.
+     * @param height The height of the frame.
+     * @return The Graphics of the image.
+     */
+    @Override
+    public final Graphics2D beginFrame(int width, int height)
+    {
+        width = Math.max(width, 1);
+        height = Math.max(height, 1);
+
+        this.isNew = (
+            this.image == null ||
+            this.image.getWidth() != width ||
+            this.image.getHeight() != height
+        );
+
+        if (this.isNew) {
+            this.image = Texture.createCompatibleImage(
+                width, height, Transparency.OPAQUE
+            );
+        }
+
+        Graphics2D graphics = this.image.createGraphics();
+        this.frameGraphics = graphics;
+        this.target(graphics);
+        return graphics;
+    }
+
+    /**
+     * Finish drawing the frame.
+     *
+     * @return True, the image keeps it's contents.
+     */
+    @Override
+    public final boolean endFrame()
+    {
+        this.frameGraphics.dispose();
+        this.frameGraphics = null;
+        this.target(null);
+        return true;
+    }
+
+    /**
+     * Retrieve how many frames of damage have to be repainted.
+     *
+     * @return 1, or 0 if the image was just created.
+     */
+    @Override
+    public final int getDamageHistoryDepth()
+    {
+        return this.isNew ? 0 : 1;
+    }
+
+    /**
+     * Describe how frames are presented.
+     *
+     * @return The description.
+     */
+    @Override
+    public final String getPresentationPath()
+    {
+        return "Offscreen image";
+    }
+
+    /**
+     * Retrieve the image holding the last frame.
+     *
+     * @return The image, or null if no frame has been drawn.
+     */
+    public final BufferedImage getImage()
+    {
+        return this.image;
+    }
+}
@@ -0,0 +1,255 @@
+package jtwod.engine.graphics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+
+/**
+ * A Renderer that draws with Java2D. Subclasses decide where the frames
+ * go.
+ *
+ * The font, color and stroke of the Graphics are only changed when they
+ * differ from what is being drawn, and are left set afterwards. Textures
+ * and fills aimed at the Graphics of a FrameBuffer are written into it's
+ * pixels instead of going through Java2D. Anything else aimed at it first
+ * flushes the draws the FrameBuffer has deferred, so that it lands on top
+ * of them.
+ *
+ * Scaled Textures are drawn from the cache of scaled versions at the size
+ * they cover on screen. When the Graphics are themselves scaled, such as by
+ * a zoomed Camera, the Texture is scaled to it's size in device pixels and
+ * drawn without the scale.
+ */
+public abstract class Java2DRenderer implements Renderer
+{
+    /**
+     * The Graphics that drawing operations go to.
+     */
+    private Graphics2D graphics;
+
+    /**
+     * The FrameBuffer the frame is being drawn into, or null.
+     */
+    private FrameBuffer frameBuffer;
+
+    /**
+     * Transform used to draw in device pixels.
+     */
+    private final AffineTransform identity = new AffineTransform();
+
+    /**
+     * Direct the drawing operations at a Graphics.
+     *
+     * @param graphics The Graphics to draw to.
+     * @return This Renderer.
+     */
+    @Override
+    public final Renderer target(Graphics graphics)
+    {
+        this.graphics = (Graphics2D) graphics;
+        return this;
+    }
+
+    /**
+     * Retrieve the Graphics that drawing operations go to.
+     *
+     * @return The Graphics.
+     */
+    public final Graphics2D getGraphics()
+    {
+        return this.graphics;
+    }
+
+    /**
+     * Set the FrameBuffer that the frame is being drawn into, if any.
+     *
+     * @param frameBuffer The FrameBuffer, or null.
+     */
+    @Override
+    public final void setFrameBuffer(FrameBuffer frameBuffer)
+    {
+        this.frameBuffer = frameBuffer;
+    }
+
+    /**
+     * Draw a Texture.
+     *
+     * @param texture The Texture.
+     * @param x The left of the Texture.
+     * @param y The top of the Texture.
+     */
+    @Override
+    public final void drawSprite(Texture texture, int x, int y)
+    {
+        if (this.frameBuffer != null && this.frameBuffer.canBlit(this.graphics)) {
+            this.frameBuffer.blit(texture, x, y);
+        } else {
+            this.flushFrameBuffer();
+            texture.draw(this.graphics, x, y, null);
+        }
+    }
+
+    /**
+     * Draw a Texture scaled to a size.
+     *
+     * @param texture The Texture.
+     * @param x The left of the Texture.
+     * @param y The top of the Texture.
+     * @param width The width to draw the Texture at.
+     * @param height The height to draw the Texture at.
+     */
+    @Override
+    public final void drawSprite(Texture texture, int x, int y, int width, int height)
+    {
+        if (width < 1 || height < 1) {
+            return;
+        }
+
+        AffineTransform transform = this.graphics.getTransform();
+        boolean isScaled = (
+            transform.getScaleX() != 1 ||
+            transform.getScaleY() != 1
+        );
+
+        if (
+            ! isScaled ||
+            transform.getShearX() != 0 ||
+            transform.getShearY() != 0 ||
+            transform.getScaleX() < 0 ||
+            transform.getScaleY() < 0
+        ) {
+            // Unscaled, or rotated or flipped in which
+            // case Java2D applies the transform.
+            this.drawSprite(texture.getScaledTexture(width, height), x, y);
+            return;
+        }
+
+        // The edges are rounded separately so that
+        // sprites placed edge to edge leave no gaps.
+        int left = (int) Math.round(transform.getScaleX() * x + transform.getTranslateX());
+        int top = (int) Math.round(transform.getScaleY() * y + transform.getTranslateY());
+        int right = (int) Math.round(transform.getScaleX() * (x + width) + transform.getTranslateX());
+        int bottom = (int) Math.round(transform.getScaleY() * (y + height) + transform.getTranslateY());
+        if (right <= left || bottom <= top) {
+            return;
+        }
+
+        this.flushFrameBuffer();
+        this.graphics.setTransform(this.identity);
+        this.graphics.drawImage(
+            texture.getScaledTexture(right - left, bottom - top).asBufferedImage(),
+            left, top, null
+        );
+        this.graphics.setTransform(transform);
+    }
+
+    /**
+     * Draw a line of text.
+     *
+     * @param text The text.
+     * @param x The x position of the start of the text.
+     * @param y The y position of the baseline of the text.
+     * @param font The Font to draw with.
+     * @param color The Color to draw with.
+     */
+    @Override
+    public final void drawText(String text, int x, int y, Font font, Color color)
+    {
+        this.flushFrameBuffer();
+        if (! font.equals(this.graphics.getFont())) {
+            this.graphics.setFont(font);
+        }
+
+        this.setColor(color);
+        this.graphics.drawString(text, x, y);
+    }
+
+    /**
+     * Draw a line.
+     *
+     * @param x1 The x position of the start of the line.
+     * @param y1 The y position of the start of the line.
+     * @param x2 The x position of the end of the line.
+     * @param y2 The y position of the end of the line.
+     * @param color The Color to draw with.
+     * @param stroke The Stroke to draw with.
+     */
+    @Override
+    public final void drawLine(int x1, int y1, int x2, int y2, Color color, Stroke stroke)
+    {
+        this.flushFrameBuffer();
+        if (! stroke.equals(this.graphics.getStroke())) {
+            this.graphics.setStroke(stroke);
+        }
+
+        this.setColor(color);
+        this.graphics.drawLine(x1, y1, x2, y2);
+    }
+
+    /**
+     * Draw connected lines through a series of points.
+     *
+     * @param xPoints The x positions of the points.
+     * @param yPoints The y positions of the points.
+     * @param count The number of points.
+     * @param color The Color to draw with.
+     */
+    @Override
+    public final void drawPolyline(int[] xPoints, int[] yPoints, int count, Color color)
+    {
+        this.flushFrameBuffer();
+        this.setColor(color);
+        this.graphics.drawPolyline(xPoints, yPoints, count);
+    }
+
+    /**
+     * Fill a rectangle.
+     *
+     * @param x The left of the rectangle.
+     * @param y The top of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @param color The Color to fill with.
+     */
+    @Override
+    public final void fill(int x, int y, int width, int height, Color color)
+    {
+        if (this.frameBuffer != null && this.frameBuffer.canBlit(this.graphics)) {
+            this.frameBuffer.fill(x, y, width, height, color.getRGB());
+        } else {
+            this.flushFrameBuffer();
+            this.setColor(color);
+            this.graphics.fillRect(x, y, width, height);
+        }
+    }
+
+    /**
+     * Write the draws deferred by the FrameBuffer before drawing to it's
+     * Graphics with Java2D.
+     */
+    private void flushFrameBuffer()
+    {
+        if (
+            this.frameBuffer != null &&
+            this.frameBuffer.hasPendingDraws() &&
+            this.frameBuffer.getGraphics() == this.graphics
+        ) {
+            this.frameBuffer.flush();
+        }
+    }
+
+    /**
+     * Set the color of the Graphics if it differs.
+     *
+     * @param color The Color.
+     */
+    private void setColor(Color color)
+    {
+        if (! color.equals(this.graphics.getColor())) {
+            this.graphics.setColor(color);
+        }
+    }
+}
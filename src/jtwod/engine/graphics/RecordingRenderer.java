@@ -0,0 +1,315 @@
+package jtwod.engine.graphics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+import java.awt.image.BufferedImage;
+
+/**
+ * A Renderer that counts the drawing operations of each frame and passes
+ * them on to another Renderer. Without another Renderer nothing is drawn,
+ * which is useful for profiling the rest of a frame or running a Scene
+ * without a display.
+ *
+ * The counts are reset when a frame begins, and can be read once it ends.
+ */
+public final class RecordingRenderer implements Renderer
+{
+    /**
+     * The Renderer the operations are passed on to, or null.
+     */
+    private final Renderer renderer;
+
+    /**
+     * Image whose Graphics are handed out when nothing is drawn, so that
+     * Drawables using the Graphics directly still have something to draw
+     * to. It is a single pixel, so anything drawn to it is clipped away.
+     */
+    private BufferedImage scratch;
+
+    /**
+     * The Graphics handed out for the frame when nothing is drawn.
+     */
+    private Graphics2D scratchGraphics;
+
+    /**
+     * The number of each operation made during the frame.
+     */
+    private int spriteCount, textCount, lineCount, fillCount;
+
+    /**
+     * Construct a RecordingRenderer that draws nothing.
+     */
+    public RecordingRenderer()
+    {
+        this(null);
+    }
+
+    /**
+     * Construct a RecordingRenderer.
+     *
+     * @param renderer The Renderer to pass the operations on to, or null to
+     *                 draw nothing.
+     */
+    public RecordingRenderer(Renderer renderer)
+    {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Start a frame, resetting the counts.
+     *
+     * @param width The width of the frame.
+     * @param height The height of the frame.
+     * @return The Graphics to draw the frame with, or null.
+     */
+    @Override
+    public final Graphics2D beginFrame(int width, int height)
+    {
+        this.spriteCount = 0;
+        this.textCount = 0;
+        this.lineCount = 0;
+        this.fillCount = 0;
+
+        if (this.renderer != null) {
+            return this.renderer.beginFrame(width, height);
+        }
+
+        if (this.scratch == null) {
+            this.scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+        }
+
+        this.scratchGraphics = this.scratch.createGraphics();
+        return this.scratchGraphics;
+    }
+
+    /**
+     * Finish the frame.
+     *
+     * @return False if the other Renderer lost the contents of the frame.
+     */
+    @Override
+    public final boolean endFrame()
+    {
+        if (this.renderer != null) {
+            return this.renderer.endFrame();
+        }
+
+        this.scratchGraphics.dispose();
+        this.scratchGraphics = null;
+        return true;
+    }
+
+    /**
+     * Retrieve how many frames of damage have to be repainted.
+     *
+     * @return The depth of the other Renderer, or 0 so that every frame
+     *         is counted in full.
+     */
+    @Override
+    public final int getDamageHistoryDepth()
+    {
+        return (this.renderer != null) ? this.renderer.getDamageHistoryDepth() : 0;
+    }
+
+    /**
+     * Describe how frames are presented.
+     *
+     * @return The description from the other Renderer, or that nothing is
+     *         presented.
+     */
+    @Override
+    public final String getPresentationPath()
+    {
+        return (this.renderer != null)
+            ? this.renderer.getPresentationPath()
+            : "Not presented";
+    }
+
+    /**
+     * Direct the drawing operations at a Graphics.
+     *
+     * @param graphics The Graphics to draw to.
+     * @return This Renderer.
+     */
+    @Override
+    public final Renderer target(Graphics graphics)
+    {
+        if (this.renderer != null) {
+            this.renderer.target(graphics);
+        }
+
+        return this;
+    }
+
+    /**
+     * Set the FrameBuffer that the frame is being drawn into, if any.
+     *
+     * @param frameBuffer The FrameBuffer, or null.
+     */
+    @Override
+    public final void setFrameBuffer(FrameBuffer frameBuffer)
+    {
+        if (this.renderer != null) {
+            this.renderer.setFrameBuffer(frameBuffer);
+        }
+    }
+
+    /**
+     * Count and draw a Texture.
+     *
+     * @param texture The Texture.
+     * @param x The left of the Texture.
+     * @param y The top of the Texture.
+     */
+    @Override
+    public final void drawSprite(Texture texture, int x, int y)
+    {
+        this.spriteCount++;
+        if (this.renderer != null) {
+            this.renderer.drawSprite(texture, x, y);
+        }
+    }
+
+    /**
+     * Count and draw a scaled Texture.
+     *
+     * @param texture The Texture.
+     * @param x The left of the Texture.
+     * @param y The top of the Texture.
+     * @param width The width to draw the Texture at.
+     * @param height The height to draw the Texture at.
+     */
+    @Override
+    public final void drawSprite(Texture texture, int x, int y, int width, int height)
+    {
+        this.spriteCount++;
+        if (this.renderer != null) {
+            this.renderer.drawSprite(texture, x, y, width, height);
+        }
+    }
+
+    /**
+     * Count and draw a line of text.
+     *
+     * @param text The text.
+     * @param x The x position of the start of the text.
+     * @param y The y position of the baseline of the text.
+     * @param font The Font to draw with.
+     * @param color The Color to draw with.
+     */
+    @Override
+    public final void drawText(String text, int x, int y, Font font, Color color)
+    {
+        this.textCount++;
+        if (this.renderer != null) {
+            this.renderer.drawText(text, x, y, font, color);
+        }
+    }
+
+    /**
+     * Count and draw a line.
+     *
+     * @param x1 The x position of the start of the line.
+     * @param y1 The y position of the start of the line.
+     * @param x2 The x position of the end of the line.
+     * @param y2 The y position of the end of the line.
+     * @param color The Color to draw with.
+     * @param stroke The Stroke to draw with.
+     */
+    @Override
+    public final void drawLine(int x1, int y1, int x2, int y2, Color color, Stroke stroke)
+    {
+        this.lineCount++;
+        if (this.renderer != null) {
+            this.renderer.drawLine(x1, y1, x2, y2, color, stroke);
+        }
+    }
+
+    /**
+     * Count and draw connected lines. They are counted as one line.
+     *
+     * @param xPoints The x positions of the points.
+     * @param yPoints The y positions of the points.
+     * @param count The number of points.
+     * @param color The Color to draw with.
+     */
+    @Override
+    public final void drawPolyline(int[] xPoints, int[] yPoints, int count, Color color)
+    {
+        this.lineCount++;
+        if (this.renderer != null) {
+            this.renderer.drawPolyline(xPoints, yPoints, count, color);
+        }
+    }
+
+    /**
+     * Count and fill a rectangle.
+     *
+     * @param x The left of the rectangle.
+     * @param y The top of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @param color The Color to fill with.
+     */
+    @Override
+    public final void fill(int x, int y, int width, int height, Color color)
+    {
+        this.fillCount++;
+        if (this.renderer != null) {
+            this.renderer.fill(x, y, width, height, color);
+        }
+    }
+
+    /**
+     * Retrieve the number of Textures drawn during the frame.
+     *
+     * @return The number of Textures.
+     */
+    public final int getSpriteCount()
+    {
+        return this.spriteCount;
+    }
+
+    /**
+     * Retrieve the number of lines of text drawn during the frame.
+     *
+     * @return The number of lines of text.
+     */
+    public final int getTextCount()
+    {
+        return this.textCount;
+    }
+
+    /**
+     * Retrieve the number of lines and polylines drawn during the frame.
+     *
+     * @return The number of lines.
+     */
+    public final int getLineCount()
+    {
+        return this.lineCount;
+    }
+
+    /**
+     * Retrieve the number of rectangles filled during the frame.
+     *
+     * @return The number of rectangles.
+     */
+    public final int getFillCount()
+    {
+        return this.fillCount;
+    }
+
+    /**
+     * Retrieve the number of drawing operations made during the frame.
+     *
+     * @return The number of operations.
+     */
+    public final int getDrawCount()
+    {
+        return this.spriteCount + this.textCount + this.lineCount + this.fillCount;
+    }
+}
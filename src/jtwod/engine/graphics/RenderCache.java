@@ -0,0 +1,263 @@
+package jtwod.engine.graphics;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.VolatileImage;
+import java.util.function.Consumer;
+
+/**
+ * Caches content that rarely changes in an accelerated VolatileImage so
+ * that it can be drawn each frame with a single blit.
+ *
+ * The content is painted again only after the cache has been invalidated
+ * or when the VolatileImage loses it's contents. Content in world
+ * coordinates is cached for an area larger than the view, so that it is
+ * painted again only when the zoom changes or the view leaves that area.
+ */
+public final class RenderCache
+{
+    /**
+     * Paints the cached content.
+     */
+    private final Consumer<Graphics> painter;
+
+    /**
+     * The image holding the cached content.
+     */
+    private VolatileImage image;
+
+    /**
+     * If set to false, the content will be painted again on the next render.
+     */
+    private boolean isValid = false;
+
+    /**
+     * The fraction of the view added on each side of it when choosing the
+     * area of the world to cache.
+     */
+    private static final double MARGIN = 0.25;
+
+    /**
+     * The area of the world that is cached, or null if the content is
+     * cached in screen coordinates.
+     */
+    private Rectangle region;
+
+    /**
+     * The zoom the area of the world was painted at.
+     */
+    private double zoom;
+
+    /**
+     * Construct the RenderCache.
+     *
+     * @param painter Paints the cached content into the Graphics it is given.
+     */
+    public RenderCache(Consumer<Graphics> painter)
+    {
+        this.painter = painter;
+    }
+
+    /**
+     * Draw the cached content, painting it again first if needed. If no
+     * GraphicsConfiguration is available, the content is painted directly.
+     *
+     * @param graphics The Graphics to draw the content to.
+     * @param configuration The GraphicsConfiguration of the destination.
+     * @param width The width of the content.
+     * @param height The height of the content.
+     */
+    public final void render(
+        Graphics graphics,
+        GraphicsConfiguration configuration,
+        int width,
+        int height
+    ) {
+        if (configuration == null || width <= 0 || height <= 0) {
+            this.painter.accept(graphics);
+            return;
+        }
+
+        if (this.region != null) {
+            this.region = null;
+            this.isValid = false;
+        }
+
+        this.draw(graphics, configuration, width, height, null);
+    }
+
+    /**
+     * Draw the cached content in world coordinates, painting it again first
+     * if needed. The Graphics are expected to have the transform from world
+     * to screen coordinates applied when this is called.
+     *
+     * An area of the world larger than the view is cached at the current
+     * zoom, so the view can move within it without painting the content
+     * again. The content is painted again when the zoom changes or the view
+     * leaves the cached area. At a zoom that does not cover whole pixels,
+     * edges may land up to a pixel away from where painting the content
+     * directly would put them.
+     *
+     * @param graphics The Graphics to draw the content to.
+     * @param configuration The GraphicsConfiguration of the destination.
+     * @param view The visible area in world coordinates.
+     * @param zoom The number of pixels each world unit covers.
+     */
+    public final void render(
+        Graphics graphics,
+        GraphicsConfiguration configuration,
+        Rectangle view,
+        double zoom
+    ) {
+        if (
+            configuration == null ||
+            view.width <= 0 || view.height <= 0 ||
+            zoom <= 0
+        ) {
+            this.painter.accept(graphics);
+            return;
+        }
+
+        if (
+            this.region == null ||
+            this.zoom != zoom ||
+            ! this.region.contains(view)
+        ) {
+            int marginX = (int) Math.ceil(view.width * RenderCache.MARGIN);
+            int marginY = (int) Math.ceil(view.height * RenderCache.MARGIN);
+
+            this.region = new Rectangle(
+                view.x - marginX,
+                view.y - marginY,
+                view.width + marginX * 2,
+                view.height + marginY * 2
+            );
+            this.zoom = zoom;
+            this.isValid = false;
+        }
+
+        AffineTransform toWorld = AffineTransform.getTranslateInstance(
+            this.region.x, this.region.y
+        );
+        toWorld.scale(1 / zoom, 1 / zoom);
+
+        this.draw(
+            graphics,
+            configuration,
+            (int) Math.ceil(this.region.width * zoom),
+            (int) Math.ceil(this.region.height * zoom),
+            toWorld
+        );
+    }
+
+    /**
+     * Draw the cached image, creating it and painting the content into it
+     * first if needed.
+     *
+     * @param graphics The Graphics to draw the content to.
+     * @param configuration The GraphicsConfiguration of the destination.
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @param toWorld The transform from the image to world coordinates, or
+     *                null to draw the image at the origin.
+     */
+    private void draw(
+        Graphics graphics,
+        GraphicsConfiguration configuration,
+        int width,
+        int height,
+        AffineTransform toWorld
+    ) {
+        while (true) {
+            int status = (
+                this.image == null ||
+                this.image.getWidth() != width ||
+                this.image.getHeight() != height
+            ) ? VolatileImage.IMAGE_INCOMPATIBLE : this.image.validate(configuration);
+
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                this.flush();
+                this.image = configuration.createCompatibleVolatileImage(
+                    width, height, Transparency.TRANSLUCENT
+                );
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                this.isValid = false;
+            }
+
+            if (! this.isValid) {
+                this.repaint();
+            }
+
+            if (toWorld != null) {
+                ((Graphics2D) graphics).drawImage(this.image, toWorld, null);
+            } else {
+                graphics.drawImage(this.image, 0, 0, null);
+            }
+
+            if (! this.image.contentsLost()) {
+                break;
+            }
+
+            this.isValid = false;
+        }
+    }
+
+    /**
+     * Mark the cached content as needing to be painted again.
+     */
+    public final void invalidate()
+    {
+        this.isValid = false;
+    }
+
+    /**
+     * Check if the cached content is up to date.
+     *
+     * @return True if the content will not be painted on the next render.
+     */
+    public final boolean isValid()
+    {
+        return this.isValid;
+    }
+
+    /**
+     * Release the image holding the cached content.
+     */
+    public final void flush()
+    {
+        if (this.image != null) {
+            this.image.flush();
+            this.image = null;
+        }
+
+        this.isValid = false;
+    }
+
+    /**
+     * Clear the image and paint the content into it.
+     */
+    private void repaint()
+    {
+        Graphics2D cacheGraphics = this.image.createGraphics();
+        cacheGraphics.setComposite(AlphaComposite.Clear);
+        cacheGraphics.fillRect(0, 0, this.image.getWidth(), this.image.getHeight());
+        cacheGraphics.setComposite(AlphaComposite.SrcOver);
+
+        // Clipping lets anything outside of the image be skipped.
+        cacheGraphics.setClip(0, 0, this.image.getWidth(), this.image.getHeight());
+        if (this.region != null) {
+            cacheGraphics.scale(this.zoom, this.zoom);
+            cacheGraphics.translate(-this.region.x, -this.region.y);
+        }
+
+        this.painter.accept(cacheGraphics);
+        cacheGraphics.dispose();
+
+        this.isValid = true;
+    }
+}
@@ -0,0 +1,117 @@
+package jtwod.engine.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+/**
+ * Presets for the RenderingHints that Java2D draws with, trading speed for
+ * how smooth lines, text and scaled images look.
+ *
+ * @see jtwod.engine.Scene#setRenderQuality(RenderQuality)
+ * @see jtwod.engine.Drawable#setRenderQuality(RenderQuality)
+ */
+public enum RenderQuality
+{
+    /**
+     * The hints a new Graphics starts with, leaving the choices up to the
+     * platform.
+     */
+    Default(
+        RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_DEFAULT,
+        RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_DEFAULT,
+        RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_DEFAULT,
+        RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR,
+        RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_DEFAULT,
+        RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_DEFAULT,
+        RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DEFAULT,
+        RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_DEFAULT,
+        RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_DEFAULT
+    ),
+
+    /**
+     * The fastest paths everywhere. Nothing is antialiased and scaled
+     * images repeat their pixels.
+     */
+    Speed(
+        RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED,
+        RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF,
+        RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF,
+        RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR,
+        RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED,
+        RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_SPEED,
+        RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DISABLE,
+        RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE,
+        RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF
+    ),
+
+    /**
+     * Antialiased text and bilinear scaling, which are cheap, while shapes
+     * keep hard edges.
+     */
+    Balanced(
+        RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_DEFAULT,
+        RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF,
+        RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON,
+        RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR,
+        RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_DEFAULT,
+        RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_DEFAULT,
+        RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DISABLE,
+        RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE,
+        RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF
+    ),
+
+    /**
+     * The best looking paths everywhere. Shapes and text are antialiased,
+     * scaled images are bicubic and text is laid out with fractional
+     * metrics.
+     */
+    Quality(
+        RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY,
+        RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON,
+        RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON,
+        RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC,
+        RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY,
+        RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY,
+        RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DEFAULT,
+        RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE,
+        RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON
+    );
+
+    /**
+     * The hints of the preset.
+     */
+    private final RenderingHints hints;
+
+    /**
+     * Construct the RenderQuality.
+     *
+     * @param keysAndValues Each RenderingHints key followed by it's value.
+     */
+    RenderQuality(Object... keysAndValues)
+    {
+        this.hints = new RenderingHints(null);
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            this.hints.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+    }
+
+    /**
+     * Replace the RenderingHints of a Graphics with those of this preset.
+     *
+     * @param graphics The Graphics.
+     */
+    public final void applyTo(Graphics2D graphics)
+    {
+        graphics.setRenderingHints(this.hints);
+    }
+
+    /**
+     * Retrieve a copy of the RenderingHints of this preset.
+     *
+     * @return The RenderingHints.
+     */
+    public final RenderingHints getRenderingHints()
+    {
+        return (RenderingHints) this.hints.clone();
+    }
+}
@@ -0,0 +1,143 @@
+package jtwod.engine.graphics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+
+/**
+ * Draws frames for a Scene. A Renderer decides where each frame goes and
+ * how the built in Drawables draw their sprites, text, lines and fills, so
+ * that a different backend can be swapped in without touching game code.
+ *
+ * Each frame is drawn between <code>beginFrame</code> and
+ * <code>endFrame</code>. Drawing operations go to the Graphics last passed
+ * to <code>target</code>, which is the frame itself or an image that part
+ * of the frame is being cached in. Drawables that draw with the Graphics
+ * directly keep working with every backend.
+ *
+ * @see BufferStrategyRenderer
+ * @see ImageRenderer
+ * @see RecordingRenderer
+ */
+public interface Renderer
+{
+    /**
+     * Start drawing a frame.
+     *
+     * @param width The width of the frame.
+     * @param height The height of the frame.
+     * @return The Graphics to draw the frame with, or null if no frame can
+     *         be drawn right now.
+     */
+    Graphics2D beginFrame(int width, int height);
+
+    /**
+     * Finish drawing the frame and present it.
+     *
+     * @return False if the contents of the frame were lost and the next one
+     *         should be drawn in full.
+     */
+    boolean endFrame();
+
+    /**
+     * Retrieve how many frames of damage have to be repainted to bring the
+     * Graphics returned by <code>beginFrame</code> up to date.
+     *
+     * @return 1 if the previous frame is kept, the number of buffers if
+     *         they are cycled, or 0 if every frame has to be drawn in full.
+     */
+    int getDamageHistoryDepth();
+
+    /**
+     * Describe how frames are presented, such as whether they are page
+     * flipped or copied to the screen.
+     *
+     * @return The description.
+     */
+    String getPresentationPath();
+
+    /**
+     * Direct the drawing operations at a Graphics.
+     *
+     * @param graphics The Graphics to draw to.
+     * @return This Renderer.
+     */
+    Renderer target(Graphics graphics);
+
+    /**
+     * Set the FrameBuffer that the frame is being drawn into, if any, so
+     * that drawing operations aimed at it can write it's pixels directly.
+     *
+     * @param frameBuffer The FrameBuffer, or null.
+     */
+    void setFrameBuffer(FrameBuffer frameBuffer);
+
+    /**
+     * Draw a Texture.
+     *
+     * @param texture The Texture.
+     * @param x The left of the Texture.
+     * @param y The top of the Texture.
+     */
+    void drawSprite(Texture texture, int x, int y);
+
+    /**
+     * Draw a Texture scaled to a size. Implementations should draw a cached
+     * scaled version of the Texture rather than scaling it each time.
+     *
+     * @param texture The Texture.
+     * @param x The left of the Texture.
+     * @param y The top of the Texture.
+     * @param width The width to draw the Texture at.
+     * @param height The height to draw the Texture at.
+     *
+     * @see Texture#getScaledTexture(int, int)
+     */
+    void drawSprite(Texture texture, int x, int y, int width, int height);
+
+    /**
+     * Draw a line of text.
+     *
+     * @param text The text.
+     * @param x The x position of the start of the text.
+     * @param y The y position of the baseline of the text.
+     * @param font The Font to draw with.
+     * @param color The Color to draw with.
+     */
+    void drawText(String text, int x, int y, Font font, Color color);
+
+    /**
+     * Draw a line.
+     *
+     * @param x1 The x position of the start of the line.
+     * @param y1 The y position of the start of the line.
+     * @param x2 The x position of the end of the line.
+     * @param y2 The y position of the end of the line.
+     * @param color The Color to draw with.
+     * @param stroke The Stroke to draw with.
+     */
+    void drawLine(int x1, int y1, int x2, int y2, Color color, Stroke stroke);
+
+    /**
+     * Draw connected lines through a series of points.
+     *
+     * @param xPoints The x positions of the points.
+     * @param yPoints The y positions of the points.
+     * @param count The number of points.
+     * @param color The Color to draw with.
+     */
+    void drawPolyline(int[] xPoints, int[] yPoints, int count, Color color);
+
+    /**
+     * Fill a rectangle.
+     *
+     * @param x The left of the rectangle.
+     * @param y The top of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @param color The Color to fill with.
+     */
+    void fill(int x, int y, int width, int height, Color color);
+}
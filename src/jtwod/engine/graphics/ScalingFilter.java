@@ -0,0 +1,49 @@
+package jtwod.engine.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+/**
+ * How a frame rendered at a lower resolution is scaled up to the size of
+ * the window.
+ *
+ * @see jtwod.engine.Scene#setRenderResolution(jtwod.engine.metrics.Dimensions)
+ * @see jtwod.engine.Scene#setScalingFilter(ScalingFilter)
+ */
+public enum ScalingFilter
+{
+    /**
+     * Each pixel is repeated, keeping the hard edges of pixel art.
+     */
+    Nearest(RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR),
+
+    /**
+     * Pixels are blended with their neighbours, smoothing the edges.
+     */
+    Bilinear(RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+    /**
+     * The value of the interpolation hint.
+     */
+    private final Object interpolation;
+
+    /**
+     * Construct the ScalingFilter.
+     *
+     * @param interpolation The value of the interpolation hint.
+     */
+    ScalingFilter(Object interpolation)
+    {
+        this.interpolation = interpolation;
+    }
+
+    /**
+     * Set the interpolation hint of a Graphics to this filter.
+     *
+     * @param graphics The Graphics.
+     */
+    public final void applyTo(Graphics2D graphics)
+    {
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, this.interpolation);
+    }
+}
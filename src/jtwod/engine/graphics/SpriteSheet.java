@@ -2,6 +2,9 @@ package jtwod.engine.graphics;
 
 /**
  * A class for representing a Texture with several sub Textures.
+ *
+ * The Texture of each cell is created the first time it is pulled and
+ * kept, so pulling the same cell again returns the same Texture.
  */
 public final class SpriteSheet
 {
@@ -21,6 +24,11 @@ public final class SpriteSheet
      */
     private int rowHeight;
 
+    /**
+     * The Textures pulled so far, by row and then column.
+     */
+    private Texture[] cells;
+
     /**
      * Create a SpriteSheet from a Texture.
      *
@@ -44,12 +52,76 @@ public final class SpriteSheet
      */
     public final Texture getTexture(int col, int row)
     {
-        return this.texture.getSubTexture (
+        int columns = this.texture.getWidth() / this.colWidth;
+        int rows = this.texture.getHeight() / this.rowHeight;
+
+        int index = -1;
+        if (col >= 1 && row >= 1 && col <= columns && row <= rows) {
+            if (this.cells == null) {
+                this.cells = new Texture[columns * rows];
+            }
+
+            index = (row - 1) * columns + (col - 1);
+            if (this.cells[index] != null) {
+                return this.cells[index];
+            }
+        }
+
+        Texture texture = this.texture.getSubTexture (
             ( col-1 ) * this.colWidth,
             ( row-1 ) * this.rowHeight,
             this.colWidth,
             this.rowHeight
         );
+
+        if (index >= 0) {
+            this.cells[index] = texture;
+        }
+
+        return texture;
+    }
+
+    /**
+     * Pull a run of Textures from a row of the SpriteSheet.
+     *
+     * @param row The row to pull from.
+     * @param firstCol The column of the first Texture.
+     * @param count The number of Textures, one from each column.
+     * @return The Textures, in order.
+     */
+    public final Texture[] getTextures(int row, int firstCol, int count)
+    {
+        Texture[] textures = new Texture[count];
+        for (int i = 0; i < count; i++) {
+            textures[i] = this.getTexture(firstCol + i, row);
+        }
+
+        return textures;
+    }
+
+    /**
+     * Create an Animation from a run of Textures on a row of the
+     * SpriteSheet. The Textures are pulled once, here.
+     *
+     * @param row The row to pull from.
+     * @param firstCol The column of the first frame.
+     * @param count The number of frames, one from each column.
+     * @param frameDuration How long each frame is shown for.
+     * @param clock What the duration is measured in.
+     * @param loops True to start over after the last frame.
+     * @return The Animation.
+     */
+    public final Animation getAnimation(
+        int row,
+        int firstCol,
+        int count,
+        long frameDuration,
+        Animation.Clock clock,
+        boolean loops
+    ) {
+        return new Animation(
+            this.getTextures(row, firstCol, count), frameDuration, clock, loops
+        );
     }
 
     /**
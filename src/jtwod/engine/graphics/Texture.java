@@ -8,29 +8,167 @@ import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorConvertOp;
 import java.awt.image.DataBufferInt;
+import java.awt.image.ImageObserver;
+import java.awt.image.RasterFormatException;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Class for representing a Texture.
+ *
+ * A Texture can cover all of it's source image, or only a region of it such
+ * as a sub Texture or a Texture packed into a TextureAtlas. Regions share the
+ * source image and are drawn from it with source rectangles.
+ *
+ * Scaled versions of a Texture are created on request and kept in a cache
+ * shared by all Textures, which drops the least recently used versions once
+ * it holds more than a set number of pixels. Shrinking goes through a chain
+ * of mip levels, each half the size of the one before, so that every source
+ * pixel contributes to the result.
  */
 public final class Texture
 {
     /**
-     * The base BufferedImage for this Texture.
+     * Identifies a scaled version of a Texture in the cache.
+     */
+    private static final class ScaledKey
+    {
+        /**
+         * The Texture that was scaled.
+         */
+        private final Texture texture;
+
+        /**
+         * The size it was scaled to.
+         */
+        private final int width, height;
+
+        /**
+         * Construct the ScaledKey.
+         *
+         * @param texture The Texture that was scaled.
+         * @param width The width it was scaled to.
+         * @param height The height it was scaled to.
+         */
+        private ScaledKey(Texture texture, int width, int height)
+        {
+            this.texture = texture;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Check if another key is for the same Texture and size.
+         *
+         * @param other The other key.
+         * @return True if the keys match.
+         */
+        @Override
+        public boolean equals(Object other)
+        {
+            if (! (other instanceof ScaledKey)) {
+                return false;
+            }
+
+            ScaledKey key = (ScaledKey) other;
+            return key.texture == this.texture &&
+                   key.width == this.width &&
+                   key.height == this.height;
+        }
+
+        /**
+         * Hash the Texture and size.
+         *
+         * @return The hash.
+         */
+        @Override
+        public int hashCode()
+        {
+            int hash = System.identityHashCode(this.texture);
+            hash = hash * 31 + this.width;
+            return hash * 31 + this.height;
+        }
+    }
+
+    /**
+     * Scaled versions of Textures, least recently used first.
+     */
+    private static final LinkedHashMap<ScaledKey, Texture> scaledTextures
+        = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The number of pixels held by the scaled versions in the cache.
+     */
+    private static long scaledTexturePixels = 0;
+
+    /**
+     * The most pixels the cache of scaled versions can hold.
+     */
+    private static long scaledTextureCacheLimit = 4L * 1024 * 1024;
+
+    /**
+     * The source BufferedImage for this Texture.
      */
     private BufferedImage image;
 
     /**
-     * Create a new Texture.
+     * The X coordinate of this Texture within the source image.
+     */
+    private final int sourceX;
+
+    /**
+     * The Y coordinate of this Texture within the source image.
+     */
+    private final int sourceY;
+
+    /**
+     * The width of this Texture, or -1 to use the width of the source image.
+     */
+    private final int width;
+
+    /**
+     * The height of this Texture, or -1 to use the height of the source image.
+     */
+    private final int height;
+
+    /**
+     * This Texture as a BufferedImage of it's own, created the first time a
+     * region is retrieved as a BufferedImage.
+     */
+    private BufferedImage regionImage;
+
+    /**
+     * The pixels of this Texture as ARGB, created the first time they are
+     * retrieved.
+     */
+    private int[] pixels;
+
+    /**
+     * The least transparency the pixels of this Texture need.
+     */
+    private int pixelTransparency;
+
+    /**
+     * Create a new Texture. The image is converted to the format of the
+     * display so that it can be drawn without converting it's pixels.
      *
      * @param path The path to the image on disk.
      */
     public Texture(String path)
     {
+        this.sourceX = 0;
+        this.sourceY = 0;
+        this.width = -1;
+        this.height = -1;
+
         try {
-            this.image = ImageIO.read(
-                (new Object()).getClass().getResource(path)
+            this.image = Texture.toCompatibleImage(
+                ImageIO.read(
+                    (new Object()).getClass().getResource(path)
+                )
             );
         } catch (IOException e) {
             e.printStackTrace();
@@ -45,20 +183,248 @@ public final class Texture
     public Texture(BufferedImage image)
     {
         this.image = image;
+        this.sourceX = 0;
+        this.sourceY = 0;
+        this.width = -1;
+        this.height = -1;
     }
 
     /**
-     * Get this Texture as a BufferedImage.
+     * Construct the Texture from a region of a source image.
+     *
+     * @param image The source image.
+     * @param x The X coordinate of the region.
+     * @param y The Y coordinate of the region.
+     * @param width The width of the region.
+     * @param height The height of the region.
+     */
+    Texture(BufferedImage image, int x, int y, int width, int height)
+    {
+        this.image = image;
+        this.sourceX = x;
+        this.sourceY = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Get this Texture as a BufferedImage. For a region this is a view of
+     * the source image that shares it's pixels.
      *
      * @return This Texture as a BufferedImage.
      */
     public final BufferedImage asBufferedImage()
+    {
+        if (! this.isRegion()) {
+            return this.image;
+        }
+
+        if (this.regionImage == null) {
+            this.regionImage = this.image.getSubimage(
+                this.sourceX, this.sourceY, this.getWidth(), this.getHeight()
+            );
+        }
+
+        return this.regionImage;
+    }
+
+    /**
+     * Retrieve the pixels of this Texture as ARGB, one row after another.
+     * The pixels are copied out of the image the first time and kept, so
+     * after drawing into the image call {@link #invalidatePixels()} for the
+     * changes to be seen.
+     *
+     * @return The pixels.
+     */
+    public final int[] getPixels()
+    {
+        if (this.pixels == null) {
+            this.pixels = this.image.getRGB(
+                this.sourceX, this.sourceY,
+                this.getWidth(), this.getHeight(),
+                null, 0, this.getWidth()
+            );
+            this.pixelTransparency = Texture.getRequiredTransparency(
+                this.asBufferedImage()
+            );
+        }
+
+        return this.pixels;
+    }
+
+    /**
+     * Forget the pixels and scaled versions of this Texture, so that they
+     * are created again from the image the next time they are needed. Call
+     * this after drawing into the image of this Texture.
+     */
+    public final void invalidatePixels()
+    {
+        this.pixels = null;
+
+        synchronized (Texture.scaledTextures) {
+            Iterator<Map.Entry<ScaledKey, Texture>> iterator
+                = Texture.scaledTextures.entrySet().iterator();
+
+            while (iterator.hasNext()) {
+                ScaledKey key = iterator.next().getKey();
+                if (key.texture == this) {
+                    Texture.scaledTexturePixels -= (long) key.width * key.height;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieve the least transparency that the pixels of this Texture need.
+     *
+     * @return The Transparency constant.
+     */
+    public final int getPixelTransparency()
+    {
+        this.getPixels();
+        return this.pixelTransparency;
+    }
+
+    /**
+     * Draw this Texture from it's source image.
+     *
+     * @param graphics The Graphics to draw with.
+     * @param x The X coordinate to draw at.
+     * @param y The Y coordinate to draw at.
+     * @param observer The ImageObserver to notify.
+     */
+    public final void draw(Graphics graphics, int x, int y, ImageObserver observer)
+    {
+        if (! this.isRegion()) {
+            graphics.drawImage(this.image, x, y, observer);
+            return;
+        }
+
+        graphics.drawImage(
+            this.image,
+            x, y, x + this.width, y + this.height,
+            this.sourceX, this.sourceY,
+            this.sourceX + this.width, this.sourceY + this.height,
+            observer
+        );
+    }
+
+    /**
+     * Check if this Texture covers only part of it's source image.
+     *
+     * @return True if this Texture is a region.
+     */
+    public final boolean isRegion()
+    {
+        return this.width >= 0 && (
+            this.sourceX != 0 ||
+            this.sourceY != 0 ||
+            this.width != this.image.getWidth() ||
+            this.height != this.image.getHeight()
+        );
+    }
+
+    /**
+     * Retrieve the image that this Texture is drawn from. Textures packed
+     * into the same TextureAtlas page share a source image.
+     *
+     * @return The source image.
+     */
+    public final BufferedImage getSourceImage()
     {
         return this.image;
     }
 
     /**
-     * Get a sub Texture from this Texture.
+     * Retrieve the X coordinate of this Texture within it's source image.
+     *
+     * @return The X coordinate.
+     */
+    public final int getSourceX()
+    {
+        return this.sourceX;
+    }
+
+    /**
+     * Retrieve the Y coordinate of this Texture within it's source image.
+     *
+     * @return The Y coordinate.
+     */
+    public final int getSourceY()
+    {
+        return this.sourceY;
+    }
+
+    /**
+     * Retrieve a version of this Texture in the format of the display, so
+     * that it can be drawn without converting it's pixels. If this Texture
+     * is already in that format it is returned as is.
+     *
+     * @return The compatible Texture.
+     */
+    public final Texture asCompatibleTexture()
+    {
+        BufferedImage compatible = Texture.toCompatibleImage(this.image);
+        if (compatible == this.image) {
+            return this;
+        }
+
+        return new Texture(
+            compatible, this.sourceX, this.sourceY, this.width, this.height
+        );
+    }
+
+    /**
+     * Check if this Texture is in the format of the display.
+     *
+     * @return True if the Texture can be drawn without converting it's pixels.
+     */
+    public final boolean isCompatible()
+    {
+        GraphicsConfiguration configuration = Texture.getDisplayConfiguration();
+        if (configuration == null || this.image == null) {
+            return false;
+        }
+
+        return this.image.getColorModel().equals(
+            configuration.getColorModel(this.image.getTransparency())
+        );
+    }
+
+    /**
+     * Retrieve a description of the pixel format of this Texture, such as
+     * <code>INT_ARGB_PRE, translucent, compatible</code>.
+     *
+     * @return The description.
+     */
+    public final String getFormatDescription()
+    {
+        if (this.image == null) {
+            return "none";
+        }
+
+        String transparency;
+        switch (this.image.getTransparency()) {
+            case Transparency.OPAQUE:
+                transparency = "opaque";
+                break;
+            case Transparency.BITMASK:
+                transparency = "bitmask";
+                break;
+            default:
+                transparency = "translucent";
+                break;
+        }
+
+        return Texture.getImageTypeName(this.image.getType()) + ", "
+             + transparency + ", "
+             + (this.isCompatible() ? "compatible" : "not compatible");
+    }
+
+    /**
+     * Get a sub Texture from this Texture. The sub Texture is a region of
+     * the same source image.
      *
      * @param x The x coordinate in which to look for the sub Texture.
      * @param y The y coordinate in which to look for the sub Texture.
@@ -68,7 +434,212 @@ public final class Texture
      */
     public final Texture getSubTexture(int x, int y, int width, int height)
     {
-        return new Texture(image.getSubimage(x, y, width, height));
+        if (
+            x < 0 || y < 0 ||
+            x + width > this.getWidth() ||
+            y + height > this.getHeight()
+        ) {
+            throw new RasterFormatException("Sub Texture is outside of the Texture.");
+        }
+
+        return new Texture(
+            this.image, this.sourceX + x, this.sourceY + y, width, height
+        );
+    }
+
+    /**
+     * Retrieve a version of this Texture scaled to a specific size. Scaled
+     * versions are cached, so this is cheap to call every frame for the
+     * same size.
+     *
+     * When shrinking, the Texture is halved into mip levels until the next
+     * level would be smaller than the requested size, and that level is
+     * filtered down to the exact size. When enlarging, pixels are repeated
+     * so that hard edges stay hard.
+     *
+     * @param width The width to scale to.
+     * @param height The height to scale to.
+     * @return The scaled Texture, or this Texture if it is already that
+     *         size.
+     */
+    public final Texture getScaledTexture(int width, int height)
+    {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Scaled size must be at least one pixel.");
+        }
+
+        if (width == this.getWidth() && height == this.getHeight()) {
+            return this;
+        }
+
+        ScaledKey key = new ScaledKey(this, width, height);
+        synchronized (Texture.scaledTextures) {
+            Texture scaled = Texture.scaledTextures.get(key);
+            if (scaled != null) {
+                return scaled;
+            }
+        }
+
+        // Find the smallest mip level that is still at least the size
+        // being scaled to, and scale from there.
+        int level = 0;
+        while (
+            (this.getWidth() >> (level + 1)) >= width &&
+            (this.getHeight() >> (level + 1)) >= height
+        ) {
+            level++;
+        }
+
+        Texture source;
+        if (
+            level > 0 &&
+            (this.getWidth() >> level) == width &&
+            (this.getHeight() >> level) == height
+        ) {
+            // This is a mip level, made by halving the one above it.
+            source = this.getMipLevel(level - 1);
+        } else {
+            source = this.getMipLevel(level);
+        }
+
+        Texture scaled = new Texture(Texture.resample(source, width, height));
+
+        synchronized (Texture.scaledTextures) {
+            Texture cached = Texture.scaledTextures.get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            Texture.scaledTextures.put(key, scaled);
+            Texture.scaledTexturePixels += (long) width * height;
+            Texture.trimScaledTextures();
+        }
+
+        return scaled;
+    }
+
+    /**
+     * Retrieve a mip level of this Texture.
+     *
+     * @param level The level, where 0 is this Texture and each level after
+     *              is half the size of the one before.
+     * @return The mip level.
+     */
+    private Texture getMipLevel(int level)
+    {
+        if (level == 0) {
+            return this;
+        }
+
+        return this.getScaledTexture(
+            Math.max(this.getWidth() >> level, 1),
+            Math.max(this.getHeight() >> level, 1)
+        );
+    }
+
+    /**
+     * Update the most pixels that the cache of scaled Textures can hold
+     * across all Textures. The least recently used versions are dropped
+     * when it holds more.
+     *
+     * @param pixels The number of pixels, or 0 to cache nothing.
+     */
+    public final static void setScaledTextureCacheLimit(long pixels)
+    {
+        synchronized (Texture.scaledTextures) {
+            Texture.scaledTextureCacheLimit = Math.max(pixels, 0);
+            Texture.trimScaledTextures();
+        }
+    }
+
+    /**
+     * Retrieve the most pixels that the cache of scaled Textures can hold.
+     *
+     * @return The number of pixels.
+     */
+    public final static long getScaledTextureCacheLimit()
+    {
+        synchronized (Texture.scaledTextures) {
+            return Texture.scaledTextureCacheLimit;
+        }
+    }
+
+    /**
+     * Retrieve the number of pixels currently held by the cache of scaled
+     * Textures.
+     *
+     * @return The number of pixels.
+     */
+    public final static long getScaledTextureCacheSize()
+    {
+        synchronized (Texture.scaledTextures) {
+            return Texture.scaledTexturePixels;
+        }
+    }
+
+    /**
+     * Drop every scaled Texture from the cache.
+     */
+    public final static void clearScaledTextureCache()
+    {
+        synchronized (Texture.scaledTextures) {
+            Texture.scaledTextures.clear();
+            Texture.scaledTexturePixels = 0;
+        }
+    }
+
+    /**
+     * Drop the least recently used scaled Textures until the cache is
+     * within it's limit. Must hold the lock on the cache.
+     */
+    private static void trimScaledTextures()
+    {
+        Iterator<Map.Entry<ScaledKey, Texture>> iterator
+            = Texture.scaledTextures.entrySet().iterator();
+
+        while (
+            Texture.scaledTexturePixels > Texture.scaledTextureCacheLimit &&
+            iterator.hasNext()
+        ) {
+            ScaledKey key = iterator.next().getKey();
+            Texture.scaledTexturePixels -= (long) key.width * key.height;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Draw a Texture into a new image of a different size, filtering it
+     * when shrinking and repeating pixels when enlarging.
+     *
+     * @param source The Texture to draw.
+     * @param width The width of the new image.
+     * @param height The height of the new image.
+     * @return The new image, in the format of the display.
+     */
+    private static BufferedImage resample(Texture source, int width, int height)
+    {
+        BufferedImage image = source.asBufferedImage();
+        BufferedImage scaled = Texture.createCompatibleImage(
+            width, height,
+            (image.getTransparency() == Transparency.OPAQUE)
+                ? Transparency.OPAQUE
+                : Transparency.TRANSLUCENT
+        );
+
+        boolean shrinking = width < source.getWidth() || height < source.getHeight();
+
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setComposite(AlphaComposite.Src);
+        graphics.setRenderingHint(
+            RenderingHints.KEY_INTERPOLATION,
+            shrinking
+                ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+                : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+        );
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+
+        return scaled;
     }
 
     /**
@@ -78,7 +649,7 @@ public final class Texture
      */
     public final Texture asGrayScaleTexture()
     {
-        BufferedImage ret = this.image;
+        BufferedImage ret = this.asBufferedImage();
         ColorSpace cs = ColorSpace.getInstance(ColorSpace.CS_GRAY);
         ColorConvertOp op = new ColorConvertOp(cs, null);
         ret = op.filter(ret, null);
@@ -93,7 +664,7 @@ public final class Texture
      */
     public final int getWidth()
     {
-        return this.image.getWidth();
+        return (this.width >= 0) ? this.width : this.image.getWidth();
     }
 
     /**
@@ -103,7 +674,132 @@ public final class Texture
      */
     public final int getHeight()
     {
-        return this.image.getHeight();
+        return (this.height >= 0) ? this.height : this.image.getHeight();
+    }
+
+    /**
+     * Convert an image to the format of the display. The transparency of the
+     * new image is the least that the pixels of the image need, since opaque
+     * and bitmask images can be drawn faster than translucent ones.
+     *
+     * @param image The image to convert.
+     * @return The converted image, or the same image if it is already
+     *         compatible or there is no display.
+     */
+    public final static BufferedImage toCompatibleImage(BufferedImage image)
+    {
+        GraphicsConfiguration configuration = Texture.getDisplayConfiguration();
+        if (configuration == null || image == null) {
+            return image;
+        }
+
+        int transparency = Texture.getRequiredTransparency(image);
+        if (
+            image.getTransparency() == transparency &&
+            image.getColorModel().equals(configuration.getColorModel(transparency))
+        ) {
+            return image;
+        }
+
+        BufferedImage compatible = configuration.createCompatibleImage(
+            image.getWidth(), image.getHeight(), transparency
+        );
+
+        Graphics2D graphics = compatible.createGraphics();
+        graphics.setComposite(AlphaComposite.Src);
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+
+        return compatible;
+    }
+
+    /**
+     * Create a blank image in the format of the display.
+     *
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @param transparency The Transparency constant the image needs.
+     * @return The image, or an ARGB image if there is no display.
+     */
+    public final static BufferedImage createCompatibleImage(int width, int height, int transparency)
+    {
+        GraphicsConfiguration configuration = Texture.getDisplayConfiguration();
+        if (configuration == null) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        return configuration.createCompatibleImage(width, height, transparency);
+    }
+
+    /**
+     * Retrieve the GraphicsConfiguration of the default screen.
+     *
+     * @return The GraphicsConfiguration, or null if there is no display.
+     */
+    private static GraphicsConfiguration getDisplayConfiguration()
+    {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+
+        return GraphicsEnvironment.getLocalGraphicsEnvironment()
+                                  .getDefaultScreenDevice()
+                                  .getDefaultConfiguration();
+    }
+
+    /**
+     * Find the least transparency that can hold the pixels of an image.
+     *
+     * @param image The image.
+     * @return The Transparency constant.
+     */
+    private static int getRequiredTransparency(BufferedImage image)
+    {
+        if (image.getTransparency() == Transparency.OPAQUE) {
+            return Transparency.OPAQUE;
+        }
+
+        int transparency = Transparency.OPAQUE;
+        int[] row = new int[image.getWidth()];
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, row.length, 1, row, 0, row.length);
+            for (int pixel : row) {
+                int alpha = pixel >>> 24;
+                if (alpha == 0) {
+                    transparency = Transparency.BITMASK;
+                } else if (alpha != 0xFF) {
+                    return Transparency.TRANSLUCENT;
+                }
+            }
+        }
+
+        return transparency;
+    }
+
+    /**
+     * Retrieve the name of a BufferedImage type.
+     *
+     * @param type The BufferedImage type.
+     * @return The name of the type.
+     */
+    private static String getImageTypeName(int type)
+    {
+        switch (type) {
+            case BufferedImage.TYPE_INT_RGB: return "INT_RGB";
+            case BufferedImage.TYPE_INT_ARGB: return "INT_ARGB";
+            case BufferedImage.TYPE_INT_ARGB_PRE: return "INT_ARGB_PRE";
+            case BufferedImage.TYPE_INT_BGR: return "INT_BGR";
+            case BufferedImage.TYPE_3BYTE_BGR: return "3BYTE_BGR";
+            case BufferedImage.TYPE_4BYTE_ABGR: return "4BYTE_ABGR";
+            case BufferedImage.TYPE_4BYTE_ABGR_PRE: return "4BYTE_ABGR_PRE";
+            case BufferedImage.TYPE_USHORT_565_RGB: return "USHORT_565_RGB";
+            case BufferedImage.TYPE_USHORT_555_RGB: return "USHORT_555_RGB";
+            case BufferedImage.TYPE_BYTE_GRAY: return "BYTE_GRAY";
+            case BufferedImage.TYPE_USHORT_GRAY: return "USHORT_GRAY";
+            case BufferedImage.TYPE_BYTE_BINARY: return "BYTE_BINARY";
+            case BufferedImage.TYPE_BYTE_INDEXED: return "BYTE_INDEXED";
+            default: return "CUSTOM";
+        }
     }
 
     /**
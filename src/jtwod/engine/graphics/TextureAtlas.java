@@ -0,0 +1,208 @@
+package jtwod.engine.graphics;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs Textures into a few large page images.
+ *
+ * Each packed Texture is replaced by a region of a page, so drawing it only
+ * reads from the page with a source rectangle. Textures that share a page
+ * share one image, which keeps their pixels close together and lets draws
+ * be grouped by page.
+ */
+public final class TextureAtlas
+{
+    /**
+     * The default width and height of each page.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1024;
+
+    /**
+     * The transparent gap left around each region, so that scaled draws
+     * don't blend in pixels from the neighbouring regions.
+     */
+    private static final int PADDING = 1;
+
+    /**
+     * The page images.
+     */
+    private final List<Texture> pages;
+
+    /**
+     * The region of a page for each packed Texture, by name.
+     */
+    private final Map<String, Texture> regions;
+
+    /**
+     * Pack Textures into pages of the specified size. Textures larger than a
+     * page are given a page of their own.
+     *
+     * @param textures The Textures to pack, by name.
+     * @param pageSize The width and height of each page.
+     */
+    public TextureAtlas(Map<String, Texture> textures, int pageSize)
+    {
+        this.pages = new ArrayList<>();
+        this.regions = new LinkedHashMap<>();
+        this.pack(textures, pageSize);
+    }
+
+    /**
+     * Pack Textures into pages of the default size.
+     *
+     * @param textures The Textures to pack, by name.
+     */
+    public TextureAtlas(Map<String, Texture> textures)
+    {
+        this(textures, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Retrieve the region of a page holding a packed Texture.
+     *
+     * @param name The name of the Texture.
+     * @return The region, or null if no Texture was packed with that name.
+     */
+    public final Texture getRegion(String name)
+    {
+        return this.regions.get(name);
+    }
+
+    /**
+     * Retrieve the region of a page for each packed Texture.
+     *
+     * @return The regions, by name.
+     */
+    public final Map<String, Texture> getRegions()
+    {
+        return Collections.unmodifiableMap(this.regions);
+    }
+
+    /**
+     * Retrieve the pages of this TextureAtlas.
+     *
+     * @return The pages.
+     */
+    public final List<Texture> getPages()
+    {
+        return Collections.unmodifiableList(this.pages);
+    }
+
+    /**
+     * Retrieve the number of pages in this TextureAtlas.
+     *
+     * @return The number of pages.
+     */
+    public final int getPageCount()
+    {
+        return this.pages.size();
+    }
+
+    /**
+     * Lay the Textures out on shelves, tallest first, then draw each page.
+     *
+     * @param textures The Textures to pack, by name.
+     * @param pageSize The width and height of each page.
+     */
+    private void pack(Map<String, Texture> textures, int pageSize)
+    {
+        ArrayList<Map.Entry<String, Texture>> sorted = new ArrayList<>();
+        textures.entrySet().stream().filter(
+            (entry) -> entry.getValue() != null
+        ).forEach(sorted::add);
+
+        sorted.sort(
+            Comparator.comparingInt(
+                (Map.Entry<String, Texture> entry) -> entry.getValue().getHeight()
+            ).thenComparingInt(
+                (Map.Entry<String, Texture> entry) -> entry.getValue().getWidth()
+            ).reversed()
+        );
+
+        // Placement of each Texture as page, x, y.
+        int[][] placements = new int[sorted.size()][];
+        ArrayList<int[]> pageSizes = new ArrayList<>();
+
+        int page = -1;
+        int shelfX = 0;
+        int shelfY = 0;
+        int shelfHeight = 0;
+
+        for (int i = 0; i < sorted.size(); i++) {
+            Texture texture = sorted.get(i).getValue();
+            int width = texture.getWidth() + PADDING * 2;
+            int height = texture.getHeight() + PADDING * 2;
+
+            if (page >= 0 && shelfX + width > pageSize) {
+                // Start a new shelf.
+                shelfY += shelfHeight;
+                shelfX = 0;
+                shelfHeight = 0;
+            }
+
+            if (page < 0 || shelfY + height > pageSize) {
+                // Start a new page.
+                page++;
+                pageSizes.add(new int[] {0, 0});
+                shelfX = 0;
+                shelfY = 0;
+                shelfHeight = 0;
+            }
+
+            placements[i] = new int[] {page, shelfX + PADDING, shelfY + PADDING};
+
+            shelfX += width;
+            shelfHeight = Math.max(shelfHeight, height);
+
+            int[] size = pageSizes.get(page);
+            size[0] = Math.max(size[0], shelfX);
+            size[1] = Math.max(size[1], shelfY + shelfHeight);
+        }
+
+        ArrayList<BufferedImage> pageImages = new ArrayList<>();
+        ArrayList<Graphics2D> pageGraphics = new ArrayList<>();
+        for (int[] size : pageSizes) {
+            BufferedImage image = new BufferedImage(
+                size[0], size[1], BufferedImage.TYPE_INT_ARGB
+            );
+            Graphics2D graphics = image.createGraphics();
+            graphics.setComposite(AlphaComposite.Src);
+            pageImages.add(image);
+            pageGraphics.add(graphics);
+        }
+
+        for (int i = 0; i < sorted.size(); i++) {
+            sorted.get(i).getValue().draw(
+                pageGraphics.get(placements[i][0]),
+                placements[i][1], placements[i][2],
+                null
+            );
+        }
+
+        pageGraphics.forEach(Graphics2D::dispose);
+
+        for (BufferedImage image : pageImages) {
+            this.pages.add(new Texture(Texture.toCompatibleImage(image)));
+        }
+
+        for (int i = 0; i < sorted.size(); i++) {
+            Texture texture = sorted.get(i).getValue();
+            this.regions.put(
+                sorted.get(i).getKey(),
+                new Texture(
+                    this.pages.get(placements[i][0]).getSourceImage(),
+                    placements[i][1], placements[i][2],
+                    texture.getWidth(), texture.getHeight()
+                )
+            );
+        }
+    }
+}
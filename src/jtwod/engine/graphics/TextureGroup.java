@@ -2,10 +2,16 @@ package jtwod.engine.graphics;
 
 import jtwod.engine.metrics.Dimensions;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Class used to manage Textures for a game.
+ *
+ * Textures are converted to the format of the display as they are added,
+ * so that they can be drawn without converting their pixels.
  */
 public final class TextureGroup
 {
@@ -14,6 +20,16 @@ public final class TextureGroup
      */
     private HashMap<String, Texture> textures;
 
+    /**
+     * The TextureAtlas the Textures were last packed into, if any.
+     */
+    private TextureAtlas atlas;
+
+    /**
+     * The default death Animation, created the first time it is retrieved.
+     */
+    private Animation deathAnimation;
+
     /**
      * Construct the TextureGroup.
      */
@@ -36,13 +52,101 @@ public final class TextureGroup
     }
 
     /**
-     * Add a Texture to the TextureGroup.
+     * Add a Texture to the TextureGroup. The Texture stored is converted to
+     * the format of the display, so it may not be the same instance.
      *
      * @param name The name of the Texture to add.
      * @param texture The Texture to add.
      */
     public final void addTexture(String name, Texture texture)
     {
-        this.textures.put(name, texture);
+        this.textures.put(
+            name, (texture != null) ? texture.asCompatibleTexture() : null
+        );
+        this.deathAnimation = null;
+    }
+
+    /**
+     * Pack every Texture in the TextureGroup into a TextureAtlas with pages
+     * of the specified size. Each Texture is then replaced by it's region
+     * of a page, so Textures retrieved afterwards draw from the pages.
+     * Textures added later are not packed until this is called again.
+     *
+     * @param pageSize The width and height of each page.
+     * @return The TextureAtlas.
+     */
+    public final TextureAtlas packAtlas(int pageSize)
+    {
+        this.atlas = new TextureAtlas(this.textures, pageSize);
+        this.textures.putAll(this.atlas.getRegions());
+        this.deathAnimation = null;
+
+        return this.atlas;
+    }
+
+    /**
+     * Pack every Texture in the TextureGroup into a TextureAtlas with pages
+     * of the default size.
+     *
+     * @return The TextureAtlas.
+     *
+     * @see TextureGroup#packAtlas(int)
+     */
+    public final TextureAtlas packAtlas()
+    {
+        return this.packAtlas(TextureAtlas.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Retrieve the Animation Entities play when they die unless they are
+     * given their own. It shows the <code>des1</code>, <code>des2</code>
+     * and <code>des3</code> Textures for 5 ticks each, and is shared by
+     * every Entity until a Texture is added or the Textures are packed.
+     *
+     * @return The Animation.
+     *
+     * @see jtwod.engine.drawable.Entity#setDeathAnimation(Animation)
+     */
+    public final Animation getDeathAnimation()
+    {
+        if (this.deathAnimation == null) {
+            this.deathAnimation = new Animation(
+                new Texture[] {
+                    this.getTexture("des1"),
+                    this.getTexture("des2"),
+                    this.getTexture("des3")
+                },
+                5, Animation.Clock.Ticks, false
+            );
+        }
+
+        return this.deathAnimation;
+    }
+
+    /**
+     * Retrieve the TextureAtlas the Textures were last packed into.
+     *
+     * @return The TextureAtlas, or null if the Textures have not been packed.
+     */
+    public final TextureAtlas getAtlas()
+    {
+        return this.atlas;
+    }
+
+    /**
+     * Retrieve the pixel format chosen for each Texture in the TextureGroup.
+     *
+     * @return The format description of each Texture, by name.
+     *
+     * @see Texture#getFormatDescription()
+     */
+    public final Map<String, String> getTextureFormats()
+    {
+        LinkedHashMap<String, String> formats = new LinkedHashMap<>();
+        this.textures.forEach((name, texture) -> formats.put(
+            name, (texture != null) ? texture.getFormatDescription() : "none"
+        ));
+
+        return Collections.unmodifiableMap(formats);
     }
 }
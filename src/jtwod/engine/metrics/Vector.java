@@ -1,6 +1,7 @@
 package jtwod.engine.metrics;
 
 import jtwod.engine.Engine;
+import jtwod.engine.Scene;
 import jtwod.engine.drawable.Shape;
 
 import java.awt.*;
@@ -376,31 +377,68 @@ public final class Vector
     }
 
     /**
-     * The maximum vector allowed with an additional buffer.
+     * The maximum vector allowed with an additional buffer, within the
+     * current Scene of an Engine.
      * @return
      */
     public final static Vector Max(int buffer, Engine engine) 
     {
-        Vector result = new Vector(
-            engine.getWindowSize().getWidth() + buffer,
-            engine.getWindowSize().getHeight() + buffer
-        );
-        
-        result.bufferX = buffer;
-        result.bufferY = buffer;
-
-        return result;
+        return Vector.Max(buffer, buffer, engine.getSceneSize());
     }
     
     /**
-     * The maximum vector allowed with an additional buffer on a per-axis basis.
+     * The maximum vector allowed with an additional buffer on a per-axis
+     * basis, within the current Scene of an Engine.
      * @return
      */
     public final static Vector Max(int bufferX, int bufferY, Engine engine)
+    {
+        return Vector.Max(bufferX, bufferY, engine.getSceneSize());
+    }
+
+    /**
+     * The maximum vector allowed within a Scene, which is the size it is
+     * rendered at.
+     * @return
+     */
+    public final static Vector Max(Scene<?> scene)
+    {
+        return Vector.Max(0, 0, scene.getRenderSize());
+    }
+
+    /**
+     * The maximum vector allowed within a Scene with an additional buffer.
+     * @return
+     */
+    public final static Vector Max(int buffer, Scene<?> scene)
+    {
+        return Vector.Max(buffer, buffer, scene.getRenderSize());
+    }
+
+    /**
+     * The maximum vector allowed within a Scene with an additional buffer on
+     * a per-axis basis.
+     * @return
+     */
+    public final static Vector Max(int bufferX, int bufferY, Scene<?> scene)
+    {
+        return Vector.Max(bufferX, bufferY, scene.getRenderSize());
+    }
+
+    /**
+     * The maximum vector allowed within an area with an additional buffer on
+     * a per-axis basis.
+     *
+     * @param bufferX The buffer on the X axis.
+     * @param bufferY The buffer on the Y axis.
+     * @param size The size of the area.
+     * @return The Vector.
+     */
+    private static Vector Max(int bufferX, int bufferY, Dimensions size)
     {
         Vector result = new Vector(
-            engine.getWindowSize().getWidth() + bufferX,
-            engine.getWindowSize().getHeight() + bufferY
+            size.getWidth() + bufferX,
+            size.getHeight() + bufferY
         );
         
         result.bufferX = bufferX;
@@ -45,7 +45,7 @@ public final class VectorGrid<ParentEngine extends Engine> extends Drawable<Pare
         super(Integer.MAX_VALUE, engine, scene);
         this.setLocation(Vector.Zero());
         this.cellDimensions = cellDimensions;
-        this.gridDimensions = scene.getParentEngine().getWindowSize();
+        this.gridDimensions = scene.getRenderSize();
 
         // Update the grid dimensions to handle maximum values.
         this.gridDimensions.setWidth(
@@ -76,7 +76,7 @@ public final class VectorGrid<ParentEngine extends Engine> extends Drawable<Pare
         super(Integer.MAX_VALUE, engine, scene);
         this.setLocation(location);
         this.cellDimensions = cellDimensions;
-        this.gridDimensions = scene.getParentEngine().getWindowSize();
+        this.gridDimensions = scene.getRenderSize();
 
         // Update the grid dimensions to handle maximum values.
         this.gridDimensions.setWidth(
@@ -0,0 +1,350 @@
+package jtwod.engine.timing;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel used to schedule items to expire on a specific
+ * tick.
+ *
+ * <p>
+ * Scheduling and cancelling are constant time, and advancing the wheel only
+ * touches the items that expire on that tick. Items scheduled far into the
+ * future are held in coarser wheels and cascaded down into finer ones as
+ * their tick approaches.
+ * </p>
+ *
+ * @param <T> The type of item being scheduled.
+ *
+ * @see TimingWheel#schedule(Object, long)
+ * @see TimingWheel#cancel(TimingWheel.Timer)
+ * @see TimingWheel#advance(Consumer)
+ */
+public final class TimingWheel<T>
+{
+    /**
+     * The number of bits used to index the slots of each wheel.
+     */
+    private static final int SLOT_BITS = 6;
+
+    /**
+     * The number of slots in each wheel.
+     */
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+
+    /**
+     * Mask used to find the slot for a tick.
+     */
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+
+    /**
+     * The number of wheels in the hierarchy.
+     */
+    private static final int LEVEL_COUNT = 4;
+
+    /**
+     * The furthest ahead that an item can be placed directly. Items scheduled
+     * further ahead than this are re-placed each time they are cascaded.
+     */
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVEL_COUNT)) - 1;
+
+    /**
+     * A handle for an item scheduled on a
+     * <code>{@link jtwod.engine.timing.TimingWheel TimingWheel}</code>.
+     *
+     * @param <T> The type of item being scheduled.
+     */
+    public static final class Timer<T>
+    {
+        /**
+         * The item that was scheduled.
+         */
+        private final T item;
+
+        /**
+         * The tick on which the item expires.
+         */
+        private long deadline;
+
+        /**
+         * The previous Timer in the slot.
+         */
+        private Timer<T> previous;
+
+        /**
+         * The next Timer in the slot.
+         */
+        private Timer<T> next;
+
+        /**
+         * The head of the slot that this Timer is in, or null if it is not
+         * pending.
+         */
+        private Timer<T> slot;
+
+        /**
+         * Construct the Timer.
+         *
+         * @param item The item being scheduled.
+         * @param deadline The tick on which the item expires.
+         */
+        private Timer(T item, long deadline)
+        {
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Retrieve the item that was scheduled.
+         *
+         * @return The item.
+         */
+        public final T getItem()
+        {
+            return this.item;
+        }
+
+        /**
+         * Retrieve the tick on which the item expires.
+         *
+         * @return The tick.
+         */
+        public final long getDeadline()
+        {
+            return this.deadline;
+        }
+
+        /**
+         * Check if this Timer has neither expired nor been cancelled.
+         *
+         * @return True if the Timer is pending.
+         */
+        public final boolean isPending()
+        {
+            return this.slot != null;
+        }
+    }
+
+    /**
+     * The head of each slot, indexed by level and then slot.
+     */
+    private final Timer<T>[][] slots;
+
+    /**
+     * The next tick to be processed.
+     */
+    private long tick;
+
+    /**
+     * The number of pending Timers.
+     */
+    private int size = 0;
+
+    /**
+     * Construct the TimingWheel starting at tick zero.
+     */
+    public TimingWheel()
+    {
+        this(0);
+    }
+
+    /**
+     * Construct the TimingWheel.
+     *
+     * @param startTick The first tick to be processed.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long startTick)
+    {
+        this.tick = startTick;
+        this.slots = new Timer[LEVEL_COUNT][SLOT_COUNT];
+        for (int level = 0; level < LEVEL_COUNT; level++) {
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                Timer<T> head = new Timer<>(null, 0);
+                head.previous = head;
+                head.next = head;
+                this.slots[level][slot] = head;
+            }
+        }
+    }
+
+    /**
+     * Schedule an item to expire on a tick. If the tick has already been
+     * processed, the item will expire on the next call to
+     * {@link TimingWheel#advance(Consumer)}.
+     *
+     * @param item The item to schedule.
+     * @param deadline The tick on which the item should expire.
+     * @return The Timer that can be used to cancel the item.
+     */
+    public final Timer<T> schedule(T item, long deadline)
+    {
+        Timer<T> timer = new Timer<>(item, deadline);
+        this.place(timer);
+        this.size++;
+
+        return timer;
+    }
+
+    /**
+     * Cancel a pending Timer. Cancelling a Timer that has already expired or
+     * been cancelled does nothing.
+     *
+     * @param timer The Timer to cancel.
+     */
+    public final void cancel(Timer<T> timer)
+    {
+        if (timer != null && timer.isPending()) {
+            this.unlink(timer);
+            this.size--;
+        }
+    }
+
+    /**
+     * Process the next tick, passing each item that expires on it to the
+     * supplied Consumer in the order they were scheduled.
+     *
+     * @param onExpired Called for each expired item.
+     */
+    public final void advance(Consumer<T> onExpired)
+    {
+        int index = (int) (this.tick & SLOT_MASK);
+
+        // Each time a wheel wraps around, cascade the next slot of the
+        // wheel above it down into the finer wheels.
+        for (int level = 1; level < LEVEL_COUNT && index == 0; level++) {
+            index = (int) ((this.tick >> (SLOT_BITS * level)) & SLOT_MASK);
+            this.cascade(level, index);
+        }
+
+        Timer<T> head = this.slots[0][(int) (this.tick & SLOT_MASK)];
+        Timer<T> timer = this.detach(head);
+        long processing = this.tick++;
+
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.previous = null;
+            timer.next = null;
+
+            if (timer.deadline > processing) {
+                // Scheduled beyond the range of the wheels, keep waiting.
+                this.place(timer);
+            } else {
+                this.size--;
+                onExpired.accept(timer.item);
+            }
+
+            timer = next;
+        }
+    }
+
+    /**
+     * Retrieve the next tick to be processed.
+     *
+     * @return The tick.
+     */
+    public final long getTick()
+    {
+        return this.tick;
+    }
+
+    /**
+     * Retrieve the number of pending Timers.
+     *
+     * @return The number of pending Timers.
+     */
+    public final int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Re-place every Timer in a slot relative to the current tick.
+     *
+     * @param level The level of the slot.
+     * @param index The index of the slot.
+     */
+    private void cascade(int level, int index)
+    {
+        Timer<T> timer = this.detach(this.slots[level][index]);
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            this.place(timer);
+            timer = next;
+        }
+    }
+
+    /**
+     * Place a Timer in the slot that matches it's deadline.
+     *
+     * @param timer The Timer to place.
+     */
+    private void place(Timer<T> timer)
+    {
+        long expires = timer.deadline;
+        long delta = expires - this.tick;
+
+        if (delta < 0) {
+            expires = this.tick;
+            delta = 0;
+        } else if (delta > MAX_DELAY) {
+            expires = this.tick + MAX_DELAY;
+            delta = MAX_DELAY;
+        }
+
+        int level = 0;
+        while (
+            level < LEVEL_COUNT - 1 &&
+            delta >= (1L << (SLOT_BITS * (level + 1)))
+        ) {
+            level++;
+        }
+
+        Timer<T> head = this.slots[level][
+            (int) ((expires >> (SLOT_BITS * level)) & SLOT_MASK)
+        ];
+
+        timer.previous = head.previous;
+        timer.next = head;
+        head.previous.next = timer;
+        head.previous = timer;
+        timer.slot = head;
+    }
+
+    /**
+     * Remove a Timer from it's slot.
+     *
+     * @param timer The Timer to remove.
+     */
+    private void unlink(Timer<T> timer)
+    {
+        timer.previous.next = timer.next;
+        timer.next.previous = timer.previous;
+        timer.previous = null;
+        timer.next = null;
+        timer.slot = null;
+    }
+
+    /**
+     * Empty a slot, returning it's Timers as a null terminated chain.
+     *
+     * @param head The head of the slot.
+     * @return The first Timer in the chain, or null if the slot was empty.
+     */
+    private Timer<T> detach(Timer<T> head)
+    {
+        if (head.next == head) {
+            return null;
+        }
+
+        Timer<T> first = head.next;
+        head.previous.next = null;
+        head.previous = head;
+        head.next = head;
+
+        for (Timer<T> timer = first; timer != null; timer = timer.next) {
+            timer.slot = null;
+        }
+
+        return first;
+    }
+}
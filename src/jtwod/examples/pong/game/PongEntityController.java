@@ -20,7 +20,7 @@ public class PongEntityController extends EntityController<PongEngine> {
 
         PongEntityController.paddle1 = new Paddle(new Vector(PongEngine.paddleToWallPadding, 0), this.getParentScene(), 1);
         PongEntityController.paddle2 = new Paddle(
-                Vector.Max(this.getParentEngine())
+                Vector.Max(this.getParentScene())
                     .plusX(-(PongEngine.paddleDimensions.getWidth() + PongEngine.paddleToWallPadding))
                     .plusY(-PongEngine.paddleDimensions.getHeight()), 
                 this.getParentScene(),
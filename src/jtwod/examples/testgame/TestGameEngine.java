@@ -105,7 +105,7 @@ public final class TestGameEngine extends Engine {
                                 this.setPositionConstraint(
                                     Vector.Zero(),
                                     Vector.Max(
-                                        this.getParentEngine()
+                                        this.getParentScene()
                                     ).plusX(
                                         -this.getSize().getWidth()
                                     ).plusY(